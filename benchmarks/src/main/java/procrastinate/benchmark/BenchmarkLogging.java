@@ -0,0 +1,23 @@
+//@@author A0080485B
+package procrastinate.benchmark;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Quietens the INFO logging of procrastinate, e.g. FileHandler logging the whole
+ * file on every save, so that the benchmarks measure the work itself and do not
+ * flood the JMH output.
+ */
+public class BenchmarkLogging {
+
+    // Held on to, as the LogManager only keeps weak references to loggers
+    private static final Logger logger = Logger.getLogger("procrastinate");
+
+    private BenchmarkLogging() {
+    }
+
+    public static void quieten() {
+        logger.setLevel(Level.WARNING);
+    }
+}
@@ -0,0 +1,23 @@
+//@@author A0080485B
+package procrastinate.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+
+import procrastinate.task.Task;
+import procrastinate.task.TaskEngine;
+
+/**
+ * TaskEngine holding the given tasks in memory only.
+ */
+public class BenchmarkTaskEngine extends TaskEngine {
+
+    public BenchmarkTaskEngine(List<Task> tasks) throws IOException {
+        addAll(tasks);
+    }
+
+    @Override
+    protected void initFileHandler() {
+        fileHandler = new InMemoryFileHandler();
+    }
+}
@@ -0,0 +1,80 @@
+//@@author A0080485B
+package procrastinate.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import procrastinate.FileHandler;
+import procrastinate.task.TaskState;
+
+/**
+ * Times saving and loading 1k, 10k and 100k tasks with FileHandler, using a save
+ * file in a temporary directory so that the config file is left untouched.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class FileHandlerBenchmark {
+
+    private static final String TEMP_DIRECTORY_PREFIX = "procrastinate-benchmark";
+    private static final String SAVE_FILENAME = "storage.json";
+
+    @Param({ "1000", "10000", "100000" })
+    public int taskCount;
+
+    private Path tempDirectory;
+    private File saveFile;
+
+    private FileHandler fileHandler;
+    private TaskState taskState;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        BenchmarkLogging.quieten();
+
+        tempDirectory = Files.createTempDirectory(TEMP_DIRECTORY_PREFIX);
+        saveFile = tempDirectory.resolve(SAVE_FILENAME).toFile();
+
+        fileHandler = new FileHandler(saveFile);
+        taskState = new TaskState(SyntheticTasks.generate(taskCount));
+
+        // So that there is something to load
+        fileHandler.saveTaskState(taskState);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(saveFile.toPath());
+        Files.deleteIfExists(tempDirectory);
+    }
+
+    @Benchmark
+    public boolean save() {
+        return fileHandler.saveTaskState(taskState);
+    }
+
+    @Benchmark
+    public TaskState load() {
+        return fileHandler.loadTaskState();
+    }
+}
@@ -0,0 +1,26 @@
+//@@author A0080485B
+package procrastinate.benchmark;
+
+import procrastinate.FileHandler;
+import procrastinate.task.TaskState;
+
+/**
+ * FileHandler that neither reads nor writes anything, so that TaskEngine can be
+ * benchmarked without the cost of saving after every operation.
+ */
+public class InMemoryFileHandler extends FileHandler {
+
+    public InMemoryFileHandler() {
+        super(true);
+    }
+
+    @Override
+    public boolean saveTaskState(TaskState taskState) {
+        return true;
+    }
+
+    @Override
+    public TaskState loadTaskState() {
+        return new TaskState();
+    }
+}
@@ -0,0 +1,61 @@
+//@@author A0080485B
+package procrastinate.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import procrastinate.Parser;
+import procrastinate.command.Command;
+
+/**
+ * Times Parser.parse for each shape of command covered by ParserTest: implicit adds
+ * with and without dates, escaped keywords, line number lists and ranges, searches,
+ * set path, show and batches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({ "write test case for V0.2",
+             "something important due tomorrow",
+             "something important on tomorrow",
+             "something \\from tomorrow to next week",
+             "this should \\be done",
+             "edit 1 write user guide",
+             "edit 3,5 eventually",
+             "delete 9,3-5,3",
+             "done 1-20",
+             "search due tomorrow",
+             "search on tomorrow",
+             "set \"something else\" \"too\"",
+             "show done",
+             "undo",
+             "done 3 && done 5 && delete 7",
+             "buy milk&&essay due tomorrow" })
+    public String userInput;
+
+    @Setup
+    public void setup() {
+        BenchmarkLogging.quieten();
+    }
+
+    @Benchmark
+    public Command parse() {
+        return Parser.parse(userInput);
+    }
+}
@@ -0,0 +1,104 @@
+//@@author A0080485B
+package procrastinate.benchmark;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import procrastinate.task.Deadline;
+import procrastinate.task.Dream;
+import procrastinate.task.Event;
+import procrastinate.task.Task;
+
+/**
+ * Generates task lists that look like those of a heavy user, for the benchmarks.
+ *
+ * About 40% of the tasks are deadlines, 30% events and 30% dreams, with a fifth of
+ * them done. Dates are spread from a month ago to three months ahead, so that every
+ * category of the UI and every kind of search has tasks in it. The same seed always
+ * gives the same descriptions and dates.
+ */
+public class SyntheticTasks {
+
+    // ================================================================================
+    // Constants
+    // ================================================================================
+
+    public static final long DEFAULT_SEED = 2103;
+
+    private static final String[] WORDS = { "write", "report", "meeting", "project", "buy", "milk", "essay",
+                                            "review", "call", "mum", "tutorial", "submit", "lecture", "gym",
+                                            "read", "chapter", "fix", "bug", "plan", "trip" };
+
+    private static final int MIN_WORDS = 2;
+    private static final int MAX_WORDS = 6;
+
+    private static final int PERCENT_DEADLINES = 40;
+    private static final int PERCENT_EVENTS = 30;
+    private static final int PERCENT_DONE = 20;
+
+    private static final int DAYS_BEFORE_NOW = 30;
+    private static final int DAYS_AFTER_NOW = 90;
+    private static final int MAX_EVENT_HOURS = 48;
+
+    private static final long MILLIS_PER_DAY = TimeUnit.DAYS.toMillis(1);
+    private static final long MILLIS_PER_HOUR = TimeUnit.HOURS.toMillis(1);
+
+    private SyntheticTasks() {
+    }
+
+    // ================================================================================
+    // SyntheticTasks methods
+    // ================================================================================
+
+    public static List<Task> generate(int count) {
+        return generate(count, DEFAULT_SEED);
+    }
+
+    public static List<Task> generate(int count, long seed) {
+        Random random = new Random(seed);
+        long now = System.currentTimeMillis();
+
+        List<Task> tasks = new ArrayList<Task>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = generateTask(random, now);
+            task.setDone(random.nextInt(100) < PERCENT_DONE);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private static Task generateTask(Random random, long now) {
+        String description = generateDescription(random);
+        int type = random.nextInt(100);
+
+        if (type < PERCENT_DEADLINES) {
+            return new Deadline(description, generateDate(random, now));
+
+        } else if (type < PERCENT_DEADLINES + PERCENT_EVENTS) {
+            Date startDate = generateDate(random, now);
+            Date endDate = new Date(startDate.getTime() + (1 + random.nextInt(MAX_EVENT_HOURS)) * MILLIS_PER_HOUR);
+            return new Event(description, startDate, endDate);
+
+        } else {
+            return new Dream(description);
+        }
+    }
+
+    private static String generateDescription(Random random) {
+        int numWords = MIN_WORDS + random.nextInt(MAX_WORDS - MIN_WORDS + 1);
+
+        StringBuilder description = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+        for (int i = 1; i < numWords; i++) {
+            description.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return description.toString();
+    }
+
+    private static Date generateDate(Random random, long now) {
+        long offset = (long) (random.nextDouble() * (DAYS_BEFORE_NOW + DAYS_AFTER_NOW) * MILLIS_PER_DAY);
+        return new Date(now - DAYS_BEFORE_NOW * MILLIS_PER_DAY + offset);
+    }
+}
@@ -0,0 +1,108 @@
+//@@author A0080485B
+package procrastinate.benchmark;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import procrastinate.task.Dream;
+import procrastinate.task.Task;
+
+/**
+ * Times the TaskEngine operations behind add, edit, done and search, with 1k, 10k
+ * and 100k tasks already in the engine. Nothing is saved to file.
+ *
+ * Adding grows the task list, so it is timed in batches of adds on an engine that
+ * is rebuilt before each iteration. Edit and done keep the number of tasks the same
+ * and are timed on the same engine throughout.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class TaskEngineBenchmark {
+
+    private static final int ADDS_PER_ITERATION = 100;
+
+    private static final String SEARCH_DESCRIPTION = "report";
+    private static final long SEARCH_RANGE_IN_MS = TimeUnit.DAYS.toMillis(7);
+
+    @Param({ "1000", "10000", "100000" })
+    public int taskCount;
+
+    private List<Task> tasks;
+    private BenchmarkTaskEngine taskEngine;
+
+    private int nextTaskIndex = 0;
+
+    private Date searchStartDate;
+    private Date searchEndDate;
+
+    @Setup(Level.Trial)
+    public void setupTasks() {
+        BenchmarkLogging.quieten();
+        tasks = SyntheticTasks.generate(taskCount);
+
+        searchStartDate = new Date();
+        searchEndDate = new Date(searchStartDate.getTime() + SEARCH_RANGE_IN_MS);
+    }
+
+    @Setup(Level.Iteration)
+    public void setupTaskEngine() throws IOException {
+        taskEngine = new BenchmarkTaskEngine(tasks);
+        nextTaskIndex = 0;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5, batchSize = ADDS_PER_ITERATION)
+    @Measurement(iterations = 10, batchSize = ADDS_PER_ITERATION)
+    public boolean add() {
+        return taskEngine.add(new Dream("benchmark dream"));
+    }
+
+    @Benchmark
+    public boolean edit() {
+        Task newTask = Task.copy(getNextTask());
+        newTask.setDescription(newTask.getDescription() + " edited");
+        return taskEngine.edit(newTask.getId(), newTask);
+    }
+
+    @Benchmark
+    public boolean done() {
+        return taskEngine.done(getNextTask().getId());
+    }
+
+    @Benchmark
+    public List<Task> searchDescription() {
+        return taskEngine.search(SEARCH_DESCRIPTION, null, null, true);
+    }
+
+    @Benchmark
+    public List<Task> searchDateRange() {
+        return taskEngine.search(null, searchStartDate, searchEndDate, false);
+    }
+
+    // Cycles through the tasks so that each operation works on a different one
+    private Task getNextTask() {
+        Task task = tasks.get(nextTaskIndex);
+        nextTaskIndex = (nextTaskIndex + 1) % tasks.size();
+        return task;
+    }
+}
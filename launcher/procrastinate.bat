@@ -0,0 +1,15 @@
+@echo off
+rem Launches Procrastinate with the class data sharing archive made by mvn -Pappcds package,
+rem if there is one. On JDK 11 and later, set JAVAFX_HOME to the JavaFX SDK to use.
+
+for %%I in ("%~dp0..") do set ROOT=%%~fI
+set JAR=%ROOT%\target\Procrastinate-0.0.1-SNAPSHOT.jar
+set ARCHIVE=%ROOT%\target\procrastinate.jsa
+
+set JAVA_OPTIONS=
+
+if exist "%ARCHIVE%" set JAVA_OPTIONS=%JAVA_OPTIONS% -XX:SharedArchiveFile="%ARCHIVE%" -Xshare:auto
+
+if defined JAVAFX_HOME set JAVA_OPTIONS=%JAVA_OPTIONS% --module-path "%JAVAFX_HOME%\lib" --add-modules javafx.controls,javafx.fxml --add-exports javafx.graphics/com.sun.javafx.tk=ALL-UNNAMED
+
+java %JAVA_OPTIONS% -cp "%JAR%" procrastinate.Main %*
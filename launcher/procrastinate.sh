@@ -0,0 +1,21 @@
+#!/bin/sh
+# Launches Procrastinate with the class data sharing archive made by mvn -Pappcds package,
+# if there is one. On JDK 11 and later, set JAVAFX_HOME to the JavaFX SDK to use.
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$ROOT/target/Procrastinate-0.0.1-SNAPSHOT.jar"
+ARCHIVE="$ROOT/target/procrastinate.jsa"
+
+JAVA_OPTIONS=""
+
+# The archive is only used if the jar is given exactly as it was for the training run
+if [ -f "$ARCHIVE" ]; then
+    JAVA_OPTIONS="$JAVA_OPTIONS -XX:SharedArchiveFile=$ARCHIVE -Xshare:auto"
+fi
+
+if [ -n "$JAVAFX_HOME" ]; then
+    JAVA_OPTIONS="$JAVA_OPTIONS --module-path $JAVAFX_HOME/lib --add-modules javafx.controls,javafx.fxml"
+    JAVA_OPTIONS="$JAVA_OPTIONS --add-exports javafx.graphics/com.sun.javafx.tk=ALL-UNNAMED"
+fi
+
+exec java $JAVA_OPTIONS -cp "$JAR" procrastinate.Main "$@"
@@ -0,0 +1,324 @@
+//@@author A0080485B
+package procrastinate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+import com.joestelmach.natty.DateGroup;
+
+/**
+ * <h1>DatePhraseCache remembers what Natty made of recently parsed date phrases, so
+ * that they do not have to be parsed by Natty again, even after a restart.</h1>
+ *
+ * Only phrases whose meaning depends on nothing but the current day are cached, such
+ * as "tomorrow", "in 3 days" or "today 5pm". Each of their dates is kept as a number of
+ * days from the day it was parsed and a time of day, so that "tomorrow" is still the
+ * day after today when it is looked up on a later day. Phrases like "next monday" or
+ * "1 jan" are left to Natty. Phrases without any date, such as what has been typed so
+ * far of a date or a description, are not cached, so that they do not push the phrases
+ * worth keeping out of the cache.
+ *
+ * <p>Only the first DateGroup of each phrase is kept, as that is all Parser uses.
+ */
+public class DatePhraseCache {
+
+    // ================================================================================
+    // Class variables
+    // ================================================================================
+
+    private static final Logger logger = Logger.getLogger(DatePhraseCache.class.getName());
+
+    public static final String DEFAULT_FILENAME = "dates.cache";
+    public static final int DEFAULT_CAPACITY = 256;
+
+    // The syntax tree of a phrase, without its explicit times, may only seek whole days
+    private static final Pattern PATTERN_EXPLICIT_TIME = Pattern.compile(" \\(EXPLICIT_TIME( \\([A-Z_]+ \\d+\\))*( [ap]m)?\\)");
+    private static final Pattern PATTERN_DAY_OFFSET_TREE = Pattern.compile(
+            "\\(DATE_TIME_ALTERNATIVE( \\(DATE_TIME( \\(RELATIVE_DATE \\(SEEK [<>] by_day \\d+ day\\)\\))?\\))+\\)");
+
+    private static final String TREE_DATE_TIME = "(DATE_TIME ";
+    private static final String TREE_EXPLICIT_TIME = "(EXPLICIT_TIME";
+
+    private static final String SEPARATOR_FIELD = "\t";
+    private static final String SEPARATOR_DATE = ",";
+    private static final String SEPARATOR_DAY_TIME = "@";
+
+    private static final String DEBUG_LOADED = "Loaded %1$s cached date phrase(s) from %2$s";
+    private static final String DEBUG_LOAD_FAILURE = "Could not load cached date phrases from %1$s";
+    private static final String DEBUG_SAVE_FAILURE = "Could not save cached date phrases to %1$s";
+    private static final String DEBUG_INVALID_ENTRY = "Skipped invalid cached date phrase: %1$s";
+
+    private int capacity;
+
+    // Accessed in order, so that the least recently used phrase is the first to go
+    private Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+
+    // ================================================================================
+    // Constructors
+    // ================================================================================
+
+    public DatePhraseCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public DatePhraseCache(int capacity) {
+        assert(capacity > 0);
+        this.capacity = capacity;
+    }
+
+    // ================================================================================
+    // DatePhraseCache methods
+    // ================================================================================
+
+    /**
+     * @return what Natty made of the phrase, as of today, or null if it is not cached
+     */
+    public synchronized List<DateGroup> get(String phrase) {
+        Entry entry = entries.get(phrase);
+        if (entry == null) {
+            return null;
+        }
+        return entry.toDateGroups(LocalDate.now());
+    }
+
+    /**
+     * Caches what Natty made of the phrase today, if it has a date and its meaning only
+     * depends on the day.
+     *
+     * @return true if it was cached
+     */
+    public synchronized boolean put(String phrase, List<DateGroup> dateGroups) {
+        if (phrase.contains(SEPARATOR_FIELD) || phrase.contains("\n") || phrase.contains("\r")) {
+            return false;
+        }
+
+        Entry entry = Entry.create(dateGroups, LocalDate.now());
+        if (entry == null) {
+            return false;
+        }
+
+        entries.put(phrase, entry);
+        if (entries.size() > capacity) {
+            entries.remove(entries.keySet().iterator().next());
+        }
+        return true;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Adds the phrases in the file to the cache. Nothing is added if there is no such
+     * file, and invalid lines are skipped.
+     */
+    public void load(Path path) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, String.format(DEBUG_LOAD_FAILURE, path), e);
+            return;
+        }
+
+        synchronized (this) {
+            for (String line : lines) {
+                String[] fields = line.split(SEPARATOR_FIELD, 2);
+                Entry entry = (fields.length == 2) ? Entry.parse(fields[1]) : null;
+                if (entry == null) {
+                    logger.log(Level.FINE, () -> String.format(DEBUG_INVALID_ENTRY, line));
+                    continue;
+                }
+                entries.put(fields[0], entry);
+            }
+            while (entries.size() > capacity) {
+                entries.remove(entries.keySet().iterator().next());
+            }
+        }
+        logger.log(Level.INFO, String.format(DEBUG_LOADED, size(), path));
+    }
+
+    /**
+     * Writes the cached phrases to the file, from the least to the most recently used.
+     *
+     * @return true if they were written
+     */
+    public boolean save(Path path) {
+        List<String> lines = new ArrayList<String>();
+        synchronized (this) {
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                lines.add(entry.getKey() + SEPARATOR_FIELD + entry.getValue().format());
+            }
+        }
+
+        try {
+            Files.write(path, lines, StandardCharsets.UTF_8);
+            return true;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, String.format(DEBUG_SAVE_FAILURE, path), e);
+            return false;
+        }
+    }
+
+    // ================================================================================
+    // Entry class
+    // ================================================================================
+
+    /**
+     * The first DateGroup of a phrase, with each date kept as days from the day it was
+     * parsed and a time of day. The time of day is not used if Natty inferred it, as
+     * Natty then uses the current time. Formatted as e.g. "1\tfalse\ttomorrow 5pm\t1@61200000".
+     */
+    private static class Entry {
+
+        private int position;
+        private boolean isTimeInferred;
+        private String text;
+        private long[] dayOffsets;
+        private long[] millisOfDay;
+
+        private Entry(int position, boolean isTimeInferred, String text, long[] dayOffsets, long[] millisOfDay) {
+            this.position = position;
+            this.isTimeInferred = isTimeInferred;
+            this.text = text;
+            this.dayOffsets = dayOffsets;
+            this.millisOfDay = millisOfDay;
+        }
+
+        /**
+         * @return the entry for the first DateGroup as parsed on the given day, or null
+         *         if there is none or what it means depends on more than the day
+         */
+        private static Entry create(List<DateGroup> dateGroups, LocalDate parsedOn) {
+            if (dateGroups.isEmpty()) {
+                return null;
+            }
+
+            DateGroup dateGroup = dateGroups.get(0);
+            if (!isRelativeToDay(dateGroup)) {
+                return null;
+            }
+
+            List<Date> dates = dateGroup.getDates();
+            long[] dayOffsets = new long[dates.size()];
+            long[] millisOfDay = new long[dates.size()];
+
+            for (int i = 0; i < dates.size(); i++) {
+                LocalDateTime dateTime = LocalDateTime.ofInstant(dates.get(i).toInstant(), ZoneId.systemDefault());
+                dayOffsets[i] = ChronoUnit.DAYS.between(parsedOn, dateTime.toLocalDate());
+                millisOfDay[i] = dateTime.toLocalTime().toNanoOfDay() / 1000000;
+            }
+            return new Entry(dateGroup.getPosition(), dateGroup.isTimeInferred(), dateGroup.getText(),
+                             dayOffsets, millisOfDay);
+        }
+
+        private static boolean isRelativeToDay(DateGroup dateGroup) {
+            if (dateGroup.getSyntaxTree() == null) {
+                return false;
+            }
+            String tree = dateGroup.getSyntaxTree().toStringTree();
+
+            // Dates without an explicit time would have kept the time they were parsed at
+            if (!dateGroup.isTimeInferred() && countOf(tree, TREE_EXPLICIT_TIME) != countOf(tree, TREE_DATE_TIME)) {
+                return false;
+            }
+
+            String treeWithoutTimes = PATTERN_EXPLICIT_TIME.matcher(tree).replaceAll("");
+            return PATTERN_DAY_OFFSET_TREE.matcher(treeWithoutTimes).matches();
+        }
+
+        private List<DateGroup> toDateGroups(LocalDate today) {
+            DateGroup dateGroup = new DateGroup();
+            dateGroup.setPosition(position);
+            dateGroup.setIsTimeInferred(isTimeInferred);
+            dateGroup.setText(text);
+
+            for (int i = 0; i < dayOffsets.length; i++) {
+                LocalTime time;
+                if (isTimeInferred) {
+                    time = LocalTime.now();
+                } else {
+                    time = LocalTime.ofNanoOfDay(millisOfDay[i] * 1000000);
+                }
+                LocalDateTime dateTime = today.plusDays(dayOffsets[i]).atTime(time);
+                dateGroup.addDate(Date.from(dateTime.atZone(ZoneId.systemDefault()).toInstant()));
+            }
+
+            List<DateGroup> dateGroups = new ArrayList<DateGroup>();
+            dateGroups.add(dateGroup);
+            return dateGroups;
+        }
+
+        private String format() {
+            StringBuilder dates = new StringBuilder();
+            for (int i = 0; i < dayOffsets.length; i++) {
+                if (i > 0) {
+                    dates.append(SEPARATOR_DATE);
+                }
+                dates.append(dayOffsets[i]).append(SEPARATOR_DAY_TIME).append(millisOfDay[i]);
+            }
+            return position + SEPARATOR_FIELD + isTimeInferred + SEPARATOR_FIELD + text + SEPARATOR_FIELD + dates;
+        }
+
+        /**
+         * @return the entry formatted by format(), or null if it is invalid
+         */
+        private static Entry parse(String formatted) {
+            String[] fields = formatted.split(SEPARATOR_FIELD);
+            if (fields.length != 4) {
+                return null;
+            }
+
+            try {
+                String[] dates = fields[3].split(SEPARATOR_DATE);
+                long[] dayOffsets = new long[dates.length];
+                long[] millisOfDay = new long[dates.length];
+
+                for (int i = 0; i < dates.length; i++) {
+                    String[] dayAndTime = dates[i].split(SEPARATOR_DAY_TIME);
+                    dayOffsets[i] = Long.parseLong(dayAndTime[0]);
+                    millisOfDay[i] = Long.parseLong(dayAndTime[1]);
+                    if (millisOfDay[i] < 0 || millisOfDay[i] >= ChronoUnit.DAYS.getDuration().toMillis()) {
+                        return null;
+                    }
+                }
+                return new Entry(Integer.parseInt(fields[0]), Boolean.parseBoolean(fields[1]), fields[2],
+                                 dayOffsets, millisOfDay);
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                return null;
+            }
+        }
+
+        private static int countOf(String string, String substring) {
+            int count = 0;
+            int index = string.indexOf(substring);
+            while (index >= 0) {
+                count++;
+                index = string.indexOf(substring, index + substring.length());
+            }
+            return count;
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package procrastinate;
 
 import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.nio.file.FileAlreadyExistsException;
 
 import com.google.gson.Gson;
@@ -30,13 +37,16 @@ public class FileHandler {
     // ================================================================================
 
     private static final String DEBUG_FILE_INIT = "FileHandler initialised. Using file %1$s";
-    private static final String DEBUG_FILE_WRITE_SUCCESS = "Wrote to file:\n";
+    private static final String DEBUG_FILE_WRITE_SUCCESS = "Wrote %1$s characters to file";
+    private static final String DEBUG_FILE_WRITE_CONTENTS = "Wrote to file:\n";
     private static final String DEBUG_FILE_WRITE_FAILURE = "Could not write to file";
+    private static final String DEBUG_FILE_WRITE_SKIPPED = "File already up to date; skipped writing";
     private static final String DEBUG_FILE_LOAD_SUCCESS = "Loaded %1$s task(s) from file";
     private static final String DEBUG_FILE_LOAD_NOT_FOUND = "File not found; creating new file";
     private static final String DEBUG_FILE_PARSE_FAILURE = "Unrecognisable file format";
     private static final String DEBUG_CONFIG_EXISTS = "Config exists, reading from %1$s ";
     private static final String DEBUG_CONFIG_ABSENT = "Config file missing, making file %1$s ";
+    private static final String DEBUG_CONFIG_MOUNTED = "Config mounts %1$s other save file(s)";
     private static final String DEBUG_CONFIG_WRITE_FAILURE = "Could not write to configuration file";
     private static final String DEBUG_SET_PATH_FAILURE = "Could not set to new path %1$s";
     private static final String DEBUG_SET_PATH_SUCCESS = "Path set to %1$s";
@@ -48,6 +58,7 @@ public class FileHandler {
 
     public static final String DEFAULT_FULL_FILENAME = "storage.json";
     private static final String CONFIG_PATH = "settings.config";
+    private static final String CONTENT_HASH_ALGORITHM = "SHA-256";
 
     // ================================================================================
     // Instance variables
@@ -56,8 +67,12 @@ public class FileHandler {
     private String fullFilename = DEFAULT_FULL_FILENAME;
     private File saveFile;
     private File configFile;
+    private List<File> mountedFiles = new ArrayList<File>();
     private BufferedWriter bw = null;
 
+    // Hash of what was last written to the save file, or null if it is not known
+    private byte[] savedContentHash = null;
+
     //@@author A0124321Y
     /**
      * FileHandler constructor. loads configuration and storage information.
@@ -86,18 +101,43 @@ public class FileHandler {
     public FileHandler(boolean isUnderTest) {
     }
 
+    /**
+     * Uses the given save file without reading or writing the config file,
+     * e.g. to save and load tasks in a temporary directory.
+     */
+    public FileHandler(File saveFile) {
+        this.saveFile = saveFile;
+        this.fullFilename = saveFile.getName();
+    }
+
     //@@author A0124321Y
     /**
-     * Converts TaskState into json format and writes to disk
+     * Converts TaskState into json format and writes to disk, unless it is the same
+     * as what was last written
      * @param taskState
      */
     public boolean saveTaskState(TaskState taskState) {
+        long startTime = System.nanoTime();
         String json = jsonify(taskState);
+
+        //@@author A0080485B
+        byte[] contentHash = hashContent(json);
+        if (Arrays.equals(contentHash, savedContentHash)) {
+            logger.log(Level.FINE, DEBUG_FILE_WRITE_SKIPPED);
+            Metrics.record(Metrics.FILE_SAVE_SKIPPED, System.nanoTime() - startTime);
+            return true;
+        }
+
+        //@@author A0124321Y
         try {
             jsonToFile(json);
+            savedContentHash = contentHash;
         } catch (IOException e) {
+            savedContentHash = null; // The file may have been partly written
             logger.log(Level.SEVERE, DEBUG_FILE_WRITE_FAILURE);
             return false;
+        } finally {
+            Metrics.record(Metrics.FILE_SAVE, System.nanoTime() - startTime);
         }
         return true;
     }
@@ -108,7 +148,9 @@ public class FileHandler {
      * @return TaskState
      */
     public TaskState loadTaskState() {
-        return loadTaskState(saveFile);
+        TaskState taskState = loadTaskState(saveFile);
+        seedContentHash();
+        return taskState;
     }
 
     //@@author A0124321Y
@@ -157,6 +199,15 @@ public class FileHandler {
         return configFile;
     }
 
+    //@@author A0080485B
+    /**
+     * @return the other save files to mount alongside the save file, one per line
+     *         after the first line of the config file
+     */
+    public List<File> getMountedFiles() {
+        return mountedFiles;
+    }
+
     //@@author A0124321Y
     /**
      * Loads from existing configuration if it exists, otherwise initialise configuration
@@ -174,6 +225,7 @@ public class FileHandler {
             reader = new BufferedReader(new FileReader(configFile));
 
             String line = reader.readLine();
+            readMountedFiles(reader);
             reader.close();
             if (line != null) {
                 fullFilename = line;
@@ -230,6 +282,7 @@ public class FileHandler {
         try {
             writer = new BufferedWriter(new FileWriter(configFile));
             writer.write(abPath);
+            writeMountedFiles(writer);
             writer.flush();
 
             success = true;
@@ -248,6 +301,27 @@ public class FileHandler {
         return success;
     }
 
+    //@@author A0080485B
+    private void readMountedFiles(BufferedReader reader) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.trim().isEmpty()) {
+                mountedFiles.add(Paths.get(line.trim()).toFile());
+            }
+        }
+        if (!mountedFiles.isEmpty()) {
+            logger.log(Level.INFO, String.format(DEBUG_CONFIG_MOUNTED, mountedFiles.size()));
+        }
+    }
+
+    // Kept on the lines after the save path, so that setting the path does not unmount them
+    private void writeMountedFiles(BufferedWriter writer) throws IOException {
+        for (File mountedFile : mountedFiles) {
+            writer.newLine();
+            writer.write(mountedFile.getPath());
+        }
+    }
+
     //@@author A0124321Y
     /**
      * Move save file to a new location. Does not overwrite if file exists
@@ -323,7 +397,29 @@ public class FileHandler {
         bw = new BufferedWriter(new FileWriter(saveFile));
         bw.write(json);
         bw.close();
-        logger.log(Level.INFO, DEBUG_FILE_WRITE_SUCCESS + json);
+
+        // The whole file is only logged when asked for, as it is written on every change
+        logger.log(Level.INFO, () -> String.format(DEBUG_FILE_WRITE_SUCCESS, json.length()));
+        logger.log(Level.FINEST, () -> DEBUG_FILE_WRITE_CONTENTS + json);
+    }
+
+    //@@author A0080485B
+    // The file as loaded counts as last written, so that saving it unchanged is skipped
+    private void seedContentHash() {
+        try {
+            String json = new String(Files.readAllBytes(saveFile.toPath()), Charset.defaultCharset());
+            savedContentHash = hashContent(json);
+        } catch (IOException e) {
+            savedContentHash = null;
+        }
+    }
+
+    private byte[] hashContent(String json) {
+        try {
+            return MessageDigest.getInstance(CONTENT_HASH_ALGORITHM).digest(json.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new Error(e); // Every Java platform has to support SHA-256
+        }
     }
 
     //@@author A0124321Y
@@ -0,0 +1,106 @@
+//@@author A0080485B
+package procrastinate;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import procrastinate.task.TaskEngine;
+
+/**
+ * <h1>HeadlessRunner runs commands through Logic without starting JavaFX.</h1>
+ *
+ * Commands are read one per line from the script given, or from standard input,
+ * and each is previewed and executed as if it had been typed and entered. The
+ * feedback of each command is printed.
+ *
+ * <p>Usage: HeadlessRunner [--file &lt;save file&gt;] [--metrics] [--allocation] [script]
+ * <li>     --file uses the given save file instead of the one in settings.config
+ * <li>     --metrics prints the Metrics summary once every command has run
+ * <li>     --allocation also tracks the bytes allocated, and implies --metrics
+ */
+public class HeadlessRunner {
+
+    // ================================================================================
+    // Message strings
+    // ================================================================================
+
+    private static final String ARGUMENT_FILE = "--file";
+    private static final String ARGUMENT_METRICS = "--metrics";
+    private static final String ARGUMENT_ALLOCATION = "--allocation";
+
+    private static final String MESSAGE_USAGE = "Usage: HeadlessRunner [--file <save file>] [--metrics] [--allocation] [script]";
+
+    // ================================================================================
+    // HeadlessRunner methods
+    // ================================================================================
+
+    public static void main(String[] args) throws IOException {
+        String saveFile = null;
+        String script = null;
+        boolean isMetricsPrinted = false;
+
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals(ARGUMENT_FILE) && i + 1 < args.length) {
+                saveFile = args[++i];
+            } else if (args[i].equals(ARGUMENT_METRICS)) {
+                isMetricsPrinted = true;
+            } else if (args[i].equals(ARGUMENT_ALLOCATION)) {
+                isMetricsPrinted = true;
+                Metrics.setAllocationTracked(true);
+            } else if (script == null && !args[i].startsWith("--")) {
+                script = args[i];
+            } else {
+                System.out.println(MESSAGE_USAGE);
+                return;
+            }
+        }
+
+        LogBuffer.install();
+
+        TaskEngine taskEngine;
+        if (saveFile == null) {
+            taskEngine = new TaskEngine();
+        } else {
+            taskEngine = new TaskEngine(new FileHandler(new File(saveFile)));
+        }
+        Logic logic = new Logic(new HeadlessUserInterface(), taskEngine);
+
+        BufferedReader reader;
+        if (script == null) {
+            reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        } else {
+            reader = Files.newBufferedReader(Paths.get(script), StandardCharsets.UTF_8);
+        }
+
+        try {
+            String userCommand;
+            while ((userCommand = reader.readLine()) != null) {
+                if (userCommand.trim().isEmpty()) {
+                    continue;
+                }
+                System.out.println(run(logic, userCommand));
+            }
+        } finally {
+            reader.close();
+        }
+
+        if (isMetricsPrinted) {
+            System.out.println(Metrics.getSummary());
+        }
+    }
+
+    /**
+     * Previews and executes the command as if it had been typed in and entered.
+     *
+     * @return feedback of the executed command
+     */
+    public static String run(Logic logic, String userCommand) {
+        logic.previewCommand(userCommand);
+        return logic.executeLastPreviewedCommand();
+    }
+}
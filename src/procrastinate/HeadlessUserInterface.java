@@ -0,0 +1,188 @@
+//@@author A0080485B
+package procrastinate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import procrastinate.task.Task;
+import procrastinate.ui.UI.ScreenView;
+
+/**
+ * <h1>HeadlessUserInterface lets Logic and the commands run without JavaFX.</h1>
+ *
+ * It keeps the latest status, task list and screen that would have been shown
+ * instead of showing them, so that callers can read them back. Error dialogs are
+ * logged and kept as the last error. Overlays, scrolling and the window are ignored.
+ */
+public class HeadlessUserInterface implements UserInterface {
+
+    // ================================================================================
+    // Class variables
+    // ================================================================================
+
+    private static final Logger logger = Logger.getLogger(HeadlessUserInterface.class.getName());
+
+    private static final String FORMAT_ERROR = "%1$s: %2$s";
+
+    private String input = "";
+    private String previewStatus = null;
+    private String executeStatus = null;
+    private String lastError = null;
+
+    private List<Task> taskList = new ArrayList<Task>();
+    private ScreenView screenView = null;
+    private String searchString = null;
+
+    // ================================================================================
+    // Input and status
+    // ================================================================================
+
+    @Override
+    public String getInput() {
+        return input;
+    }
+
+    @Override
+    public void setInput(String input) {
+        this.input = input;
+    }
+
+    @Override
+    public void clearInput() {
+        input = "";
+    }
+
+    @Override
+    public void setPreviewStatus(String status) {
+        previewStatus = status;
+    }
+
+    @Override
+    public void setExecuteStatus(String status) {
+        executeStatus = status;
+    }
+
+    // There is no status bar to fit into
+    @Override
+    public String fitToStatus(String before, String text, String after) {
+        return before + text + after;
+    }
+
+    // ================================================================================
+    // Task lists and screens
+    // ================================================================================
+
+    @Override
+    public void initialUpdateTaskList(List<Task> taskList) {
+        this.taskList = taskList;
+    }
+
+    @Override
+    public void updateTaskList(List<Task> taskList, ScreenView screenView) {
+        this.taskList = taskList;
+        this.screenView = screenView;
+    }
+
+    @Override
+    public void passSearchStringToSearchScreen(String searchString) {
+        this.searchString = searchString;
+    }
+
+    @Override
+    public void scrollUpScreen() {
+    }
+
+    @Override
+    public void scrollDownScreen() {
+    }
+
+    // ================================================================================
+    // Overlays
+    // ================================================================================
+
+    @Override
+    public void showHelpOverlay() {
+    }
+
+    @Override
+    public void nextHelpPage() {
+    }
+
+    @Override
+    public void hideHelpOverlay() {
+    }
+
+    @Override
+    public void hideSplashOverlay() {
+    }
+
+    @Override
+    public void toggleMetricsOverlay() {
+    }
+
+    // ================================================================================
+    // Dialogs
+    // ================================================================================
+
+    @Override
+    public void createErrorDialog(String header, String message) {
+        lastError = String.format(FORMAT_ERROR, header, message);
+        logger.log(Level.WARNING, lastError);
+    }
+
+    @Override
+    public void createErrorDialogWithTrace(Exception e) {
+        lastError = e.toString();
+        logger.log(Level.WARNING, lastError, e);
+    }
+
+    // Unsaved changes are never discarded without anyone to confirm it
+    @Override
+    public boolean createErrorDialogWithConfirmation(String header, String message, String okLabel) {
+        createErrorDialog(header, message);
+        return false;
+    }
+
+    // ================================================================================
+    // Window
+    // ================================================================================
+
+    @Override
+    public void resetIsExit() {
+    }
+
+    @Override
+    public void hide() {
+    }
+
+    // ================================================================================
+    // Getter methods
+    // ================================================================================
+
+    //@@author generated
+    public String getPreviewStatus() {
+        return previewStatus;
+    }
+
+    public String getExecuteStatus() {
+        return executeStatus;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public List<Task> getTaskList() {
+        return taskList;
+    }
+
+    public ScreenView getScreenView() {
+        return screenView;
+    }
+
+    public String getSearchString() {
+        return searchString;
+    }
+}
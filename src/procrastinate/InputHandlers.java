@@ -0,0 +1,170 @@
+//@@author A0080485B
+package procrastinate;
+
+import javafx.beans.value.ChangeListener;
+import javafx.event.EventHandler;
+import javafx.scene.input.KeyEvent;
+import procrastinate.command.Command;
+import procrastinate.command.Command.CommandType;
+import procrastinate.command.Feedback;
+import procrastinate.command.FeedbackHelp;
+
+/**
+ * <h1>InputHandlers connects the JavaFX UI to Logic.</h1>
+ *
+ * They are kept out of Logic so that Logic does not load any JavaFX class, and can be
+ * run without the JavaFX toolkit through a HeadlessUserInterface.
+ */
+class InputHandlers {
+
+    // ================================================================================
+    // Class variables
+    // ================================================================================
+
+    private Logic logic;
+    private UserInterface ui;
+
+    InputHandlers(Logic logic, UserInterface ui) {
+        this.logic = logic;
+        this.ui = ui;
+    }
+
+    // ================================================================================
+    // Handler methods
+    // ================================================================================
+
+    // Process key press events
+    EventHandler<KeyEvent> createKeyPressHandler() {
+        return (keyEvent) -> {
+
+            // Remove initial splash overlay
+            ui.hideSplashOverlay();
+
+            switch (keyEvent.getCode()) {
+
+                // Main command execution flow
+                case ENTER : {
+
+                    // Whitespace command
+                    if (ui.getInput().trim().isEmpty()) {
+                        ui.clearInput();
+                        ui.hideHelpOverlay();
+                        return;
+                    }
+
+                    // Hide help unless it's a help or exit command
+                    if (!logic.getLastPreviewedCommandType().equals(CommandType.HELP)
+                            && !logic.getLastPreviewedCommandType().equals(CommandType.EXIT)) {
+                        ui.hideHelpOverlay();
+                    }
+
+                    // All the work happens here!
+                    String feedback = logic.executeLastPreviewedCommand();
+
+                    // Clear input box and display feedback
+                    // ClearInput must come before setStatus as user input listener
+                    // resets status when input is cleared
+                    ui.clearInput();
+                    ui.setExecuteStatus(feedback);
+
+                    return;
+                }
+
+                // Edit description autocompletion
+                case TAB : {
+                    if (!logic.hasLastPreviewedCommand()) {
+                        return;
+                    }
+
+                    Command command = logic.getLastPreviewedCommand();
+                    if (command.getType() != CommandType.EDIT_PARTIAL) {
+                        return;
+                    }
+
+                    int lineNumber = command.getLineNumber();
+
+                    if (!logic.isValidLineNumber(lineNumber)) {
+                        return;
+                    }
+
+                    ui.setInput(ui.getInput().trim() + " " + logic.getTaskFromLineNumber(lineNumber).getDescription());
+                    return;
+                }
+
+                // Scrolling
+                case UP : {
+                    ui.scrollUpScreen();
+                    return;
+                }
+                case DOWN : {
+                    ui.scrollDownScreen();
+                    return;
+                }
+
+                // Show help
+                case F1 : {
+                    ui.showHelpOverlay();
+                    if (ui.getInput().isEmpty()) {
+                        ui.setPreviewStatus(FeedbackHelp.HELP);
+                    }
+                    return;
+                }
+
+                // Activate next help page using left/right keys
+                // (but only when the input box is empty)
+                case LEFT :
+                case RIGHT : {
+                    if (ui.getInput().isEmpty()) {
+                        ui.nextHelpPage();
+                    }
+                    return;
+                }
+
+                // Toggle the developer timing overlay, or dump the timings to a file
+                case F12 : {
+                    if (keyEvent.isShiftDown()) {
+                        ui.setPreviewStatus(logic.dumpMetrics());
+                    } else {
+                        ui.toggleMetricsOverlay();
+                    }
+                    return;
+                }
+
+                // Hide help
+                case ESCAPE : {
+                    ui.hideHelpOverlay();
+                    if (ui.getInput().trim().isEmpty()) {
+                        ui.setPreviewStatus(Logic.FEEDBACK_READY);
+                    }
+                    return;
+                }
+
+                default :
+                    break;
+            }
+        };
+    }
+
+    // Main command preview flow
+    ChangeListener<String> createUserInputListener() {
+        return (observable, oldValue, newValue) -> {
+            if (newValue.trim().isEmpty()) {
+                ui.setPreviewStatus(Logic.FEEDBACK_READY);
+            } else {
+                ui.setPreviewStatus(logic.previewCommand(newValue));
+            }
+        };
+    }
+
+    // Listen for exit invoked by close button or system tray
+    ChangeListener<Boolean> createIsExitListener() {
+        return (observable, oldValue, newValue) -> {
+            if (newValue.booleanValue()) {
+                if (!logic.exit()) {
+                    ui.resetIsExit();
+                    ui.setPreviewStatus(Feedback.FEEDBACK_TRY_AGAIN);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,146 @@
+//@@author A0080485B
+package procrastinate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+
+/**
+ * <h1>LogBuffer keeps the most recent log records of Procrastinate in memory.</h1>
+ *
+ * Publishing a record only stores it, overwriting the oldest record once the buffer
+ * is full, so nothing is formatted or written while everything is fine. When a
+ * SEVERE record is published, the buffer is dumped to its dump file, so that what
+ * led up to the error can be looked at afterwards.
+ */
+public class LogBuffer extends Handler {
+
+    // ================================================================================
+    // Message strings
+    // ================================================================================
+
+    public static final String LOGGER_NAME = "procrastinate";
+    public static final String DEFAULT_DUMP_FILENAME = "procrastinate.log";
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    // ================================================================================
+    // Class variables
+    // ================================================================================
+
+    // Held on to, as the LogManager only keeps weak references to loggers
+    private static final Logger procrastinateLogger = Logger.getLogger(LOGGER_NAME);
+
+    private static LogBuffer installedBuffer = null;
+
+    private LogRecord[] records;
+    private int nextIndex = 0;
+    private int size = 0;
+
+    private Path dumpPath;
+
+    // ================================================================================
+    // Constructors
+    // ================================================================================
+
+    /**
+     * @param dumpPath  file the buffer is dumped to on a SEVERE record, or null
+     *                  for it to never be dumped by itself
+     */
+    public LogBuffer(int capacity, Path dumpPath) {
+        assert(capacity > 0);
+        this.records = new LogRecord[capacity];
+        this.dumpPath = dumpPath;
+        setFormatter(new SimpleFormatter());
+    }
+
+    /**
+     * Adds a LogBuffer to the logger every logger of Procrastinate logs through, which
+     * dumps to the working directory, next to the config file. Does nothing if one has
+     * already been added.
+     *
+     * @return the LogBuffer added
+     */
+    public static synchronized LogBuffer install() {
+        if (installedBuffer == null) {
+            installedBuffer = new LogBuffer(DEFAULT_CAPACITY, Paths.get(DEFAULT_DUMP_FILENAME).toAbsolutePath());
+            procrastinateLogger.addHandler(installedBuffer);
+        }
+        return installedBuffer;
+    }
+
+    // ================================================================================
+    // LogBuffer methods
+    // ================================================================================
+
+    @Override
+    public void publish(LogRecord record) {
+        if (!isLoggable(record)) {
+            return;
+        }
+
+        synchronized (this) {
+            records[nextIndex] = record;
+            nextIndex = (nextIndex + 1) % records.length;
+            size = Math.min(size + 1, records.length);
+        }
+
+        if (dumpPath != null && record.getLevel().intValue() >= Level.SEVERE.intValue()) {
+            try {
+                dumpToFile(dumpPath);
+            } catch (IOException e) {
+                reportError(null, e, ErrorManager.WRITE_FAILURE);
+            }
+        }
+    }
+
+    /**
+     * @return the records in the buffer, from the oldest to the most recent
+     */
+    public synchronized List<LogRecord> getRecords() {
+        List<LogRecord> bufferedRecords = new ArrayList<LogRecord>(size);
+        int oldestIndex = (nextIndex - size + records.length) % records.length;
+
+        for (int i = 0; i < size; i++) {
+            bufferedRecords.add(records[(oldestIndex + i) % records.length]);
+        }
+        return bufferedRecords;
+    }
+
+    public synchronized void clear() {
+        records = new LogRecord[records.length];
+        nextIndex = 0;
+        size = 0;
+    }
+
+    /**
+     * Writes the formatted records to the file, replacing whatever was in it.
+     */
+    public void dumpToFile(Path path) throws IOException {
+        StringBuilder dump = new StringBuilder();
+        for (LogRecord record : getRecords()) {
+            dump.append(getFormatter().format(record));
+        }
+        Files.write(path, dump.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Nothing is written until the buffer is dumped
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+        clear();
+    }
+}
@@ -1,19 +1,18 @@
 //@@author A0080485B
 package procrastinate;
 
-import javafx.beans.value.ChangeListener;
-import javafx.event.EventHandler;
-import javafx.scene.input.KeyEvent;
 import javafx.stage.Stage;
+import procrastinate.command.Batch;
 import procrastinate.command.Command;
 import procrastinate.command.Command.CommandType;
 import procrastinate.command.Feedback;
 import procrastinate.command.FeedbackExit;
-import procrastinate.command.FeedbackHelp;
 import procrastinate.ui.UI;
 import procrastinate.ui.UI.ScreenView;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Date;
 import java.util.List;
 import java.util.logging.Level;
@@ -42,7 +41,7 @@ public class Logic {
 
     private static final String NATTY_WARMUP_STRING = "Natty starts up slowly due tomorrow";
 
-    private static final String FEEDBACK_READY = "Ready!";
+    static final String FEEDBACK_READY = "Ready!";
 
     private static final String ERROR_STARTUP_HEADER = "There was a problem accessing the directory";
     private static final String ERROR_STARTUP_MESSAGE = "Please startup Procrastinate from a different working directory";
@@ -50,17 +49,22 @@ public class Logic {
     private static final String ERROR_EXIT_MESSAGE = "Discard unsaved changes and exit?";
     private static final String ERROR_EXIT_BUTTON_LABEL = "Discard and exit";
 
+    private static final String FEEDBACK_METRICS_DUMPED = "Metrics written to ";
+    private static final String FEEDBACK_METRICS_DUMP_FAILURE = "Could not write metrics to ";
+
     // ================================================================================
     // Instance variables
     // ================================================================================
 
     protected TaskEngine taskEngine;
-    protected UI ui;
+    protected UserInterface ui;
 
     private boolean hasStartupError = false;
 
     private Command lastPreviewedCommand = null;
 
+    private SessionRecorder sessionRecorder = SessionRecorder.createFromSystemProperty();
+
     private ViewType currentView;
 
     private String searchString = null;
@@ -77,7 +81,20 @@ public class Logic {
 
     protected Logic() {
         initTaskEngine();
-        initParser();
+        StartupTrace.time(StartupTrace.NATTY_WARMUP, this::initParser);
+        logger.log(Level.INFO, DEBUG_LOGIC_INIT);
+    }
+
+    /**
+     * Creates a Logic of its own instead of the singleton, to be run without the
+     * JavaFX UI, e.g. with a HeadlessUserInterface from a script.
+     */
+    public Logic(UserInterface ui, TaskEngine taskEngine) {
+        assert(ui != null && taskEngine != null);
+        this.ui = ui;
+        this.taskEngine = taskEngine;
+        StartupTrace.time(StartupTrace.NATTY_WARMUP, this::initParser);
+        StartupTrace.time(StartupTrace.INITIAL_TASK_LIST, this::initUiTaskList);
         logger.log(Level.INFO, DEBUG_LOGIC_INIT);
     }
 
@@ -93,13 +110,15 @@ public class Logic {
     // ================================================================================
 
     public String previewCommand(String userCommand) {
-    	lastPreviewedCommand = Parser.parse(userCommand);
+        sessionRecorder.recordPreview(userCommand);
+    	lastPreviewedCommand = Metrics.time(Metrics.PARSE, () -> Parser.parse(userCommand));
     	lastPreviewedCommand.setPreview(true);
         return runCommand(lastPreviewedCommand);
     }
 
     public String executeLastPreviewedCommand() {
     	assert(lastPreviewedCommand != null);
+        sessionRecorder.recordExecute();
     	lastPreviewedCommand.setPreview(false);
         return runCommand(lastPreviewedCommand);
     }
@@ -108,6 +127,15 @@ public class Logic {
     	return lastPreviewedCommand != null;
     }
 
+    Command getLastPreviewedCommand() {
+        return lastPreviewedCommand;
+    }
+
+    public CommandType getLastPreviewedCommandType() {
+        assert(lastPreviewedCommand != null);
+        return lastPreviewedCommand.getType();
+    }
+
     //@@author A0124321Y
     private String runCommand(Command command) {
         String feedback = null;
@@ -156,6 +184,18 @@ public class Logic {
                 }
                 break;
 
+            case BATCH :
+                feedback = execute(command);
+                if (!command.isPreview()) {
+                    if (((Batch) command).contains(CommandType.ADD_DREAM, CommandType.ADD_DEADLINE,
+                                                   CommandType.ADD_EVENT)) {
+                        updateView(ViewType.SHOW_OUTSTANDING);
+                    } else {
+                        updateView();
+                    }
+                }
+                break;
+
             case SEARCH :
             case SEARCH_ON :
             case SEARCH_DUE :
@@ -176,6 +216,13 @@ public class Logic {
                 feedback = execute(command);
                 break;
 
+            case IMPORT :
+                feedback = execute(command);
+                if (!command.isPreview()) {
+                    updateView(ViewType.SHOW_OUTSTANDING);
+                }
+                break;
+
             case SHOW_OUTSTANDING :
                 feedback = execute(command);
                 if (!command.isPreview()) {
@@ -584,14 +631,18 @@ public class Logic {
 
     // Main handle
     public void initUi(Stage stage) {
-        ui = new UI(stage);
-        ui.attachHandlersAndListeners(createKeyPressHandler(), createUserInputListener(), createIsExitListener());
+        UI fxUi = new UI(stage);
+        ui = fxUi;
+        InputHandlers handlers = new InputHandlers(this, fxUi);
+        fxUi.attachHandlersAndListeners(handlers.createKeyPressHandler(), handlers.createUserInputListener(),
+                                        handlers.createIsExitListener());
         if (hasStartupError) {
             ui.createErrorDialog(ERROR_STARTUP_HEADER, ERROR_STARTUP_MESSAGE);
             exit();
         }
-        initUiTaskList();
+        StartupTrace.time(StartupTrace.INITIAL_TASK_LIST, this::initUiTaskList);
         ui.setPreviewStatus(FEEDBACK_READY);
+        StartupTrace.finish();
     }
 
     protected void initTaskEngine() {
@@ -602,8 +653,10 @@ public class Logic {
         }
     }
 
+    // Cached date phrases are kept in the working directory, next to the config file
     private void initParser() {
-        Parser.parse(NATTY_WARMUP_STRING);
+        Parser.loadDateCache(Paths.get(DatePhraseCache.DEFAULT_FILENAME));
+        Parser.warmUp(NATTY_WARMUP_STRING);
     }
 
     // ================================================================================
@@ -653,141 +706,28 @@ public class Logic {
         updateView(ViewType.SHOW_SUMMARY);
     }
 
-    // Process key press events
-    private EventHandler<KeyEvent> createKeyPressHandler() {
-        return (keyEvent) -> {
-
-            // Remove initial splash overlay
-            ui.hideSplashOverlay();
-
-            switch (keyEvent.getCode()) {
-
-                // Main command execution flow
-                case ENTER : {
-
-                    // Whitespace command
-                    if (ui.getInput().trim().isEmpty()) {
-                        ui.clearInput();
-                        ui.hideHelpOverlay();
-                        return;
-                    }
-
-                    // Hide help unless it's a help or exit command
-                    if (!lastPreviewedCommand.getType().equals(CommandType.HELP)
-                            && !lastPreviewedCommand.getType().equals(CommandType.EXIT)) {
-                        ui.hideHelpOverlay();
-                    }
-
-                    // All the work happens here!
-                    String feedback = executeLastPreviewedCommand();
-
-                    // Clear input box and display feedback
-                    // ClearInput must come before setStatus as user input listener
-                    // resets status when input is cleared
-                    ui.clearInput();
-                    ui.setExecuteStatus(feedback);
-
-                    return;
-                }
-
-                // Edit description autocompletion
-                case TAB : {
-                    if (!hasLastPreviewedCommand()) {
-                        return;
-                    }
-
-                    Command command = lastPreviewedCommand;
-                    if (command.getType() != CommandType.EDIT_PARTIAL) {
-                        return;
-                    }
-
-                    int lineNumber = lastPreviewedCommand.getLineNumber();
-
-                    if (!isValidLineNumber(lineNumber)) {
-                        return;
-                    }
-
-                    ui.setInput(ui.getInput().trim() + " " + getTaskFromLineNumber(lineNumber).getDescription());
-                    return;
-                }
-
-                // Scrolling
-                case UP : {
-                    ui.scrollUpScreen();
-                    return;
-                }
-                case DOWN : {
-                    ui.scrollDownScreen();
-                    return;
-                }
-
-                // Show help
-                case F1 : {
-                    ui.showHelpOverlay();
-                    if (ui.getInput().isEmpty()) {
-                        ui.setPreviewStatus(FeedbackHelp.HELP);
-                    }
-                    return;
-                }
-
-                // Activate next help page using left/right keys
-                // (but only when the input box is empty)
-                case LEFT :
-                case RIGHT : {
-                    if (ui.getInput().isEmpty()) {
-                        ui.nextHelpPage();
-                    }
-                    return;
-                }
-
-                // Hide help
-                case ESCAPE : {
-                    ui.hideHelpOverlay();
-                    if (ui.getInput().trim().isEmpty()) {
-                        ui.setPreviewStatus(FEEDBACK_READY);
-                    }
-                    return;
-                }
-
-                default :
-                    break;
-            }
-        };
-    }
-
-    // Main command preview flow
-    private ChangeListener<String> createUserInputListener() {
-        return (observable, oldValue, newValue) -> {
-            if (newValue.trim().isEmpty()) {
-                ui.setPreviewStatus(FEEDBACK_READY);
-            } else {
-                ui.setPreviewStatus(previewCommand(newValue));
-            }
-        };
-    }
-
-    // Listen for exit invoked by close button or system tray
-    private ChangeListener<Boolean> createIsExitListener() {
-        return (observable, oldValue, newValue) -> {
-            if (newValue.booleanValue()) {
-                if (!exit()) {
-                    ui.resetIsExit();
-                    ui.setPreviewStatus(Feedback.FEEDBACK_TRY_AGAIN);
-                }
-            }
-        };
-    }
-
     // ================================================================================
     // Utility methods
     // ================================================================================
 
     private String execute(Command command) {
-        return command.run(ui, taskEngine);
+        return Metrics.time(Metrics.COMMAND_RUN, () -> command.run(ui, taskEngine));
+    }
+
+    // Metrics are dumped to the working directory, next to the config file
+    String dumpMetrics() {
+        Path dumpPath = Paths.get(Metrics.DEFAULT_DUMP_FILENAME).toAbsolutePath();
+        try {
+            Metrics.dumpToFile(dumpPath);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, FEEDBACK_METRICS_DUMP_FAILURE + dumpPath, e);
+            return ui.fitToStatus(FEEDBACK_METRICS_DUMP_FAILURE, dumpPath.toString(), "");
+        }
+        return ui.fitToStatus(FEEDBACK_METRICS_DUMPED, dumpPath.toString(), "");
     }
 
     // Exit routine used by exit command, close button and system tray
-    private boolean exit() {
+    boolean exit() {
         if (hasStartupError) {
             hideAndTerminate();
         }
@@ -814,14 +754,15 @@ public class Logic {
     // Simulate faster exit by hiding window first
     private void hideAndTerminate() {
         ui.hide();
+        Parser.saveDateCache(Paths.get(DatePhraseCache.DEFAULT_FILENAME));
         System.exit(0);
     }
 
-    private boolean isValidLineNumber(int lineNumber) {
+    boolean isValidLineNumber(int lineNumber) {
         return (lineNumber >= 1 && lineNumber <= getCurrentTaskList().size());
     }
 
-    private Task getTaskFromLineNumber(int lineNumber) {
+    Task getTaskFromLineNumber(int lineNumber) {
         return getCurrentTaskList().get(lineNumber - 1);
     }
 
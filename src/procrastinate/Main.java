@@ -13,6 +13,8 @@ public class Main extends Application {
 
     @Override
     public void start(Stage primaryStage) {
+        StartupTrace.recordJvmLaunch();
+        LogBuffer.install();
         logic = Logic.getInstance();
         assert (logic != null);
         logic.initUi(primaryStage);
@@ -0,0 +1,367 @@
+//@@author A0080485B
+package procrastinate;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * <h1>Metrics is an in-process registry of how long each part of handling a command
+ * takes.</h1>
+ *
+ * Timings are recorded under a name, e.g. Metrics.PARSE, and summarised as the number
+ * of times recorded and the last, mean and longest duration. The summary is shown by
+ * the developer overlay of the UI and can also be dumped to a file.
+ *
+ * <p>If allocation tracking is turned on, e.g. with -Dprocrastinate.metrics.allocation=true,
+ * the bytes allocated by the recording thread are also summarised for each timing. It is
+ * off by default, and stays off on JVMs which cannot count allocated bytes per thread.
+ */
+public class Metrics {
+
+    // ================================================================================
+    // Metric names
+    // ================================================================================
+
+    public static final String PARSE = "Parser.parse";
+    public static final String COMMAND_RUN = "Command.run";
+    public static final String FILE_SAVE = "FileHandler.save";
+    public static final String FILE_SAVE_SKIPPED = "FileHandler.save skipped (unchanged)";
+    public static final String UPDATE_SCREEN = "CenterPaneController.updateScreen";
+    public static final String UPDATE_SCREEN_LATENCY = "CenterPaneController.updateScreen latency";
+    public static final String FX_PULSE = "FX pulse";
+
+    // ================================================================================
+    // Message strings
+    // ================================================================================
+
+    public static final String PROPERTY_ALLOCATION = "procrastinate.metrics.allocation";
+
+    public static final String DEFAULT_DUMP_FILENAME = "metrics.txt";
+
+    private static final String FORMAT_HEADER = "%1$-42s %2$7s %3$10s %4$10s %5$10s";
+    private static final String FORMAT_TIMING = "%1$-42s %2$7d %3$10.2f %4$10.2f %5$10.2f";
+    private static final String FORMAT_ALLOCATION_HEADER = " %1$10s %2$10s %3$10s";
+    private static final String FORMAT_ALLOCATION = " %1$10.1f %2$10.1f %3$10.1f";
+    private static final String FORMAT_DUMP_TITLE = "Procrastinate metrics at %1$s";
+
+    private static final String HEADER_NAME = "Timing";
+    private static final String HEADER_COUNT = "Count";
+    private static final String HEADER_LAST = "Last ms";
+    private static final String HEADER_MEAN = "Mean ms";
+    private static final String HEADER_MAX = "Max ms";
+    private static final String HEADER_LAST_ALLOCATED = "Last KB";
+    private static final String HEADER_MEAN_ALLOCATED = "Mean KB";
+    private static final String HEADER_MAX_ALLOCATED = "Max KB";
+
+    private static final double NANOS_PER_MILLI = 1000000.0;
+    private static final double BYTES_PER_KILOBYTE = 1024.0;
+
+    public static final long ALLOCATION_NOT_TRACKED = -1;
+
+    // ================================================================================
+    // Class variables
+    // ================================================================================
+
+    // Kept in the order first recorded, so that the summary does not jump around
+    private static final Map<String, Timing> timings = new LinkedHashMap<String, Timing>();
+
+    private static final com.sun.management.ThreadMXBean allocationCounter = getAllocationCounter();
+    private static volatile boolean isAllocationTracked = false;
+
+    static {
+        setAllocationTracked(Boolean.getBoolean(PROPERTY_ALLOCATION));
+    }
+
+    private Metrics() {
+    }
+
+    // ================================================================================
+    // Metrics methods
+    // ================================================================================
+
+    public static void record(String name, long durationNanos) {
+        record(name, durationNanos, ALLOCATION_NOT_TRACKED);
+    }
+
+    /**
+     * @param allocatedBytes    difference of two calls to getAllocatedBytes(), or
+     *                          ALLOCATION_NOT_TRACKED if either of them was
+     */
+    public static synchronized void record(String name, long durationNanos, long allocatedBytes) {
+        Timing timing = timings.get(name);
+        if (timing == null) {
+            timing = new Timing(name);
+            timings.put(name, timing);
+        }
+        timing.add(durationNanos);
+        if (allocatedBytes >= 0) {
+            timing.addAllocation(allocatedBytes);
+        }
+    }
+
+    /**
+     * Runs the supplier and records how long it took, and how much it allocated if
+     * allocation is tracked, under the given name, even if it throws.
+     */
+    public static <T> T time(String name, Supplier<T> supplier) {
+        long startAllocatedBytes = getAllocatedBytes();
+        long startTime = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            long durationNanos = System.nanoTime() - startTime;
+            record(name, durationNanos, getAllocatedBytesSince(startAllocatedBytes));
+        }
+    }
+
+    // ================================================================================
+    // Allocation methods
+    // ================================================================================
+
+    /**
+     * Turns allocation tracking on or off. It cannot be turned on if the JVM does not
+     * support counting the bytes allocated by each thread.
+     *
+     * @return true if allocation is tracked from now on
+     */
+    public static boolean setAllocationTracked(boolean isTracked) {
+        if (isTracked && allocationCounter != null) {
+            allocationCounter.setThreadAllocatedMemoryEnabled(true);
+            isAllocationTracked = allocationCounter.isThreadAllocatedMemoryEnabled();
+        } else {
+            isAllocationTracked = false;
+        }
+        return isAllocationTracked;
+    }
+
+    public static boolean isAllocationTracked() {
+        return isAllocationTracked;
+    }
+
+    /**
+     * @return the bytes allocated so far by the current thread, or
+     *         ALLOCATION_NOT_TRACKED if allocation is not tracked
+     */
+    public static long getAllocatedBytes() {
+        if (!isAllocationTracked) {
+            return ALLOCATION_NOT_TRACKED;
+        }
+        return allocationCounter.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * @return the bytes allocated by the current thread since the given result of
+     *         getAllocatedBytes(), or ALLOCATION_NOT_TRACKED if either is not tracked
+     */
+    public static long getAllocatedBytesSince(long startAllocatedBytes) {
+        long allocatedBytes = getAllocatedBytes();
+        if (startAllocatedBytes < 0 || allocatedBytes < 0) {
+            return ALLOCATION_NOT_TRACKED;
+        }
+        return allocatedBytes - startAllocatedBytes;
+    }
+
+    // Only HotSpot based JVMs can count allocated bytes per thread
+    private static com.sun.management.ThreadMXBean getAllocationCounter() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+
+        com.sun.management.ThreadMXBean allocationCounter = (com.sun.management.ThreadMXBean) threadMXBean;
+        if (!allocationCounter.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        return allocationCounter;
+    }
+
+    /**
+     * @return copies of the timings recorded so far, in the order first recorded
+     */
+    public static synchronized List<Timing> getTimings() {
+        List<Timing> copies = new ArrayList<Timing>();
+        for (Timing timing : timings.values()) {
+            copies.add(timing.copy());
+        }
+        return copies;
+    }
+
+    /**
+     * @return copy of the timing recorded under the name, or null if there is none
+     */
+    public static synchronized Timing getTiming(String name) {
+        Timing timing = timings.get(name);
+        if (timing == null) {
+            return null;
+        }
+        return timing.copy();
+    }
+
+    public static synchronized void reset() {
+        timings.clear();
+    }
+
+    /**
+     * @return a table of the timings recorded so far, one line per timing, with the
+     *         allocated kilobytes of each if any timing has them
+     */
+    public static String getSummary() {
+        List<Timing> timings = getTimings();
+        boolean hasAllocations = false;
+        for (Timing timing : timings) {
+            hasAllocations |= timing.hasAllocations();
+        }
+
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format(FORMAT_HEADER, HEADER_NAME, HEADER_COUNT, HEADER_LAST, HEADER_MEAN, HEADER_MAX));
+        if (hasAllocations) {
+            summary.append(String.format(FORMAT_ALLOCATION_HEADER, HEADER_LAST_ALLOCATED, HEADER_MEAN_ALLOCATED,
+                                         HEADER_MAX_ALLOCATED));
+        }
+
+        for (Timing timing : timings) {
+            summary.append(System.lineSeparator());
+            summary.append(String.format(FORMAT_TIMING, timing.getName(), timing.getCount(),
+                                         toMillis(timing.getLastNanos()), toMillis(timing.getMeanNanos()),
+                                         toMillis(timing.getMaxNanos())));
+            if (timing.hasAllocations()) {
+                summary.append(String.format(FORMAT_ALLOCATION, toKilobytes(timing.getLastAllocatedBytes()),
+                                             toKilobytes(timing.getMeanAllocatedBytes()),
+                                             toKilobytes(timing.getMaxAllocatedBytes())));
+            }
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Writes the summary to the file, replacing whatever was in it.
+     */
+    public static void dumpToFile(Path path) throws IOException {
+        String dump = String.format(FORMAT_DUMP_TITLE, new Date()) + System.lineSeparator() +
+                      getSummary() + System.lineSeparator();
+        Files.write(path, dump.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static double toMillis(double nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    private static double toKilobytes(double bytes) {
+        return bytes / BYTES_PER_KILOBYTE;
+    }
+
+    // ================================================================================
+    // Timing class
+    // ================================================================================
+
+    public static class Timing {
+
+        private String name;
+        private long count = 0;
+        private long totalNanos = 0;
+        private long lastNanos = 0;
+        private long maxNanos = 0;
+
+        private long allocationCount = 0;
+        private long totalAllocatedBytes = 0;
+        private long lastAllocatedBytes = 0;
+        private long maxAllocatedBytes = 0;
+
+        private Timing(String name) {
+            this.name = name;
+        }
+
+        private void add(long durationNanos) {
+            count++;
+            totalNanos += durationNanos;
+            lastNanos = durationNanos;
+            maxNanos = Math.max(maxNanos, durationNanos);
+        }
+
+        private void addAllocation(long allocatedBytes) {
+            allocationCount++;
+            totalAllocatedBytes += allocatedBytes;
+            lastAllocatedBytes = allocatedBytes;
+            maxAllocatedBytes = Math.max(maxAllocatedBytes, allocatedBytes);
+        }
+
+        private Timing copy() {
+            Timing copy = new Timing(name);
+            copy.count = count;
+            copy.totalNanos = totalNanos;
+            copy.lastNanos = lastNanos;
+            copy.maxNanos = maxNanos;
+            copy.allocationCount = allocationCount;
+            copy.totalAllocatedBytes = totalAllocatedBytes;
+            copy.lastAllocatedBytes = lastAllocatedBytes;
+            copy.maxAllocatedBytes = maxAllocatedBytes;
+            return copy;
+        }
+
+        public double getMeanNanos() {
+            if (count == 0) {
+                return 0;
+            }
+            return (double) totalNanos / count;
+        }
+
+        public boolean hasAllocations() {
+            return allocationCount > 0;
+        }
+
+        // Only over the records which had their allocation tracked
+        public double getMeanAllocatedBytes() {
+            if (allocationCount == 0) {
+                return 0;
+            }
+            return (double) totalAllocatedBytes / allocationCount;
+        }
+
+        //@@author generated
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getLastNanos() {
+            return lastNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public long getAllocationCount() {
+            return allocationCount;
+        }
+
+        public long getTotalAllocatedBytes() {
+            return totalAllocatedBytes;
+        }
+
+        public long getLastAllocatedBytes() {
+            return lastAllocatedBytes;
+        }
+
+        public long getMaxAllocatedBytes() {
+            return maxAllocatedBytes;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.joestelmach.natty.DateGroup;
 import procrastinate.command.AddDeadline;
 import procrastinate.command.AddDream;
 import procrastinate.command.AddEvent;
+import procrastinate.command.Batch;
 import procrastinate.command.Command;
 import procrastinate.command.Delete;
 import procrastinate.command.Done;
@@ -16,6 +17,7 @@ import procrastinate.command.EditPartial;
 import procrastinate.command.EditTaskDescription;
 import procrastinate.command.Exit;
 import procrastinate.command.Help;
+import procrastinate.command.Import;
 import procrastinate.command.Invalid;
 import procrastinate.command.SearchDesc;
 import procrastinate.command.SearchDue;
@@ -27,10 +29,13 @@ import procrastinate.command.ShowDone;
 import procrastinate.command.ShowOutstanding;
 import procrastinate.command.ShowSummary;
 import procrastinate.command.Undo;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -38,6 +43,7 @@ public class Parser {
 
     private static final Logger logger = Logger.getLogger(Parser.class.getName());
     private static final com.joestelmach.natty.Parser dateParser = new com.joestelmach.natty.Parser();
+    private static final DatePhraseCache dateCache = new DatePhraseCache();
 
     // ================================================================================
     // Message strings
@@ -48,6 +54,8 @@ public class Parser {
     private static final String MESSAGE_INVALID_NO_DESCRIPTION = "Please specify the description";
     private static final String MESSAGE_INVALID_LINE_NUMBER = "Please specify a valid line number";
     private static final String MESSAGE_INVALID_NO_PATH = "Please specify the save directory path";
+    private static final String MESSAGE_INVALID_NO_IMPORT_PATH = "Please specify the file to import";
+    private static final String MESSAGE_INVALID_BATCH = "Only add, edit, delete and done can be stacked with &&";
 
     private static final String COMMAND_ADD = "add";
     private static final String COMMAND_EDIT = "edit";
@@ -58,6 +66,7 @@ public class Parser {
     private static final String COMMAND_SHOW = "show";
     private static final String COMMAND_SET_PATH = "set";
     private static final String COMMAND_HELP = "help";
+    private static final String COMMAND_IMPORT = "import";
     private static final String COMMAND_EXIT = "procrastinate";
 
     private static final String COMMAND_SHORT_EDIT = "ed";
@@ -77,6 +86,7 @@ public class Parser {
     private static final String KEYWORD_SUMMARY = "summary";
     private static final String KEYWORD_EVENTUALLY = "eventually";
     private static final String KEYWORD_ESCAPE = "\\";
+    private static final String KEYWORD_BATCH_SEPARATOR_REGEX = "(?<!\\\\)&&";
 
     //These are the problematic times that are unable to be handled correctly by Natty
     private static final String KEYWORD_THIS_MORNING = "this morning";
@@ -91,6 +101,10 @@ public class Parser {
     private static final String KEYWORD_THIS_NIGHT_FIX = "today night";
     private static final String KEYWORD_TONIGHT_FIX = "today tonight";
 
+    private static final String LINE_NUMBER_LIST_SEPARATOR = ",";
+    private static final String LINE_NUMBER_RANGE_SEPARATOR = "-";
+    private static final int MAX_LINE_NUMBERS = 10000;
+
     private static final String WHITESPACE_STRING = " ";
     private static final char WHITESPACE_CHARACTER = ' ';
     private static final String DOUBLE_QUOTE_STRING = "\"";
@@ -116,8 +130,21 @@ public class Parser {
 
         assert(userInput != null && !userInput.isEmpty());
 
+        List<String> batchInputs = splitBatchInput(userInput);
+        if (batchInputs.isEmpty()) {
+            return constructInvalidCommand(MESSAGE_INVALID_NO_DESCRIPTION);
+        } else if (batchInputs.size() > 1) {
+            return constructBatchCommand(batchInputs);
+        }
+        userInput = batchInputs.get(0);
+
         // Filtering userInput
         String userCommand = trimWhiteSpace(userInput);
+        if (!isCommandEmpty(userCommand) && !isCommandKeyword(getFirstWord(userCommand))) {
+            // Implicit add: inject add to the front before any date parsing
+            // so that the command string only has to be processed once
+            userCommand = putAddInFront(userCommand);
+        }
         CommandStringType commandInputType = getCommandStringType(userCommand);
         List<Date> dateArray = getDates(userCommand, commandInputType);
         userCommand = removeDatesFromUserCommand(userCommand, commandInputType);
@@ -130,17 +157,36 @@ public class Parser {
         if (isCommandEmpty(userCommand)) {
             command = constructInvalidCommand(MESSAGE_INVALID_NO_DESCRIPTION);
         } else {
-            command = constructCommand(userInput, userCommand, commandInputType, dateArray);
+            command = constructCommand(userCommand, commandInputType, dateArray);
         }
 
         return command;
     }
 
+    //@@author A0080485B
+    /**
+     * Parses the input with Natty directly as well, so that Natty is warmed up even
+     * if every date phrase in the input is cached.
+     */
+    public static Command warmUp(String userInput) {
+        dateParser.parse(userInput);
+        return parse(userInput);
+    }
+
+    public static void loadDateCache(Path path) {
+        dateCache.load(path);
+    }
+
+    public static boolean saveDateCache(Path path) {
+        return dateCache.save(path);
+    }
+    //@@author A0126576X
+
     // ================================================================================
     // Construct command methods
     // ================================================================================
 
-    private static Command constructCommand(String userInput, String userCommand, CommandStringType commandInputType,
+    private static Command constructCommand(String userCommand, CommandStringType commandInputType,
             List<Date> dateArray) {
         String firstWord = getFirstWord(userCommand).toLowerCase(); // Case insensitive
         Command command = null;
@@ -176,16 +222,33 @@ public class Parser {
                 }
 
                 String[] argument = userCommand.split(WHITESPACE_STRING, 3);
-                int lineNumber = 0;
+                List<Integer> lineNumbers = null;
 
                 try {
-                    lineNumber = Integer.parseInt(argument[1]);
+                    lineNumbers = parseLineNumbers(argument[1]);
                 } catch (NumberFormatException e) { // Not a line number
                     // Treat "edit something" as an add command
-                    // Inject add to the front of command and recurse
-                    return Parser.parse(putAddInFront(userInput));
+                    // Inject add to the front of command, reusing the parsed dates
+                    return constructImplicitAddCommand(userCommand, commandInputType, dateArray);
+                }
+
+                if (lineNumbers == null) { // Too many line numbers
+                    return constructInvalidCommand(MESSAGE_INVALID_LINE_NUMBER);
+                }
+
+                if (lineNumbers.size() > 1) {
+                    if (argument.length > 2 && commandInputType == CommandStringType.NO_DATE
+                            && removeEscapeCharacters(argument[2]).equals(KEYWORD_EVENTUALLY)) {
+                        // Only "edit 1-3 eventually" can target multiple tasks
+                        return new EditDream(lineNumbers);
+                    }
+                    // Treat "edit 1-3 something" as an add command
+                    // Inject add to the front of command, reusing the parsed dates
+                    return constructImplicitAddCommand(userCommand, commandInputType, dateArray);
                 }
 
+                int lineNumber = lineNumbers.get(0);
+
                 if (argument.length <= 2 && commandInputType == CommandStringType.NO_DATE) { // Too few arguments
                     // Treat "edit 1" as a partial edit command
                     return new EditPartial(lineNumber);
@@ -210,25 +273,29 @@ public class Parser {
                 }
 
                 String argument = userCommand.substring(firstWord.length() + 1);
-                int lineNumber = 0;
+                List<Integer> lineNumbers = null;
 
                 try {
-                    lineNumber = Integer.parseInt(argument);
+                    lineNumbers = parseLineNumbers(argument);
                 } catch (NumberFormatException e) { // Not a line number
                     // Treat "delete something" is an add command
-                    // Inject add to the front of command and recurse
-                    return Parser.parse(putAddInFront(userInput));
+                    // Inject add to the front of command, reusing the parsed dates
+                    return constructImplicitAddCommand(userCommand, commandInputType, dateArray);
                 }
 
-                return constructDeleteCommand(lineNumber);
+                if (lineNumbers == null) { // Too many line numbers
+                    return constructInvalidCommand(MESSAGE_INVALID_LINE_NUMBER);
+                }
+
+                return constructDeleteCommand(lineNumbers);
             }
 
             case COMMAND_UNDO :
             case COMMAND_SHORT_UNDO : {
                 if (!userCommand.equalsIgnoreCase(firstWord)) { // Extra arguments
                     // Treat "undo something" as an add command
-                    // Inject add to the front of command and recurse
-                    return Parser.parse(putAddInFront(userInput));
+                    // Inject add to the front of command, reusing the parsed dates
+                    return constructImplicitAddCommand(userCommand, commandInputType, dateArray);
                 }
 
                 return constructUndoCommand();
@@ -243,17 +310,21 @@ public class Parser {
                 }
 
                 String[] argument = userCommand.split(WHITESPACE_STRING, 2);
-                int lineNumber = 0;
+                List<Integer> lineNumbers = null;
 
                 try {
-                    lineNumber = Integer.parseInt(argument[1]);
+                    lineNumbers = parseLineNumbers(argument[1]);
                 } catch (NumberFormatException e) { // Not a line number
                     // Treat "done something" as an add command
-                    // Inject add to the front of command and recurse
-                    return Parser.parse(putAddInFront(userInput));
+                    // Inject add to the front of command, reusing the parsed dates
+                    return constructImplicitAddCommand(userCommand, commandInputType, dateArray);
                 }
 
-                return constructDoneCommand(lineNumber);
+                if (lineNumbers == null) { // Too many line numbers
+                    return constructInvalidCommand(MESSAGE_INVALID_LINE_NUMBER);
+                }
+
+                return constructDoneCommand(lineNumbers);
             }
 
             case COMMAND_SEARCH :
@@ -288,16 +359,16 @@ public class Parser {
 
                 } else {
                     // Treat "show something" as an add command
-                    // Inject add to the front of command and recurse
-                    return Parser.parse(putAddInFront(userInput));
+                    // Inject add to the front of command, reusing the parsed dates
+                    return constructImplicitAddCommand(userCommand, commandInputType, dateArray);
                 }
             }
 
             case COMMAND_HELP : {
                 if (!userCommand.equalsIgnoreCase(firstWord)) { // Extra arguments
                     // Treat "help something" as an add command
-                    // Inject add to the front of command and recurse
-                    return Parser.parse(putAddInFront(userInput));
+                    // Inject add to the front of command, reusing the parsed dates
+                    return constructImplicitAddCommand(userCommand, commandInputType, dateArray);
                 }
 
                 return constructHelpCommand();
@@ -311,7 +382,7 @@ public class Parser {
                 }
 
                 if (!commandInputType.equals(CommandStringType.NO_DATE_SET_PATH)) {
-                    return Parser.parse(putAddInFront(userInput));
+                    return constructImplicitAddCommand(userCommand, commandInputType, dateArray);
                 }
 
                 command = constructSetPathCommand(userCommand);
@@ -319,24 +390,53 @@ public class Parser {
                 return command;
             }
 
+            case COMMAND_IMPORT : {
+                if (userCommand.equalsIgnoreCase(firstWord)) { // No arguments
+                    // Treat "import" as an invalid command
+                    // Display a helpful message (no path)
+                    return constructInvalidCommand(MESSAGE_INVALID_NO_IMPORT_PATH);
+                }
+
+                if (commandInputType != CommandStringType.NO_DATE) {
+                    // Treat "import something due tomorrow" as an add command
+                    // Inject add to the front of command, reusing the parsed dates
+                    return constructImplicitAddCommand(userCommand, commandInputType, dateArray);
+                }
+
+                command = constructImportCommand(userCommand);
+
+                return command;
+            }
+
             case COMMAND_EXIT :
             case COMMAND_SHORT_EXIT : {
                 if (!userCommand.equalsIgnoreCase(firstWord)) { // Extra arguments
                     // Treat "procrastinate something" as an add command
-                    // Inject add to the front of command and recurse
-                    return Parser.parse(putAddInFront(userInput));
+                    // Inject add to the front of command, reusing the parsed dates
+                    return constructImplicitAddCommand(userCommand, commandInputType, dateArray);
                 }
 
                 return constructExitCommand();
             }
 
             default: {
-                // Inject add to the front of command and recurse
-                return Parser.parse(putAddInFront(userInput));
+                // Inject add to the front of command, reusing the parsed dates
+                return constructImplicitAddCommand(userCommand, commandInputType, dateArray);
             }
         }
     }
 
+    /**
+     * Treats the whole user command as the description of an add command.
+     * Injecting add does not change the command string type or the dates
+     * (the first word is never a date keyword here), so they are reused
+     * instead of parsing the input all over again.
+     */
+    private static Command constructImplicitAddCommand(String userCommand, CommandStringType commandInputType,
+            List<Date> dateArray) {
+        return constructCommand(putAddInFront(userCommand), commandInputType, dateArray);
+    }
+
     private static Command constructAddCommand(CommandStringType commandInputType, List<Date> dateArray,
             String description) {
         Command command;
@@ -387,16 +487,16 @@ public class Parser {
         return command;
     }
 
-    private static Command constructDeleteCommand(int lineNumber) {
-        return new Delete(lineNumber);
+    private static Command constructDeleteCommand(List<Integer> lineNumbers) {
+        return new Delete(lineNumbers);
     }
 
     private static Command constructUndoCommand() {
         return new Undo();
     }
 
-    private static Command constructDoneCommand(int lineNumber) {
-        return new Done(lineNumber);
+    private static Command constructDoneCommand(List<Integer> lineNumbers) {
+        return new Done(lineNumbers);
     }
 
     private static Command constructSearchCommand(String userCommand,
@@ -452,10 +552,47 @@ public class Parser {
         return new SetPath(pathArgs[0], pathArgs[1]);
     }
 
+    private static Command constructImportCommand(String userCommand) {
+        String path = userCommand.split(WHITESPACE_STRING, 2)[1];
+        if (path.length() > 1 && path.startsWith(DOUBLE_QUOTE_STRING) && path.endsWith(DOUBLE_QUOTE_STRING)) {
+            path = path.substring(1, path.length() - 1);
+        }
+        return new Import(path);
+    }
+
     private static Command constructExitCommand() {
         return new Exit();
     }
 
+    private static Command constructBatchCommand(List<String> batchInputs) {
+        List<Command> commands = new ArrayList<Command>();
+
+        for (String batchInput : batchInputs) {
+            Command command = parse(batchInput);
+
+            switch (command.getType()) {
+                case ADD_DEADLINE :
+                case ADD_EVENT :
+                case ADD_DREAM :
+                case EDIT :
+                case EDIT_TO_DREAM :
+                case DELETE :
+                case DONE :
+                    commands.add(command);
+                    break;
+
+                case INVALID :
+                    // Display the helpful message of the offending command
+                    return command;
+
+                default :
+                    return constructInvalidCommand(MESSAGE_INVALID_BATCH);
+            }
+        }
+
+        return new Batch(commands);
+    }
+
     private static Command constructInvalidCommand (String invalidMessage) {
 //        return new Command(CommandType.INVALID).addDescription(invalidMessage);
         return new Invalid(invalidMessage);
@@ -465,6 +602,20 @@ public class Parser {
     // Filtering user input methods
     // ================================================================================
 
+    /**
+     * Splits the input on unescaped && separators, dropping empty commands
+     * (e.g. while the user is still typing the next command).
+     */
+    private static List<String> splitBatchInput(String userInput) {
+        List<String> batchInputs = new ArrayList<String>();
+        for (String batchInput : userInput.split(KEYWORD_BATCH_SEPARATOR_REGEX)) {
+            if (!batchInput.trim().isEmpty()) {
+                batchInputs.add(batchInput);
+            }
+        }
+        return batchInputs;
+    }
+
     private static CommandStringType getCommandStringType(String userCommand) {
         if (isSetPath(userCommand)) {
             return CommandStringType.NO_DATE_SET_PATH;
@@ -495,7 +646,7 @@ public class Parser {
         String[] arguments = userCommand.split(WHITESPACE_STRING + keyword + WHITESPACE_STRING);
         String dateArguments = arguments[arguments.length - 1];
         dateArguments = replaceRelativeDates(dateArguments);
-        List<DateGroup> dateGroups = dateParser.parse(dateArguments);
+        List<DateGroup> dateGroups = parseDates(dateArguments);
 
         dateList = fillUpDateArray(dateList, dateGroups);
         return dateList;
@@ -537,7 +688,7 @@ public class Parser {
 
         String[] arguments = userCommand.split(WHITESPACE_STRING + keyword + WHITESPACE_STRING);
         String lastArgument = arguments[arguments.length - 1];
-        List<DateGroup> dateGroups = dateParser.parse(lastArgument);
+        List<DateGroup> dateGroups = parseDates(lastArgument);
 
         if(keyword.equals(KEYWORD_FROM_TO_DATE) && !lastArgument.contains(WHITESPACE_STRING + KEYWORD_TO + WHITESPACE_STRING)) {
             return false;
@@ -675,6 +826,51 @@ public class Parser {
         return removedString;
     }
 
+    /**
+     * Parses a single line number, or a list of line numbers and/or ranges
+     * such as "3,5,9" or "1-20,25". Duplicates are dropped.
+     *
+     * @return line numbers in the order given, or null if there are too many
+     * @throws NumberFormatException if the argument is not made up of line numbers
+     */
+    private static List<Integer> parseLineNumbers(String argument) throws NumberFormatException {
+        List<Integer> lineNumbers = new ArrayList<Integer>();
+
+        try {
+            lineNumbers.add(Integer.parseInt(argument));
+            return lineNumbers;
+        } catch (NumberFormatException e) {
+            // Not a single line number; try a list of line numbers and ranges
+        }
+
+        Set<Integer> uniqueLineNumbers = new LinkedHashSet<Integer>();
+        for (String part : argument.split(LINE_NUMBER_LIST_SEPARATOR, -1)) {
+            String[] range = part.split(LINE_NUMBER_RANGE_SEPARATOR, -1);
+
+            if (range.length == 1) {
+                uniqueLineNumbers.add(Integer.parseInt(range[0]));
+            } else if (range.length == 2) {
+                int start = Integer.parseInt(range[0]);
+                int end = Integer.parseInt(range[1]);
+                if (Math.abs((long) end - start) >= MAX_LINE_NUMBERS) {
+                    return null;
+                }
+                for (int i = Math.min(start, end); i <= Math.max(start, end); i++) {
+                    uniqueLineNumbers.add(i);
+                }
+            } else {
+                throw new NumberFormatException(part);
+            }
+
+            if (uniqueLineNumbers.size() > MAX_LINE_NUMBERS) {
+                return null;
+            }
+        }
+
+        lineNumbers.addAll(uniqueLineNumbers);
+        return lineNumbers;
+    }
+
     private static String[] extractSetPathArguments(String userCommand) {
         // We assume that the user command is in a valid set path format
         String[] result = new String[2];
@@ -724,6 +920,33 @@ public class Parser {
         }
     }
 
+    private static boolean isCommandKeyword(String word) {
+        switch (word.toLowerCase()) {
+            case COMMAND_ADD :
+            case COMMAND_EDIT :
+            case COMMAND_SHORT_EDIT :
+            case COMMAND_DELETE :
+            case COMMAND_SHORT_DELETE :
+            case COMMAND_UNDO :
+            case COMMAND_SHORT_UNDO :
+            case COMMAND_DONE :
+            case COMMAND_SHORT_DONE :
+            case COMMAND_SEARCH :
+            case COMMAND_SHORT_SEARCH :
+            case COMMAND_SHOW :
+            case COMMAND_SHORT_SHOW :
+            case COMMAND_HELP :
+            case COMMAND_SET_PATH :
+            case COMMAND_IMPORT :
+            case COMMAND_EXIT :
+            case COMMAND_SHORT_EXIT :
+                return true;
+
+            default :
+                return false;
+        }
+    }
+
     private static boolean isCommandEmpty(String userCommand) {
         return userCommand == null || userCommand.isEmpty();
     }
@@ -732,14 +955,25 @@ public class Parser {
         return userCommand.split(WHITESPACE_STRING)[0];
     }
 
-    private static String putAddInFront(String userInput) {
+    private static String putAddInFront(String userCommand) {
         StringBuilder stringBuilder = new StringBuilder();
         stringBuilder.append(COMMAND_ADD);
         stringBuilder.append(WHITESPACE_STRING);
-        stringBuilder.append(userInput);
+        stringBuilder.append(userCommand);
         return stringBuilder.toString();
     }
 
+    //@@author A0080485B
+    private static List<DateGroup> parseDates(String dateArguments) {
+        List<DateGroup> dateGroups = dateCache.get(dateArguments);
+        if (dateGroups == null) {
+            dateGroups = dateParser.parse(dateArguments);
+            dateCache.put(dateArguments, dateGroups);
+        }
+        return dateGroups;
+    }
+    //@@author A0126576X
+
     private static boolean hasDates(List<DateGroup> groups) {
         return !groups.isEmpty();
     }
@@ -0,0 +1,226 @@
+//@@author A0080485B
+package procrastinate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <h1>SessionRecorder writes the raw inputs given to Logic into a session log, so that
+ * the session can be replayed later, e.g. to compare the speed of two builds.</h1>
+ *
+ * Each preview is recorded with the input it was given, and each execution of the
+ * last previewed command is recorded on its own, together with the milliseconds
+ * since recording started. Recording is only done if the procrastinate.session.record
+ * system property is set to the path of the session log, which is appended to.
+ */
+public class SessionRecorder {
+
+    // ================================================================================
+    // Class variables
+    // ================================================================================
+
+    private static final Logger logger = Logger.getLogger(SessionRecorder.class.getName());
+
+    private BufferedWriter writer = null;
+    private long startTime;
+
+    // ================================================================================
+    // Message strings
+    // ================================================================================
+
+    public static final String PROPERTY_SESSION_RECORD = "procrastinate.session.record";
+
+    public static final String ENTRY_PREVIEW = "preview";
+    public static final String ENTRY_EXECUTE = "execute";
+    public static final String ENTRY_COMMENT = "#";
+
+    private static final String SEPARATOR_FIELD = "\t";
+
+    private static final String DEBUG_RECORDING = "Recording session to %1$s";
+    private static final String DEBUG_RECORD_FAILURE = "Could not record session, recording stopped";
+
+    private static final String ERROR_INVALID_ENTRY = "Invalid session entry: ";
+
+    // ================================================================================
+    // Constructors
+    // ================================================================================
+
+    // Records nothing
+    protected SessionRecorder() {
+    }
+
+    public SessionRecorder(Path sessionLog) throws IOException {
+        writer = Files.newBufferedWriter(sessionLog, StandardCharsets.UTF_8,
+                                         StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        startTime = System.currentTimeMillis();
+        logger.log(Level.INFO, String.format(DEBUG_RECORDING, sessionLog.toAbsolutePath()));
+    }
+
+    /**
+     * @return a recorder writing to the session log named by the system property,
+     *         or one which records nothing if it is not set or cannot be opened
+     */
+    public static SessionRecorder createFromSystemProperty() {
+        String sessionLog = System.getProperty(PROPERTY_SESSION_RECORD);
+        if (sessionLog == null || sessionLog.isEmpty()) {
+            return new SessionRecorder();
+        }
+
+        try {
+            return new SessionRecorder(Paths.get(sessionLog));
+        } catch (IOException e) {
+            logger.log(Level.WARNING, DEBUG_RECORD_FAILURE, e);
+            return new SessionRecorder();
+        }
+    }
+
+    // ================================================================================
+    // SessionRecorder methods
+    // ================================================================================
+
+    public void recordPreview(String userCommand) {
+        record(new Entry(getElapsedMillis(), false, userCommand));
+    }
+
+    public void recordExecute() {
+        record(new Entry(getElapsedMillis(), true, null));
+    }
+
+    public boolean isRecording() {
+        return writer != null;
+    }
+
+    // Flushed after every entry so that the session is kept even if the application is killed
+    private void record(Entry entry) {
+        if (writer == null) {
+            return;
+        }
+
+        try {
+            writer.write(entry.format());
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, DEBUG_RECORD_FAILURE, e);
+            close();
+        }
+    }
+
+    private void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            // Nothing more can be done, recording has stopped anyway
+        }
+        writer = null;
+    }
+
+    private long getElapsedMillis() {
+        return System.currentTimeMillis() - startTime;
+    }
+
+    // ================================================================================
+    // Entry class
+    // ================================================================================
+
+    /**
+     * A single line of the session log, e.g. "1500\tpreview\tdo homework due tomorrow"
+     * or "2100\texecute". Backslashes, tabs and line breaks in the input are escaped.
+     */
+    public static class Entry {
+
+        private long elapsedMillis;
+        private boolean isExecute;
+        private String input;
+
+        public Entry(long elapsedMillis, boolean isExecute, String input) {
+            assert(isExecute || input != null);
+            this.elapsedMillis = elapsedMillis;
+            this.isExecute = isExecute;
+            this.input = input;
+        }
+
+        /**
+         * @return the entry on the line, or null if the line is blank or a comment
+         */
+        public static Entry parse(String line) {
+            if (line.trim().isEmpty() || line.startsWith(ENTRY_COMMENT)) {
+                return null;
+            }
+
+            String[] fields = line.split(SEPARATOR_FIELD, 3);
+            try {
+                long elapsedMillis = Long.parseLong(fields[0]);
+
+                if (fields.length == 2 && fields[1].equals(ENTRY_EXECUTE)) {
+                    return new Entry(elapsedMillis, true, null);
+                } else if (fields.length == 3 && fields[1].equals(ENTRY_PREVIEW)) {
+                    return new Entry(elapsedMillis, false, unescape(fields[2]));
+                }
+            } catch (NumberFormatException e) {
+                // Falls through to be reported as invalid
+            }
+            throw new IllegalArgumentException(ERROR_INVALID_ENTRY + line);
+        }
+
+        public String format() {
+            if (isExecute) {
+                return elapsedMillis + SEPARATOR_FIELD + ENTRY_EXECUTE;
+            }
+            return elapsedMillis + SEPARATOR_FIELD + ENTRY_PREVIEW + SEPARATOR_FIELD + escape(input);
+        }
+
+        private static String escape(String input) {
+            return input.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+        }
+
+        private static String unescape(String escaped) {
+            StringBuilder input = new StringBuilder(escaped.length());
+
+            for (int i = 0; i < escaped.length(); i++) {
+                char c = escaped.charAt(i);
+                if (c != '\\' || i == escaped.length() - 1) {
+                    input.append(c);
+                    continue;
+                }
+
+                char next = escaped.charAt(++i);
+                switch (next) {
+                    case 't' :
+                        input.append('\t');
+                        break;
+                    case 'n' :
+                        input.append('\n');
+                        break;
+                    case 'r' :
+                        input.append('\r');
+                        break;
+                    default :
+                        input.append(next);
+                        break;
+                }
+            }
+            return input.toString();
+        }
+
+        //@@author generated
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public boolean isExecute() {
+            return isExecute;
+        }
+
+        public String getInput() {
+            return input;
+        }
+    }
+}
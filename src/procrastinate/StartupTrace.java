@@ -0,0 +1,125 @@
+//@@author A0080485B
+package procrastinate;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <h1>StartupTrace records how long each phase of starting Procrastinate takes.</h1>
+ *
+ * Phases are recorded in the order they run, from the JVM starting up to the initial
+ * task list being shown. If the procrastinate.startup.trace system property is set to
+ * true, a report of the phases is printed to standard error once startup is finished.
+ */
+public class StartupTrace {
+
+    // ================================================================================
+    // Phase names
+    // ================================================================================
+
+    public static final String JVM_LAUNCH = "JVM launch to Main.start";
+    public static final String FILE_HANDLER_INIT = "FileHandler init";
+    public static final String TASK_LOAD = "Task load";
+    public static final String NATTY_WARMUP = "Natty warm-up";
+    public static final String UI_WINDOW = "UI window";
+    public static final String UI_SCREENS = "UI screens";
+    public static final String UI_STAGE_AND_SPLASH = "UI stage and splash overlay";
+    public static final String INITIAL_TASK_LIST = "Initial task list";
+
+    // ================================================================================
+    // Message strings
+    // ================================================================================
+
+    public static final String PROPERTY_STARTUP_TRACE = "procrastinate.startup.trace";
+
+    private static final String FORMAT_PHASE = "%1$-30s %2$10.2f ms";
+
+    private static final String REPORT_TITLE = "Startup phases";
+    private static final String REPORT_TOTAL = "Total of phases";
+
+    private static final double NANOS_PER_MILLI = 1000000.0;
+
+    // ================================================================================
+    // Class variables
+    // ================================================================================
+
+    private static final Map<String, Long> phases = new LinkedHashMap<String, Long>();
+
+    private StartupTrace() {
+    }
+
+    // ================================================================================
+    // StartupTrace methods
+    // ================================================================================
+
+    /**
+     * Records the duration of the phase, replacing any earlier duration of it.
+     */
+    public static synchronized void record(String phase, long durationNanos) {
+        phases.remove(phase);
+        phases.put(phase, durationNanos);
+    }
+
+    /**
+     * Runs the phase and records how long it took, even if it throws.
+     */
+    public static void time(String phase, Runnable runnable) {
+        long startTime = System.nanoTime();
+        try {
+            runnable.run();
+        } finally {
+            record(phase, System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Records the time from the JVM starting up to now as the JVM_LAUNCH phase.
+     */
+    public static void recordJvmLaunch() {
+        long launchMillis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        record(JVM_LAUNCH, (long) (launchMillis * NANOS_PER_MILLI));
+    }
+
+    /**
+     * Prints the report to standard error if startup is being traced.
+     */
+    public static void finish() {
+        if (isTraced()) {
+            System.err.println(getReport());
+        }
+    }
+
+    public static boolean isTraced() {
+        return Boolean.getBoolean(PROPERTY_STARTUP_TRACE);
+    }
+
+    /**
+     * @return copy of the duration in nanoseconds of each phase, in the order recorded
+     */
+    public static synchronized Map<String, Long> getPhases() {
+        return new LinkedHashMap<String, Long>(phases);
+    }
+
+    public static synchronized void reset() {
+        phases.clear();
+    }
+
+    /**
+     * @return a table of the phases recorded, one line per phase, and their total
+     */
+    public static String getReport() {
+        StringBuilder report = new StringBuilder(REPORT_TITLE);
+        long totalNanos = 0;
+
+        for (Map.Entry<String, Long> phase : getPhases().entrySet()) {
+            report.append(System.lineSeparator());
+            report.append(String.format(FORMAT_PHASE, phase.getKey(), phase.getValue() / NANOS_PER_MILLI));
+            totalNanos += phase.getValue();
+        }
+
+        report.append(System.lineSeparator());
+        report.append(String.format(FORMAT_PHASE, REPORT_TOTAL, totalNanos / NANOS_PER_MILLI));
+        return report.toString();
+    }
+}
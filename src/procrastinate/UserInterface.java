@@ -0,0 +1,85 @@
+//@@author A0080485B
+package procrastinate;
+
+import java.util.List;
+
+import procrastinate.task.Task;
+import procrastinate.ui.UI.ScreenView;
+
+/**
+ * <h1>UserInterface is everything Logic and the commands need from the user interface.</h1>
+ *
+ * It is implemented by the JavaFX UI, and by HeadlessUserInterface so that Logic and
+ * every command can be run without starting the JavaFX toolkit, e.g. from scripts,
+ * benchmarks and tests. Nothing in it refers to JavaFX.
+ */
+public interface UserInterface {
+
+    // ================================================================================
+    // Input and status
+    // ================================================================================
+
+    public String getInput();
+
+    public void setInput(String input);
+
+    public void clearInput();
+
+    public void setPreviewStatus(String status);
+
+    public void setExecuteStatus(String status);
+
+    /**
+     * @return the status, with text shortened if the status would not fit otherwise
+     */
+    public String fitToStatus(String before, String text, String after);
+
+    // ================================================================================
+    // Task lists and screens
+    // ================================================================================
+
+    public void initialUpdateTaskList(List<Task> taskList);
+
+    public void updateTaskList(List<Task> taskList, ScreenView screenView);
+
+    public void passSearchStringToSearchScreen(String searchString);
+
+    public void scrollUpScreen();
+
+    public void scrollDownScreen();
+
+    // ================================================================================
+    // Overlays
+    // ================================================================================
+
+    public void showHelpOverlay();
+
+    public void nextHelpPage();
+
+    public void hideHelpOverlay();
+
+    public void hideSplashOverlay();
+
+    public void toggleMetricsOverlay();
+
+    // ================================================================================
+    // Dialogs
+    // ================================================================================
+
+    public void createErrorDialog(String header, String message);
+
+    public void createErrorDialogWithTrace(Exception e);
+
+    /**
+     * @return true if the user chose the okLabel option
+     */
+    public boolean createErrorDialogWithConfirmation(String header, String message, String okLabel);
+
+    // ================================================================================
+    // Window
+    // ================================================================================
+
+    public void resetIsExit();
+
+    public void hide();
+}
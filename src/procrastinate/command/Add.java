@@ -21,4 +21,10 @@ public abstract class Add extends CrudCmd implements FeedbackCrud {
     public String getDescription() {
         return description;
     }
+
+    /**
+     * Makes the task described by this command without adding it
+     * @return task, or null if the command does not describe a valid task
+     */
+    public abstract Task makeTask();
 }
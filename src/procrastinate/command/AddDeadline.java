@@ -3,9 +3,10 @@ package procrastinate.command;
 
 import java.util.Date;
 
+import procrastinate.UserInterface;
 import procrastinate.task.Deadline;
+import procrastinate.task.Task;
 import procrastinate.task.TaskEngine;
-import procrastinate.ui.UI;
 
 public class AddDeadline extends Add {
     private Date date;
@@ -20,11 +21,11 @@ public class AddDeadline extends Add {
     }
 
     @Override
-    public String run(UI ui, TaskEngine taskEngine) {
+    public String run(UserInterface ui, TaskEngine taskEngine) {
         String feedback = null;
 
         // make task
-        task = new Deadline(description, date);
+        task = makeTask();
 
         // make feedback for preview zone
         feedback = ui.fitToStatus(String.format(ADD, task.getTypeString()), description, task.getDateString());
@@ -45,6 +46,11 @@ public class AddDeadline extends Add {
         }
     }
 
+    @Override
+    public Task makeTask() {
+        return new Deadline(description, date);
+    }
+
     public Command addDate(Date date) {
         this.date = date;
         return this;
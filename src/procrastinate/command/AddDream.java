@@ -1,9 +1,10 @@
 //@@author A0124321Y
 package procrastinate.command;
 
+import procrastinate.UserInterface;
 import procrastinate.task.Dream;
+import procrastinate.task.Task;
 import procrastinate.task.TaskEngine;
-import procrastinate.ui.UI;
 
 public class AddDream extends Add {
     public AddDream(String description) {
@@ -12,11 +13,11 @@ public class AddDream extends Add {
     }
 
     @Override
-    public String run(UI ui, TaskEngine taskEngine) {
+    public String run(UserInterface ui, TaskEngine taskEngine) {
         String feedback = null;
 
         // make task
-        task = new Dream(description);
+        task = makeTask();
 
         // make feedback for preview zone
         feedback = ui.fitToStatus(String.format(ADD, task.getTypeString()), description, task.getDateString());
@@ -37,4 +38,9 @@ public class AddDream extends Add {
 
 
     }
+
+    @Override
+    public Task makeTask() {
+        return new Dream(description);
+    }
 }
@@ -3,9 +3,10 @@ package procrastinate.command;
 
 import java.util.Date;
 
+import procrastinate.UserInterface;
 import procrastinate.task.Event;
+import procrastinate.task.Task;
 import procrastinate.task.TaskEngine;
-import procrastinate.ui.UI;
 
 public class AddEvent extends Add {
     private Date startDate;
@@ -21,7 +22,7 @@ public class AddEvent extends Add {
     }
 
     @Override
-    public String run(UI ui, TaskEngine taskEngine) {
+    public String run(UserInterface ui, TaskEngine taskEngine) {
         String feedback = null;
 
         if (endDate.before(startDate)) {
@@ -33,7 +34,7 @@ public class AddEvent extends Add {
         }
 
         // make task
-        task = new Event(description, startDate, endDate);
+        task = makeTask();
 
         // make feedback for preview zone
         feedback = ui.fitToStatus(String.format(ADD, task.getTypeString()), description, task.getDateString());
@@ -55,6 +56,14 @@ public class AddEvent extends Add {
 
     }
 
+    @Override
+    public Task makeTask() {
+        if (endDate.before(startDate)) {
+            return null;
+        }
+        return new Event(description, startDate, endDate);
+    }
+
     public Command addStartDate(Date startDate) {
         this.startDate = startDate;
         return this;
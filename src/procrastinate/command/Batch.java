@@ -0,0 +1,86 @@
+package procrastinate.command;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringJoiner;
+
+import procrastinate.UserInterface;
+import procrastinate.task.TaskEngine;
+
+/**
+ * Several add/edit/delete/done commands entered in a single input that are
+ * applied as one transaction: one save, one undo entry and one view update.
+ */
+public class Batch extends Command implements FeedbackCrud {
+    private List<Command> commands;
+
+    public Batch(List<Command> commands) {
+        super(CommandType.BATCH);
+        assert commands != null && commands.size() > 1;
+
+        this.commands = commands;
+    }
+
+    @Override
+    public String run(UserInterface ui, TaskEngine taskEngine) {
+        String feedback = null;
+
+        if (isPreview()) {
+            return previewAll(ui, taskEngine);
+        }
+
+        taskEngine.startBatch();
+
+        StringJoiner feedbacks = new StringJoiner(BATCH_SEPARATOR);
+        boolean isComplete = false;
+        try {
+            for (Command command : commands) {
+                command.setPreview(false);
+                feedback = command.run(ui, taskEngine);
+
+                // Commands mark themselves as preview when they are rejected,
+                // in which case none of the batch should be applied
+                if (command.isPreview()) {
+                    setPreview(true);
+                    return feedback;
+                }
+                feedbacks.add(feedback);
+            }
+            isComplete = true;
+        } finally {
+            // Also when a command throws, so that later operations are not left deferred
+            if (!isComplete) {
+                taskEngine.abortBatch();
+            }
+        }
+
+        if (taskEngine.endBatch()) {
+            return String.format(BATCH, commands.size(), feedbacks.toString());
+        } else {
+            // display error msg if save fails
+            ui.createErrorDialog(ERROR_SAVE_HEADER, ERROR_SAVE_MESSAGE);
+            feedback = FEEDBACK_TRY_AGAIN;
+            return feedback;
+        }
+    }
+
+    public List<Command> getCommands() {
+        return commands;
+    }
+
+    /**
+     * Checks if any command in the batch is of one of the given types
+     */
+    public boolean contains(CommandType... types) {
+        return commands.stream().anyMatch(command -> Arrays.asList(types).contains(command.getType()));
+    }
+
+    private String previewAll(UserInterface ui, TaskEngine taskEngine) {
+        StringJoiner feedbacks = new StringJoiner(BATCH_SEPARATOR);
+        for (Command command : commands) {
+            command.setPreview(true);
+            feedbacks.add(command.run(ui, taskEngine));
+        }
+        return String.format(BATCH, commands.size(), feedbacks.toString());
+    }
+}
@@ -3,14 +3,14 @@ package procrastinate.command;
 
 import java.util.Date;
 
+import procrastinate.UserInterface;
 import procrastinate.task.TaskEngine;
-import procrastinate.ui.UI;
 
 public abstract class Command implements Preview, Feedback {
     public static enum CommandType {
         ADD_DEADLINE, ADD_EVENT, ADD_DREAM, EDIT, EDIT_PARTIAL, EDIT_TO_DREAM, DELETE, UNDO, DONE,
         SEARCH, SEARCH_ON, SEARCH_DUE, SEARCH_RANGE, SHOW_OUTSTANDING, SHOW_DONE, SHOW_ALL, SHOW_SUMMARY,
-        SET_PATH, EXIT, HELP, INVALID;
+        SET_PATH, IMPORT, EXIT, HELP, INVALID, BATCH;
     }
 
     protected int lineNum;
@@ -27,7 +27,7 @@ public abstract class Command implements Preview, Feedback {
         this.type = type;
     }
 
-    public abstract String run(UI ui, TaskEngine taskEngine);
+    public abstract String run(UserInterface ui, TaskEngine taskEngine);
 
     public String getSearchStr() {
         return searchString;
@@ -1,10 +1,15 @@
 //@@author A0124321Y
 package procrastinate.command;
 
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
 import procrastinate.task.Task;
 import procrastinate.task.TaskEngine;
 
 public abstract class CrudCmd extends Command implements FeedbackCrud {
+    protected List<Integer> lineNums;
 
     public CrudCmd(CommandType type) {
         super(type);
@@ -12,21 +17,85 @@ public abstract class CrudCmd extends Command implements FeedbackCrud {
 
     /**
      * Retrieves a task from the list of task TaskEngine maintains
-     * List is 0-based index.
+     * List is 0-based index. In a batch, the task is as left by the earlier
+     * commands of the batch, or as it was if they deleted it.
      * @param lineNumber visible from UI i.e. 1-based index
      * @return task
      */
     public Task getTask(int lineNumber, TaskEngine taskEngine) {
-        return taskEngine.getCurrentTaskList().get(lineNumber - 1);
+        return getLatestTask(taskEngine.getCurrentTaskList().get(lineNumber - 1), taskEngine);
     }
 
     /**
-     * Checks for line number validity
+     * Checks for line number validity. A line number is also invalid if its task
+     * has already been removed, e.g. by an earlier command in the same batch.
      * @param lineNum
      * @param taskEngine
      * @return
      */
     public boolean isInvalid(int lineNum, TaskEngine taskEngine) {
-        return !(lineNum >= 1 && lineNum <= taskEngine.getCurrentTaskList().size());
+        if (!(lineNum >= 1 && lineNum <= taskEngine.getCurrentTaskList().size())) {
+            return true;
+        }
+        return !taskEngine.hasTask(getTask(lineNum, taskEngine).getId());
+    }
+
+    /**
+     * Retrieves the tasks for several line numbers, all resolved against
+     * the same list of tasks TaskEngine maintains
+     * @param lineNumbers visible from UI i.e. 1-based index
+     * @return tasks in the order of the given line numbers
+     */
+    public List<Task> getTasks(List<Integer> lineNumbers, TaskEngine taskEngine) {
+        List<Task> currentTaskList = taskEngine.getCurrentTaskList();
+        return lineNumbers.stream()
+                          .map(lineNumber -> getLatestTask(currentTaskList.get(lineNumber - 1), taskEngine))
+                          .collect(Collectors.toList());
+    }
+
+    /**
+     * Checks for validity of several line numbers at once
+     * @param lineNums
+     * @param taskEngine
+     * @return the first invalid line number, or null if all are valid
+     */
+    public Integer findInvalid(List<Integer> lineNums, TaskEngine taskEngine) {
+        int size = taskEngine.getCurrentTaskList().size();
+        for (int lineNum : lineNums) {
+            if (!(lineNum >= 1 && lineNum <= size)) {
+                return lineNum;
+            }
+        }
+
+        List<Task> tasks = getTasks(lineNums, taskEngine);
+        if (taskEngine.hasTasks(tasks.stream().map(Task::getId).collect(Collectors.toList()))) {
+            return null;
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            if (!taskEngine.hasTask(tasks.get(i).getId())) {
+                return lineNums.get(i);
+            }
+        }
+        return null;
+    }
+
+    //@@author A0080485B
+    private Task getLatestTask(Task task, TaskEngine taskEngine) {
+        Task latestTask = taskEngine.getLatestTask(task);
+        return (latestTask == null) ? task : latestTask;
+    }
+
+    //@@author A0124321Y
+    public List<Integer> getLineNumbers() {
+        return lineNums;
+    }
+
+    /**
+     * Joins the descriptions of several tasks for the feedback of a multi-target command
+     */
+    protected String joinDescriptions(List<Task> tasks) {
+        StringJoiner joiner = new StringJoiner(DESCRIPTION_SEPARATOR);
+        tasks.forEach(task -> joiner.add(task.getDescription()));
+        return joiner.toString();
     }
 }
@@ -1,36 +1,60 @@
 //@@author A0124321Y
 package procrastinate.command;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import procrastinate.UserInterface;
 import procrastinate.task.Task;
 import procrastinate.task.TaskEngine;
-import procrastinate.ui.UI;
 
 public class Delete extends CrudCmd {
     public Delete(int lineNum) {
+        this(Arrays.asList(lineNum));
+    }
+
+    public Delete(List<Integer> lineNums) {
         super(CommandType.DELETE);
-        this.lineNum = lineNum;
+        assert lineNums != null && !lineNums.isEmpty();
+
+        this.lineNums = lineNums;
+        this.lineNum = lineNums.get(0);
     }
 
     @Override
-    public String run(UI ui, TaskEngine taskEngine) {
+    public String run(UserInterface ui, TaskEngine taskEngine) {
         String feedback = null;
 
-        if (isInvalid(lineNum, taskEngine)) {
-            feedback = String.format(INVALID_LINE_NUMBER, lineNum);
+        Integer invalidLineNum = findInvalid(lineNums, taskEngine);
+        if (invalidLineNum != null) {
+            feedback = String.format(INVALID_LINE_NUMBER, invalidLineNum);
             setPreview(true);
             return feedback;
         }
-        Task task = getTask(lineNum, taskEngine);
+        List<Task> tasks = getTasks(lineNums, taskEngine);
+        Task task = tasks.get(0);
 
         // make feedback for preview zone
-        feedback = String.format(DELETED, task.getTypeString(), task.getDescription());
+        if (tasks.size() == 1) {
+            feedback = String.format(DELETED, task.getTypeString(), task.getDescription());
+        } else {
+            feedback = ui.fitToStatus(String.format(DELETED_MULTIPLE, tasks.size()), joinDescriptions(tasks), "");
+        }
 
         if (isPreview()) {
             assert feedback != null;
             return feedback;
         }
 
-        if (taskEngine.delete(task.getId())) {
+        boolean success;
+        if (tasks.size() == 1) {
+            success = taskEngine.delete(task.getId());
+        } else {
+            success = taskEngine.deleteAll(tasks.stream().map(Task::getId).collect(Collectors.toList()));
+        }
+
+        if (success) {
             return feedback;
         } else {
             // display error msg if add fails
@@ -1,31 +1,47 @@
 //@@author A0124321Y
 package procrastinate.command;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import procrastinate.UserInterface;
 import procrastinate.task.Task;
 import procrastinate.task.TaskEngine;
-import procrastinate.ui.UI;
 
 public class Done extends CrudCmd {
     public Done(int lineNum) {
+        this(Arrays.asList(lineNum));
+    }
+
+    public Done(List<Integer> lineNums) {
         super(CommandType.DONE);
-        this.lineNum = lineNum;
+        assert lineNums != null && !lineNums.isEmpty();
+
+        this.lineNums = lineNums;
+        this.lineNum = lineNums.get(0);
     }
 
     @Override
-    public String run(UI ui, TaskEngine taskEngine) {
+    public String run(UserInterface ui, TaskEngine taskEngine) {
         assert ui != null && taskEngine != null;
         String feedback = null;
 
-        if (isInvalid(lineNum, taskEngine)) {
-            feedback = String.format(INVALID_LINE_NUMBER, lineNum);
+        Integer invalidLineNum = findInvalid(lineNums, taskEngine);
+        if (invalidLineNum != null) {
+            feedback = String.format(INVALID_LINE_NUMBER, invalidLineNum);
             setPreview(true);
             return feedback;
         }
-        Task task = getTask(lineNum, taskEngine);
+        List<Task> tasks = getTasks(lineNums, taskEngine);
+        Task task = tasks.get(0);
         boolean done = task.isDone();
 
         // make feedback for preview zone
-        if (done) {
+        if (tasks.size() > 1) {
+            feedback = ui.fitToStatus(String.format(getMultipleFeedback(tasks), tasks.size()),
+                                      joinDescriptions(tasks), "");
+        } else if (done) {
             feedback = String.format(UNDONE, task.getTypeString(), task.getDescription());
         } else {
             feedback = String.format(DONE, task.getTypeString(), task.getDescription());
@@ -36,7 +52,12 @@ public class Done extends CrudCmd {
             return feedback;
         }
 
-        boolean success = taskEngine.done(task.getId());
+        boolean success;
+        if (tasks.size() == 1) {
+            success = taskEngine.done(task.getId());
+        } else {
+            success = taskEngine.doneAll(tasks.stream().map(Task::getId).collect(Collectors.toList()));
+        }
 
         if (!success) {
             // display error msg if add fails
@@ -46,4 +67,14 @@ public class Done extends CrudCmd {
         }
         return feedback;
     }
-}
\ No newline at end of file
+
+    private String getMultipleFeedback(List<Task> tasks) {
+        if (tasks.stream().allMatch(Task::isDone)) {
+            return UNDONE_MULTIPLE;
+        } else if (tasks.stream().noneMatch(Task::isDone)) {
+            return DONE_MULTIPLE;
+        } else {
+            return DONE_UNDONE_MULTIPLE;
+        }
+    }
+}
@@ -1,6 +1,9 @@
 //@@author A0124321Y
 package procrastinate.command;
 
+import java.util.Arrays;
+import java.util.List;
+
 import procrastinate.task.Task;
 
 public abstract class Edit extends CrudCmd implements FeedbackCrud {
@@ -9,8 +12,15 @@ public abstract class Edit extends CrudCmd implements FeedbackCrud {
     protected Task newTask;
 
     public Edit(CommandType type, int lineNum) {
+        this(type, Arrays.asList(lineNum));
+    }
+
+    public Edit(CommandType type, List<Integer> lineNums) {
         super(type);
-        this.lineNum = lineNum;
+        assert lineNums != null && !lineNums.isEmpty();
+
+        this.lineNums = lineNums;
+        this.lineNum = lineNums.get(0);
     }
 
     public Command addDescription(String description) {
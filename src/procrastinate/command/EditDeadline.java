@@ -3,9 +3,9 @@ package procrastinate.command;
 
 import java.util.Date;
 
+import procrastinate.UserInterface;
 import procrastinate.task.Deadline;
 import procrastinate.task.TaskEngine;
-import procrastinate.ui.UI;
 
 public class EditDeadline extends Edit {
     private Date date;
@@ -18,7 +18,7 @@ public class EditDeadline extends Edit {
     }
 
     @Override
-    public String run(UI ui, TaskEngine taskEngine) {
+    public String run(UserInterface ui, TaskEngine taskEngine) {
         String feedback = null;
 
         if (isInvalid(lineNum, taskEngine)) {
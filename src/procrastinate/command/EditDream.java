@@ -1,25 +1,41 @@
 //@@author A0124321Y
 package procrastinate.command;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import procrastinate.UserInterface;
 import procrastinate.task.Dream;
+import procrastinate.task.Task;
 import procrastinate.task.TaskEngine;
-import procrastinate.ui.UI;
 
 public class EditDream extends Edit {
     public EditDream(int lineNum) {
-        super(CommandType.EDIT, lineNum);
+        this(Arrays.asList(lineNum));
+    }
+
+    public EditDream(List<Integer> lineNums) {
+        super(CommandType.EDIT, lineNums);
     }
 
     @Override
-    public String run(UI ui, TaskEngine taskEngine) {
+    public String run(UserInterface ui, TaskEngine taskEngine) {
         String feedback = null;
 
-        if (isInvalid(lineNum, taskEngine)) {
-            feedback = String.format(INVALID_LINE_NUMBER, lineNum);
+        Integer invalidLineNum = findInvalid(lineNums, taskEngine);
+        if (invalidLineNum != null) {
+            feedback = String.format(INVALID_LINE_NUMBER, invalidLineNum);
             setPreview(true);
             return feedback;
         }
 
+        if (lineNums.size() > 1) {
+            return runMultiple(ui, taskEngine);
+        }
+
         // make task
         oldTask = getTask(lineNum, taskEngine);
         newTask = new Dream(oldTask.getDescription());
@@ -43,4 +59,34 @@ public class EditDream extends Edit {
         }
     }
 
+    private String runMultiple(UserInterface ui, TaskEngine taskEngine) {
+        String feedback = null;
+        List<Task> oldTasks = getTasks(lineNums, taskEngine);
+
+        // make feedback for preview zone
+        feedback = ui.fitToStatus(String.format(EDIT_DREAM_MULTIPLE, oldTasks.size()),
+                                  joinDescriptions(oldTasks), "");
+
+        if (isPreview()) {
+            assert feedback != null;
+            return feedback;
+        }
+
+        // make tasks
+        Map<UUID, Task> newTasks = new LinkedHashMap<UUID, Task>();
+        for (Task task : oldTasks) {
+            newTasks.put(task.getId(), new Dream(task.getDescription()));
+        }
+
+        // replace old with new
+        if (taskEngine.editAll(newTasks)) {
+            return feedback;
+        } else {
+            // display error msg if add fails
+            ui.createErrorDialog(ERROR_SAVE_HEADER, ERROR_SAVE_MESSAGE);
+            feedback = FEEDBACK_TRY_AGAIN;
+            return feedback;
+        }
+    }
+
 }
@@ -3,9 +3,9 @@ package procrastinate.command;
 
 import java.util.Date;
 
+import procrastinate.UserInterface;
 import procrastinate.task.Event;
 import procrastinate.task.TaskEngine;
-import procrastinate.ui.UI;
 
 public class EditEvent extends Edit {
     private Date startDate;
@@ -20,7 +20,7 @@ public class EditEvent extends Edit {
     }
 
     @Override
-    public String run(UI ui, TaskEngine taskEngine) {
+    public String run(UserInterface ui, TaskEngine taskEngine) {
         String feedback = null;
 
         if (isInvalid(lineNum, taskEngine)) {
@@ -1,8 +1,8 @@
 //@@author A0124321Y
 package procrastinate.command;
 
+import procrastinate.UserInterface;
 import procrastinate.task.TaskEngine;
-import procrastinate.ui.UI;
 
 public class EditPartial extends CrudCmd implements FeedbackCrud {
     public EditPartial(int lineNum) {
@@ -11,7 +11,7 @@ public class EditPartial extends CrudCmd implements FeedbackCrud {
     }
 
     @Override
-    public String run(UI ui, TaskEngine taskEngine) {
+    public String run(UserInterface ui, TaskEngine taskEngine) {
         assert taskEngine != null;
 
         String feedback = null;
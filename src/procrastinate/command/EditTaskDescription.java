@@ -1,9 +1,9 @@
 //@@author A0124321Y
 package procrastinate.command;
 
+import procrastinate.UserInterface;
 import procrastinate.task.Task;
 import procrastinate.task.TaskEngine;
-import procrastinate.ui.UI;
 
 public class EditTaskDescription extends Edit {
     public EditTaskDescription(int lineNum, String description) {
@@ -13,7 +13,7 @@ public class EditTaskDescription extends Edit {
     }
 
     @Override
-    public String run(UI ui, TaskEngine taskEngine) {
+    public String run(UserInterface ui, TaskEngine taskEngine) {
         String feedback = null;
 
         if (isInvalid(lineNum, taskEngine)) {
@@ -1,7 +1,7 @@
 package procrastinate.command;
 
+import procrastinate.UserInterface;
 import procrastinate.task.TaskEngine;
-import procrastinate.ui.UI;
 
 public class Exit extends Command implements FeedbackExit {
 
@@ -10,7 +10,7 @@ public class Exit extends Command implements FeedbackExit {
     }
 
     @Override
-    public String run(UI ui, TaskEngine taskEngine) {
+    public String run(UserInterface ui, TaskEngine taskEngine) {
         return null;
     }
 }
\ No newline at end of file
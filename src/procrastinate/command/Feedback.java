@@ -1,8 +1,8 @@
 //@@author A0124321Y
 package procrastinate.command;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
 
 /**
@@ -15,15 +15,16 @@ public interface Feedback {
     public static final String INVALID_RANGE = "Invalid dates: %2$s is before %1$s";
     public static final String ELLIPSIS = "...";
 
-    public static final DateFormat dateTimeFormatter = new SimpleDateFormat("d/MM/yy h:mma");
-    public static final DateFormat dateFormatter = new SimpleDateFormat("d/MM/yy");
+    // DateTimeFormatter is immutable and thread-safe, unlike SimpleDateFormat
+    public static final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("d/MM/yy h:mma");
+    public static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("d/MM/yy");
 
     public static String formatDateTime(Date date) {
-        return dateTimeFormatter.format(date);
+        return dateTimeFormatter.format(date.toInstant().atZone(ZoneId.systemDefault()));
     }
 
     public static String formatDate(Date date) {
-        return dateFormatter.format(date);
+        return dateFormatter.format(date.toInstant().atZone(ZoneId.systemDefault()));
     }
 
 }
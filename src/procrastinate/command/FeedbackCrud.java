@@ -11,16 +11,25 @@ public interface FeedbackCrud extends Feedback {
     public static final String EDIT_DREAM = "Edited #%1$s: %2$s";
     public static final String EDIT_DEADLINE = "Edited #%1$s: %2$s due %3$s";
     public static final String EDIT_EVENT = "Edited #%1$s: %2$s %3$s to %4$s";
+    public static final String EDIT_DREAM_MULTIPLE = "Edited %1$d tasks to dreams: ";
     public static final String EDIT_PARTIAL = "Please specify the new description/date(s) or press tab";
 
     public static final String DELETED = "Deleted %1$s: %2$s";
+    public static final String DELETED_MULTIPLE = "Deleted %1$d tasks: ";
 
     public static final String DONE = "Done %1$s: %2$s";
     public static final String UNDONE = "Undone %1$s: %2$s";
+    public static final String DONE_MULTIPLE = "Done %1$d tasks: ";
+    public static final String UNDONE_MULTIPLE = "Undone %1$d tasks: ";
+    public static final String DONE_UNDONE_MULTIPLE = "Done/undone %1$d tasks: ";
+    public static final String DESCRIPTION_SEPARATOR = ", ";
 
     public static final String UNDO = "Undid last operation";
     public static final String NOTHING_TO_UNDO = "Nothing to undo";
 
+    public static final String BATCH = "%1$d commands: %2$s";
+    public static final String BATCH_SEPARATOR = "; ";
+
     public static final String INVALID_LINE_NUMBER = "Invalid line number: %1$d";
 
     public static final String ERROR_SAVE_HEADER = "Could not save changes to file!";
@@ -0,0 +1,13 @@
+package procrastinate.command;
+
+public interface FeedbackImport extends Feedback {
+    public static final String IMPORT = "Import tasks from %1$s";
+    public static final String IMPORTED = "Imported %1$d task(s) in %2$dms (%3$d tasks/s)";
+    public static final String IMPORTED_WITH_FAILURES = IMPORTED + "; could not import line(s) %4$s";
+    public static final String FAILED_LINES_SEPARATOR = ", ";
+    public static final int MAX_FAILED_LINES_SHOWN = 5;
+
+    public static final String ERROR_IMPORT_HEADER = "Could not import tasks from:";
+    public static final String ERROR_IMPORT_MESSAGE = "%1$s\n\nPlease check that the file exists and try again";
+    public static final String FEEDBACK_IMPORT_FAILED = "Could not read %1$s";
+}
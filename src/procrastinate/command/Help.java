@@ -1,7 +1,7 @@
 package procrastinate.command;
 
+import procrastinate.UserInterface;
 import procrastinate.task.TaskEngine;
-import procrastinate.ui.UI;
 
 public class Help extends Command implements FeedbackHelp {
 
@@ -10,7 +10,7 @@ public class Help extends Command implements FeedbackHelp {
     }
 
     @Override
-    public String run(UI ui, TaskEngine taskEngine) {
+    public String run(UserInterface ui, TaskEngine taskEngine) {
         assert ui != null;
 
         String feedback = null;
@@ -0,0 +1,213 @@
+package procrastinate.command;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import procrastinate.Parser;
+import procrastinate.UserInterface;
+import procrastinate.task.Task;
+import procrastinate.task.TaskEngine;
+
+/**
+ * Imports tasks from a text file (one command per line, as typed into the
+ * input box) or a CSV file (description[,due date] or description,start,end).
+ * Lines are parsed in parallel since date parsing dominates the cost, and all
+ * tasks are added to TaskEngine in one operation with a single write.
+ */
+public class Import extends Command implements FeedbackCrud, FeedbackImport {
+    private static final Logger logger = Logger.getLogger(Import.class.getName());
+
+    private static final String DEBUG_IMPORT_FAILED_LINE = "Could not import line %1$d: %2$s";
+
+    private static final String CSV_EXTENSION = ".csv";
+    private static final char CSV_SEPARATOR = ',';
+    private static final char CSV_QUOTE = '"';
+
+    private static final String KEYWORD_ESCAPE = "\\";
+    private static final String KEYWORD_DUE_DATE = " due ";
+    private static final String KEYWORD_FROM_DATE = " from ";
+    private static final String KEYWORD_TO_DATE = " to ";
+
+    private String path;
+
+    public Import(String path) {
+        super(CommandType.IMPORT);
+        assert path != null;
+
+        this.path = path;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    @Override
+    public String run(UserInterface ui, TaskEngine taskEngine) {
+        String feedback = null;
+        File file = new File(path).getAbsoluteFile();
+
+        // feedback for preview zone; the file is only read on execution
+        feedback = String.format(IMPORT, file.getPath());
+
+        if (isPreview()) {
+            return feedback;
+        }
+
+        long startTime = System.nanoTime();
+        List<String> lines;
+
+        try {
+            lines = Files.readAllLines(file.toPath());
+        } catch (IOException e) {
+            ui.createErrorDialog(ERROR_IMPORT_HEADER, String.format(ERROR_IMPORT_MESSAGE, file.getPath()));
+            setPreview(true);
+            feedback = String.format(FEEDBACK_IMPORT_FAILED, file.getName());
+            return feedback;
+        }
+
+        boolean isCsv = file.getName().toLowerCase().endsWith(CSV_EXTENSION);
+
+        // ordered parallel stream so that results line up with the lines
+        List<Task> parsedTasks = IntStream.range(0, lines.size())
+                .parallel()
+                .mapToObj(i -> makeTask(lines.get(i), isCsv))
+                .collect(Collectors.toList());
+
+        List<Task> tasks = new ArrayList<Task>();
+        List<Integer> failedLines = new ArrayList<Integer>();
+
+        for (int i = 0; i < lines.size(); i++) {
+            if (lines.get(i).trim().isEmpty()) {
+                continue;
+            }
+            if (parsedTasks.get(i) == null) {
+                int lineNumber = i + 1;
+                String line = lines.get(i);
+                logger.log(Level.FINE, () -> String.format(DEBUG_IMPORT_FAILED_LINE, lineNumber, line));
+                failedLines.add(lineNumber);
+            } else {
+                tasks.add(parsedTasks.get(i));
+            }
+        }
+
+        if (!tasks.isEmpty() && !taskEngine.addAll(tasks)) {
+            // display error msg if save fails
+            ui.createErrorDialog(ERROR_SAVE_HEADER, ERROR_SAVE_MESSAGE);
+            feedback = FEEDBACK_TRY_AGAIN;
+            return feedback;
+        }
+
+        long timeTaken = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        long tasksPerSecond = tasks.size() * 1000L / Math.max(timeTaken, 1);
+
+        if (failedLines.isEmpty()) {
+            feedback = String.format(IMPORTED, tasks.size(), timeTaken, tasksPerSecond);
+        } else {
+            feedback = String.format(IMPORTED_WITH_FAILURES, tasks.size(), timeTaken, tasksPerSecond,
+                                     formatFailedLines(failedLines));
+        }
+        return feedback;
+    }
+
+    /**
+     * Parses a single line into a task. Safe to be called from multiple threads.
+     * @return task, or null if the line is blank or not a valid add command
+     */
+    private static Task makeTask(String line, boolean isCsv) {
+        if (line.trim().isEmpty()) {
+            return null;
+        }
+
+        try {
+            String userInput = isCsv ? csvToUserInput(line) : line;
+            Command command = Parser.parse(userInput);
+
+            if (!(command instanceof Add)) {
+                return null;
+            }
+            if (isCsv && hasCsvDates(line) && command.getType() == CommandType.ADD_DREAM) {
+                return null; // the dates given could not be parsed
+            }
+
+            return ((Add) command).makeTask();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static String csvToUserInput(String line) {
+        List<String> fields = splitCsvLine(line);
+        StringBuilder userInput = new StringBuilder(escape(fields.get(0)));
+
+        if (fields.size() == 2 && !fields.get(1).isEmpty()) {
+            userInput.append(KEYWORD_DUE_DATE).append(fields.get(1));
+        } else if (fields.size() >= 3 && !fields.get(1).isEmpty()) {
+            userInput.append(KEYWORD_FROM_DATE).append(fields.get(1))
+                     .append(KEYWORD_TO_DATE).append(fields.get(2));
+        }
+        return userInput.toString();
+    }
+
+    private static boolean hasCsvDates(String line) {
+        List<String> fields = splitCsvLine(line);
+        return fields.size() >= 2 && !fields.get(1).isEmpty();
+    }
+
+    /**
+     * Escapes every character of a description so that Parser does not treat
+     * any of its words as command keywords, date keywords or separators
+     */
+    private static String escape(String description) {
+        StringBuilder escaped = new StringBuilder();
+        for (char c : description.toCharArray()) {
+            escaped.append(KEYWORD_ESCAPE).append(c);
+        }
+        return escaped.toString();
+    }
+
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<String>();
+        StringBuilder field = new StringBuilder();
+        boolean isQuoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == CSV_QUOTE) {
+                if (isQuoted && i + 1 < line.length() && line.charAt(i + 1) == CSV_QUOTE) {
+                    field.append(CSV_QUOTE); // escaped quote within quoted field
+                    i++;
+                } else {
+                    isQuoted = !isQuoted;
+                }
+            } else if (c == CSV_SEPARATOR && !isQuoted) {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+
+        return fields;
+    }
+
+    private static String formatFailedLines(List<Integer> failedLines) {
+        StringJoiner joiner = new StringJoiner(FAILED_LINES_SEPARATOR);
+        failedLines.stream()
+                   .limit(MAX_FAILED_LINES_SHOWN)
+                   .forEach(lineNumber -> joiner.add(String.valueOf(lineNumber)));
+        if (failedLines.size() > MAX_FAILED_LINES_SHOWN) {
+            joiner.add(ELLIPSIS);
+        }
+        return joiner.toString();
+    }
+}
@@ -1,7 +1,7 @@
 package procrastinate.command;
 
+import procrastinate.UserInterface;
 import procrastinate.task.TaskEngine;
-import procrastinate.ui.UI;
 
 public class Invalid extends Command {
     private String description;
@@ -12,7 +12,7 @@ public class Invalid extends Command {
     }
 
     @Override
-    public String run(UI ui, TaskEngine taskEngine) {
+    public String run(UserInterface ui, TaskEngine taskEngine) {
         return description;
     }
 
@@ -3,8 +3,8 @@ package procrastinate.command;
 
 import java.util.Date;
 
+import procrastinate.UserInterface;
 import procrastinate.task.TaskEngine;
-import procrastinate.ui.UI;
 
 public class SearchDesc extends Search {
 
@@ -13,7 +13,7 @@ public class SearchDesc extends Search {
         this.description = description;
     }
     @Override
-    public String run(UI ui, TaskEngine taskEngine) {
+    public String run(UserInterface ui, TaskEngine taskEngine) {
         String str = "";
         String term = null;
         Date start = null;
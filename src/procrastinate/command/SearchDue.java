@@ -6,8 +6,8 @@ import java.util.Date;
 
 import org.apache.commons.lang.time.DateUtils;
 
+import procrastinate.UserInterface;
 import procrastinate.task.TaskEngine;
-import procrastinate.ui.UI;
 
 public class SearchDue extends Search {
     private Date date;
@@ -19,7 +19,7 @@ public class SearchDue extends Search {
     }
 
     @Override
-    public String run(UI ui, TaskEngine taskEngine) {
+    public String run(UserInterface ui, TaskEngine taskEngine) {
         String str = "";
         String term = null;
         Date start = null;
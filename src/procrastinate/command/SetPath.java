@@ -4,9 +4,9 @@ package procrastinate.command;
 import java.io.File;
 import java.io.IOException;
 
+import procrastinate.UserInterface;
 import procrastinate.FileHandler;
 import procrastinate.task.TaskEngine;
-import procrastinate.ui.UI;
 
 public class SetPath extends Command implements FeedbackSetPath {
     private String pathDir, pathFilename;
@@ -26,7 +26,7 @@ public class SetPath extends Command implements FeedbackSetPath {
     }
 
     @Override
-    public String run(UI ui, TaskEngine taskEngine) {
+    public String run(UserInterface ui, TaskEngine taskEngine) {
         String feedback = null;
         String parsedPathDirectory = null;
         File targetDirectory = new File(pathDir);
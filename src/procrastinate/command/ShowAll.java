@@ -1,8 +1,8 @@
 //@@author A0124321Y
 package procrastinate.command;
 
+import procrastinate.UserInterface;
 import procrastinate.task.TaskEngine;
-import procrastinate.ui.UI;
 
 public class ShowAll extends Show {
 
@@ -11,7 +11,7 @@ public class ShowAll extends Show {
     }
 
     @Override
-    public String run(UI ui, TaskEngine taskEngine) {
+    public String run(UserInterface ui, TaskEngine taskEngine) {
         return SHOW_ALL;
     }
 }
\ No newline at end of file
@@ -2,12 +2,12 @@
 package procrastinate.task;
 
 import java.lang.reflect.Type;
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Date;
 import java.util.Locale;
-import java.util.TimeZone;
 
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
@@ -19,22 +19,20 @@ import com.google.gson.JsonSerializer;
 
 public class DateAdapter implements JsonSerializer<Date>, JsonDeserializer<Date> {
 
-    private static final DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
-
-    public DateAdapter() {
-        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
-    }
+    // Immutable and thread-safe, so it can be shared by every adapter instance
+    private static final DateTimeFormatter dateFormat =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US).withZone(ZoneOffset.UTC);
 
     @Override
     public JsonElement serialize(Date date, Type typeOfT, JsonSerializationContext context) {
-        return new JsonPrimitive(dateFormat.format(date));
+        return new JsonPrimitive(dateFormat.format(date.toInstant()));
     }
 
     @Override
     public Date deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) {
         try {
-            return dateFormat.parse(json.getAsString());
-        } catch (ParseException e) {
+            return Date.from(LocalDateTime.parse(json.getAsString(), dateFormat).toInstant(ZoneOffset.UTC));
+        } catch (DateTimeParseException e) {
             throw new JsonParseException(e);
         }
     }
@@ -1,8 +1,8 @@
 //@@author A0080485B
 package procrastinate.task;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
 import java.util.UUID;
 
@@ -14,7 +14,7 @@ public class Deadline extends Task {
 
     private static final String dateStringFormat = " due %1$s";
 
-    private static final DateFormat dateFormatter = new SimpleDateFormat("d/MM/yy h:mma");
+    private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("d/MM/yy h:mma");
 
     @SerializedName(FIELD_DATE)
 	private Date date_;
@@ -39,7 +39,7 @@ public class Deadline extends Task {
 
 	@Override
     public String getDateString() {
-	    return String.format(dateStringFormat, dateFormatter.format(date_));
+	    return String.format(dateStringFormat, dateFormatter.format(date_.toInstant().atZone(ZoneId.systemDefault())));
 	}
 
     @Override
@@ -1,8 +1,8 @@
 //@@author A0080485B
 package procrastinate.task;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
 import java.util.UUID;
 
@@ -15,7 +15,7 @@ public class Event extends Task {
 
     private static final String dateStringFormat = " from %1$s to %2$s";
 
-    private static final DateFormat dateFormatter = new SimpleDateFormat("d/MM/yy h:mma");
+    private static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("d/MM/yy h:mma");
 
     @SerializedName(FIELD_START_DATE)
 	private Date startDate_;
@@ -46,7 +46,9 @@ public class Event extends Task {
 
     @Override
     public String getDateString() {
-        return String.format(dateStringFormat, dateFormatter.format(startDate_), dateFormatter.format(endDate_));
+        ZoneId zone = ZoneId.systemDefault();
+        return String.format(dateStringFormat, dateFormatter.format(startDate_.toInstant().atZone(zone)),
+                             dateFormatter.format(endDate_.toInstant().atZone(zone)));
     }
 
     @Override
@@ -3,15 +3,23 @@ package procrastinate.task;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 import procrastinate.FileHandler;
+import procrastinate.Metrics;
+import procrastinate.StartupTrace;
 
 public class TaskEngine {
 
@@ -27,11 +35,23 @@ public class TaskEngine {
 
     private static final String DEBUG_TASK_ENGINE_INIT = "TaskEngine initialised.";
     private static final String DEBUG_ADDED_TASK = "Added %1$s: %2$s";
+    private static final String DEBUG_ADDED_TASKS = "Added %1$s task(s)";
     private static final String DEBUG_EDITED_TASK = "Edited #%1$s: %2$s";
     private static final String DEBUG_DELETED_TASK = "Deleted %1$s: %2$s";
     private static final String DEBUG_DONE_TASK = "Done %1$s: %2$s";
     private static final String DEBUG_UNDONE_TASK = "Undone %1$s: %2$s";
+    private static final String DEBUG_EDITED_TASKS = "Edited %1$s task(s)";
+    private static final String DEBUG_DELETED_TASKS = "Deleted %1$s task(s)";
+    private static final String DEBUG_DONE_TASKS = "Toggled done for %1$s task(s)";
     private static final String DEBUG_UNDONE = "Last task operation undone";
+    private static final String DEBUG_BATCH_STARTED = "Batch started";
+    private static final String DEBUG_BATCH_ENDED = "Batch ended";
+    private static final String DEBUG_BATCH_ABORTED = "Batch aborted";
+    private static final String DEBUG_MOUNTED_FILE = "Mounted %1$s";
+    private static final String DEBUG_MOUNT_REFUSED = "Not mounting %1$s; it is the save file or already mounted";
+    private static final String DEBUG_RENEWED_IDS = "Gave %1$s task(s) from mounted %2$s new ids, as they were already in use";
+    private static final String DEBUG_LOADED_MOUNTED_FILE = "Loaded %1$s task(s) from mounted %2$s";
+    private static final String DEBUG_SAVED_MOUNTED_FILE = "Saved %1$s task(s) to mounted %2$s";
 
     private static final String ERROR_TASK_NOT_FOUND = "Task not found!";
 
@@ -49,13 +69,42 @@ public class TaskEngine {
     private String previousSaveDirectory_ = null;
     private String previousSaveFilename_ = null;
 
+    private boolean isBatchMode_ = false;
+    private TaskState previousStateBeforeBatch_ = null;
+    private boolean isPreviousOperationSetBeforeBatch_ = false;
+    // Ids of the tasks edited during the batch, mapped to the ids of the tasks replacing them
+    private Map<UUID, UUID> replacedIdsInBatch_ = new HashMap<UUID, UUID>();
+    // Tasks of the current state by id, built on the first lookup after each operation of the batch
+    private Map<UUID, Task> tasksByIdInBatch_ = null;
+
+    // Bumped on every change to the current state; the state is on file while they are equal
+    private long version_ = 0;
+    private long savedVersion_ = 0;
+
+    private List<MountedFile> mountedFiles_ = new ArrayList<MountedFile>();
+    // Mounted file each task loaded from a mounted file belongs to; other tasks belong to the save file
+    private Map<UUID, MountedFile> mountedTaskOwners_ = new HashMap<UUID, MountedFile>();
+
     // ================================================================================
     // Constructor
     // ================================================================================
 
     public TaskEngine() throws IOException {
+        long startTime = System.nanoTime();
         initFileHandler();
-        initTasks();
+        StartupTrace.record(StartupTrace.FILE_HANDLER_INIT, System.nanoTime() - startTime);
+
+        StartupTrace.time(StartupTrace.TASK_LOAD, this::initTasks);
+        logger.log(Level.INFO, DEBUG_TASK_ENGINE_INIT);
+    }
+
+    /**
+     * Uses the given FileHandler instead of one reading the config file,
+     * e.g. one with a save file of its own
+     */
+    public TaskEngine(FileHandler fileHandler) {
+        this.fileHandler = fileHandler;
+        StartupTrace.time(StartupTrace.TASK_LOAD, this::initTasks);
         logger.log(Level.INFO, DEBUG_TASK_ENGINE_INIT);
     }
 
@@ -71,7 +120,20 @@ public class TaskEngine {
 
         getTasks().add(task);
 
-        logger.log(Level.INFO, String.format(DEBUG_ADDED_TASK, type, description));
+        logger.log(Level.INFO, () -> String.format(DEBUG_ADDED_TASK, type, description));
+
+        return writeStateToFile();
+    }
+
+    /**
+     * Adds several tasks in one operation, with a single undo entry and a single write
+     */
+    public boolean addAll(List<Task> tasks) {
+        backupOlderState();
+
+        getTasks().addAll(tasks);
+
+        logger.log(Level.INFO, () -> String.format(DEBUG_ADDED_TASKS, tasks.size()));
 
         return writeStateToFile();
     }
@@ -80,10 +142,14 @@ public class TaskEngine {
         backupOlderState();
 
         int index = getIndexFromId(taskId);
-        getTasks().remove(index);
-        getTasks().add(index, newTask);
+        if (!newTask.equals(getTasks().get(index))) { // Unchanged tasks keep their id, so the file stays the same
+            getTasks().remove(index);
+            getTasks().add(index, newTask);
+            transferOwner(taskId, newTask);
+            recordReplacement(taskId, newTask);
+        }
 
-        logger.log(Level.INFO, String.format(DEBUG_EDITED_TASK, index + 1, newTask.getDescription()));
+        logger.log(Level.INFO, () -> String.format(DEBUG_EDITED_TASK, index + 1, newTask.getDescription()));
 
         return writeStateToFile();
     }
@@ -98,7 +164,7 @@ public class TaskEngine {
         String description = task.getDescription();
         String type = task.getTypeString();
 
-        logger.log(Level.INFO, String.format(DEBUG_DELETED_TASK, type, description));
+        logger.log(Level.INFO, () -> String.format(DEBUG_DELETED_TASK, type, description));
 
         return writeStateToFile();
     }
@@ -122,7 +188,65 @@ public class TaskEngine {
             feedback = DEBUG_UNDONE_TASK;
         }
 
-        logger.log(Level.INFO, String.format(feedback, type, description));
+        logger.log(Level.INFO, () -> String.format(feedback, type, description));
+
+        return writeStateToFile();
+    }
+
+    /**
+     * Replaces several tasks in one operation, with a single undo entry and a single write
+     * @param newTasks new task for each id of the task it replaces
+     */
+    public boolean editAll(Map<UUID, Task> newTasks) {
+        backupOlderState();
+
+        getTasks().replaceAll(task -> {
+            Task newTask = newTasks.get(task.getId());
+            if (newTask == null || newTask.equals(task)) {
+                return task;
+            }
+            recordReplacement(task.getId(), newTask);
+            return newTask;
+        });
+        newTasks.forEach(this::transferOwner);
+
+        logger.log(Level.INFO, () -> String.format(DEBUG_EDITED_TASKS, newTasks.size()));
+
+        return writeStateToFile();
+    }
+
+    /**
+     * Deletes several tasks in one operation, with a single undo entry and a single write
+     */
+    public boolean deleteAll(List<UUID> taskIds) {
+        backupOlderState();
+
+        Set<UUID> ids = new HashSet<UUID>(taskIds);
+        getTasks().removeIf(task -> ids.contains(task.getId()));
+
+        logger.log(Level.INFO, () -> String.format(DEBUG_DELETED_TASKS, ids.size()));
+
+        return writeStateToFile();
+    }
+
+    /**
+     * Toggles the done status of several tasks in one operation, with a single undo entry
+     * and a single write
+     */
+    public boolean doneAll(List<UUID> taskIds) {
+        backupOlderState();
+
+        Set<UUID> ids = new HashSet<UUID>(taskIds);
+        getTasks().replaceAll(task -> {
+            if (!ids.contains(task.getId())) {
+                return task;
+            }
+            Task doneTask = Task.copy(task);
+            doneTask.setDone(!doneTask.isDone());
+            return doneTask;
+        });
+
+        logger.log(Level.INFO, () -> String.format(DEBUG_DONE_TASKS, ids.size()));
 
         return writeStateToFile();
     }
@@ -140,11 +264,96 @@ public class TaskEngine {
         restoreOlderState();
         previousState_ = backupNewerState;
 
-        logger.log(Level.INFO, String.format(DEBUG_UNDONE));
+        logger.log(Level.INFO, DEBUG_UNDONE);
+
+        return writeStateToFile();
+    }
+
+    /**
+     * Starts a batch of operations that are applied as one: the state is backed
+     * up once (a single undo entry), writes are deferred until endBatch and line
+     * numbers keep referring to the task list as it was before the batch. The
+     * tasks on those lines are resolved to what they have become with getLatestTask.
+     */
+    public void startBatch() {
+        assert(!isBatchMode_);
+
+        previousStateBeforeBatch_ = previousState_;
+        isPreviousOperationSetBeforeBatch_ = isPreviousOperationSet_;
+        backupOlderState();
+        currentView_ = TaskState.copy(currentView_);
+        replacedIdsInBatch_.clear();
+        tasksByIdInBatch_ = null;
+        isBatchMode_ = true;
+
+        logger.log(Level.INFO, DEBUG_BATCH_STARTED);
+    }
+
+    /**
+     * Ends the current batch and writes the resulting state to file once.
+     */
+    public boolean endBatch() {
+        assert(isBatchMode_);
+
+        isBatchMode_ = false;
+        replacedIdsInBatch_.clear();
+        tasksByIdInBatch_ = null;
+
+        logger.log(Level.INFO, DEBUG_BATCH_ENDED);
 
         return writeStateToFile();
     }
 
+    /**
+     * Discards every operation made since startBatch, leaving the state and
+     * undo history as they were before the batch. Nothing is written to file.
+     */
+    public void abortBatch() {
+        assert(isBatchMode_);
+
+        restoreOlderState();
+        previousState_ = previousStateBeforeBatch_;
+        isPreviousOperationSet_ = isPreviousOperationSetBeforeBatch_;
+        isBatchMode_ = false;
+        replacedIdsInBatch_.clear();
+        tasksByIdInBatch_ = null;
+
+        logger.log(Level.INFO, DEBUG_BATCH_ABORTED);
+    }
+
+    /**
+     * Finds what a task of the current task list has become, e.g. the done or edited
+     * task replacing it after an earlier command of the same batch. Outside a batch,
+     * the current task list is always up to date, so the task itself is returned.
+     *
+     * @return the task with the same id, or replacing it, in the current state, or
+     *         null if it has been deleted during the batch
+     */
+    public Task getLatestTask(Task task) {
+        if (!isBatchMode_) {
+            return task;
+        }
+
+        UUID id = task.getId();
+        while (replacedIdsInBatch_.containsKey(id)) {
+            id = replacedIdsInBatch_.get(id);
+        }
+        if (tasksByIdInBatch_ == null) {
+            tasksByIdInBatch_ = new HashMap<UUID, Task>();
+            getTasks().forEach(latestTask -> tasksByIdInBatch_.put(latestTask.getId(), latestTask));
+        }
+        return tasksByIdInBatch_.get(id);
+    }
+
+    public boolean hasTask(UUID taskId) {
+        return getTasks().stream().anyMatch(task -> task.getId().equals(taskId));
+    }
+
+    public boolean hasTasks(List<UUID> taskIds) {
+        Set<UUID> ids = getTasks().stream().map(Task::getId).collect(Collectors.toSet());
+        return ids.containsAll(taskIds);
+    }
+
     public boolean save() {
         return writeStateToFile();
     }
@@ -161,8 +370,41 @@ public class TaskEngine {
         return previousState_ != null || isPreviousOperationSet_;
     }
 
+    /**
+     * Adds the save file of the FileHandler to the workspace. Its tasks are not loaded
+     * until the next search, which then looks through them as well, and it is only
+     * written to when one of its tasks is changed.
+     *
+     * @return false if the file is the save file or already mounted, in which case it
+     *         is not mounted, as its tasks would be loaded twice
+     */
+    public boolean mount(FileHandler mountedFileHandler) {
+        File mountedFile = mountedFileHandler.getSaveFile();
+        boolean isTaken = isSameFile(mountedFile, fileHandler.getSaveFile())
+                || getMountedFiles().stream().anyMatch(file -> isSameFile(mountedFile, file));
+        if (isTaken) {
+            logger.log(Level.WARNING, String.format(DEBUG_MOUNT_REFUSED, mountedFile));
+            return false;
+        }
+
+        mountedFiles_.add(new MountedFile(mountedFileHandler));
+        logger.log(Level.INFO, () -> String.format(DEBUG_MOUNTED_FILE, mountedFile));
+        return true;
+    }
+
+    public List<File> getMountedFiles() {
+        return mountedFiles_.stream()
+                .map(mountedFile -> mountedFile.fileHandler.getSaveFile())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Searches the tasks of the save file and of every mounted file, loading the mounted
+     * files not loaded yet. The results are sorted as one list.
+     */
     public List<Task> search(String description, Date startDate, Date endDate, boolean showDone) {
         assert(description != null || startDate != null && endDate != null);
+        loadMountedFiles();
         List<Task> results = getTasks();
         if (description != null) {
             results = results.stream()
@@ -184,7 +426,7 @@ public class TaskEngine {
     }
 
     public List<Task> getOutstandingTasks() {
-        List<Task> outstandingTasks = getTasks().stream()
+        List<Task> outstandingTasks = getOwnTasks().stream()
                 .filter(task -> !task.isDone())
                 .collect(Collectors.toList());
         currentView_ = new TaskState(outstandingTasks);
@@ -192,7 +434,7 @@ public class TaskEngine {
     }
 
     public List<Task> getCompletedTasks() {
-        List<Task> completedTasks = getTasks().stream()
+        List<Task> completedTasks = getOwnTasks().stream()
                 .filter(task -> task.isDone())
                 .collect(Collectors.toList());
         currentView_ = new TaskState(completedTasks);
@@ -200,7 +442,11 @@ public class TaskEngine {
     }
 
     public List<Task> getAllTasks() {
-        currentView_ = currentState_;
+        if (mountedTaskOwners_.isEmpty()) {
+            currentView_ = currentState_;
+        } else {
+            currentView_ = new TaskState(getOwnTasks());
+        }
         return currentView_.getTasks();
     }
 
@@ -220,6 +466,13 @@ public class TaskEngine {
         loadState(fileHandler.loadTaskState());
         currentView_ = currentState_;
         Collections.sort(getTasks());
+        initMountedFiles();
+    }
+
+    private void initMountedFiles() {
+        for (File mountedFile : fileHandler.getMountedFiles()) {
+            mount(new FileHandler(mountedFile));
+        }
     }
 
     // ================================================================================
@@ -227,11 +480,17 @@ public class TaskEngine {
     // ================================================================================
 
     private void backupOlderState() {
+        version_++;
+        tasksByIdInBatch_ = null; // About to be changed by the operation
+        if (isBatchMode_) {
+            return; // Backed up once when the batch was started
+        }
         previousState_ = getBackupOfCurrentState();
         isPreviousOperationSet_ = false;
     }
 
     private void restoreOlderState() {
+        version_++;
         loadState(previousState_);
     }
 
@@ -239,8 +498,110 @@ public class TaskEngine {
         currentState_ = state;
     }
 
+    /**
+     * Writes the current state to file, unless it has not changed since it was last
+     * loaded or written. A change which leaves the tasks as they were, e.g. marking a
+     * task done and undoing it, is still written by FileHandler only if its contents
+     * differ from what it last wrote.
+     */
     private boolean writeStateToFile() {
-        return fileHandler.saveTaskState(getCurrentState());
+        if (isBatchMode_) {
+            return true; // Written once when the batch ends
+        }
+        if (version_ == savedVersion_) {
+            Metrics.record(Metrics.FILE_SAVE_SKIPPED, 0);
+            return true;
+        }
+
+        long version = version_;
+        boolean isSuccess = writeTasksToFiles();
+        if (isSuccess) {
+            savedVersion_ = version;
+        }
+        return isSuccess;
+    }
+
+    private boolean writeTasksToFiles() {
+        if (mountedTaskOwners_.isEmpty()) {
+            return fileHandler.saveTaskState(getCurrentState());
+        }
+
+        Map<MountedFile, List<Task>> mountedTasks = new LinkedHashMap<MountedFile, List<Task>>();
+        List<Task> ownTasks = new ArrayList<Task>();
+        for (MountedFile mountedFile : mountedFiles_) {
+            if (mountedFile.isLoaded()) {
+                mountedTasks.put(mountedFile, new ArrayList<Task>());
+            }
+        }
+        for (Task task : getCurrentState().getTasks()) {
+            MountedFile owner = mountedTaskOwners_.get(task.getId());
+            if (owner == null) {
+                ownTasks.add(task);
+            } else {
+                mountedTasks.get(owner).add(task);
+            }
+        }
+
+        boolean isSuccess = fileHandler.saveTaskState(new TaskState(ownTasks));
+        for (Map.Entry<MountedFile, List<Task>> entry : mountedTasks.entrySet()) {
+            isSuccess &= entry.getKey().saveIfChanged(entry.getValue());
+        }
+        return isSuccess;
+    }
+
+    /**
+     * Loads every mounted file not loaded yet into the current state. The tasks are added
+     * to the state undo goes back to as well, so that undoing does not unload them. No
+     * batch can be running, as search is not allowed in one.
+     *
+     * <p>Tasks whose ids are already in use, e.g. when a copy of the save file is mounted,
+     * are given new ids, as the file each task is saved to is found by its id.
+     */
+    private void loadMountedFiles() {
+        Set<UUID> usedIds = getTasks().stream().map(Task::getId).collect(Collectors.toSet());
+        if (previousState_ != null) {
+            previousState_.getTasks().forEach(task -> usedIds.add(task.getId()));
+        }
+
+        boolean hasLoaded = false;
+        for (MountedFile mountedFile : mountedFiles_) {
+            if (mountedFile.isLoaded()) {
+                continue;
+            }
+
+            List<Task> tasks = mountedFile.load(usedIds);
+            for (Task task : tasks) {
+                mountedTaskOwners_.put(task.getId(), mountedFile);
+            }
+            getTasks().addAll(tasks);
+            if (previousState_ != null && previousState_ != currentState_) {
+                previousState_.getTasks().addAll(tasks);
+                Collections.sort(previousState_.getTasks());
+            }
+            hasLoaded = true;
+        }
+
+        if (hasLoaded) {
+            Collections.sort(getTasks());
+        }
+    }
+
+    private void recordReplacement(UUID taskId, Task newTask) {
+        if (isBatchMode_) {
+            replacedIdsInBatch_.put(taskId, newTask.getId());
+        }
+    }
+
+    private boolean isSameFile(File file, File otherFile) {
+        return file.getAbsoluteFile().toPath().normalize().equals(otherFile.getAbsoluteFile().toPath().normalize());
+    }
+
+    // Edited tasks get a new id, but stay in the file of the task they replace
+    private void transferOwner(UUID taskId, Task newTask) {
+        MountedFile owner = mountedTaskOwners_.get(taskId);
+        if (owner != null) {
+            mountedTaskOwners_.put(newTask.getId(), owner);
+        }
     }
 
     private TaskState getBackupOfCurrentState() {
@@ -269,4 +630,95 @@ public class TaskEngine {
         return currentState_.getTasks();
     }
 
+    /**
+     * @return the tasks of the save file, without those of the mounted files
+     */
+    private List<Task> getOwnTasks() {
+        if (mountedTaskOwners_.isEmpty()) {
+            return getTasks();
+        }
+        return getTasks().stream()
+                .filter(task -> !mountedTaskOwners_.containsKey(task.getId()))
+                .collect(Collectors.toList());
+    }
+
+    // ================================================================================
+    // MountedFile class
+    // ================================================================================
+
+    /**
+     * A save file mounted alongside the save file, with the tasks last loaded from or
+     * saved to it, so that it is only written to when those tasks change.
+     */
+    private static class MountedFile {
+
+        private FileHandler fileHandler;
+        private List<Task> savedTasks = null;
+
+        private MountedFile(FileHandler fileHandler) {
+            this.fileHandler = fileHandler;
+        }
+
+        private boolean isLoaded() {
+            return savedTasks != null;
+        }
+
+        /**
+         * @param usedIds   ids already in use; tasks with one of them get a new id, and
+         *                  the ids of the tasks loaded are added to them
+         * @return the tasks in the file, sorted as they would be in the current state
+         */
+        private List<Task> load(Set<UUID> usedIds) {
+            List<Task> tasks = fileHandler.loadTaskState().getTasks();
+            int renewedCount = 0;
+            for (int i = 0; i < tasks.size(); i++) {
+                if (!usedIds.add(tasks.get(i).getId())) {
+                    tasks.set(i, Task.copyWithNewId(tasks.get(i)));
+                    usedIds.add(tasks.get(i).getId());
+                    renewedCount++;
+                }
+            }
+            if (renewedCount > 0) {
+                logger.log(Level.WARNING, String.format(DEBUG_RENEWED_IDS, renewedCount, fileHandler.getSaveFile()));
+            }
+
+            Collections.sort(tasks);
+            savedTasks = new ArrayList<Task>(tasks);
+
+            logger.log(Level.INFO, () -> String.format(DEBUG_LOADED_MOUNTED_FILE, tasks.size(),
+                                                       fileHandler.getSaveFile()));
+            return tasks;
+        }
+
+        /**
+         * Writes the tasks to the file, unless they are the very same tasks as were
+         * last loaded or saved. Every change makes a new Task, so comparing
+         * references is enough.
+         */
+        private boolean saveIfChanged(List<Task> tasks) {
+            if (isSameTasks(tasks)) {
+                return true;
+            }
+            if (!fileHandler.saveTaskState(new TaskState(new ArrayList<Task>(tasks)))) {
+                return false;
+            }
+            savedTasks = new ArrayList<Task>(tasks);
+
+            logger.log(Level.INFO, () -> String.format(DEBUG_SAVED_MOUNTED_FILE, tasks.size(),
+                                                       fileHandler.getSaveFile()));
+            return true;
+        }
+
+        private boolean isSameTasks(List<Task> tasks) {
+            if (tasks.size() != savedTasks.size()) {
+                return false;
+            }
+            for (int i = 0; i < tasks.size(); i++) {
+                if (tasks.get(i) != savedTasks.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
\ No newline at end of file
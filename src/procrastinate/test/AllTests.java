@@ -6,10 +6,17 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({
+    DatePhraseCacheTest.class,
     FileHandlerTest.class,
+    LogBufferTest.class,
     LogicTest.class,
+    MetricsTest.class,
     ParserTest.class,
-    UITest.class
+    SaveSkipTest.class,
+    SessionRecorderTest.class,
+    StartupBudgetTest.class,
+    UITest.class,
+    WorkspaceTest.class
     })
 public class AllTests {
 
@@ -0,0 +1,131 @@
+//@@author A0080485B
+package procrastinate.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.joestelmach.natty.DateGroup;
+
+import procrastinate.DatePhraseCache;
+
+public class DatePhraseCacheTest {
+
+    private static final com.joestelmach.natty.Parser dateParser = new com.joestelmach.natty.Parser();
+
+    private DatePhraseCache cache;
+    private Path cacheFile;
+
+    @Before
+    public void setup() throws IOException {
+        cache = new DatePhraseCache();
+        cacheFile = Files.createTempFile("dates", ".cache");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(cacheFile);
+    }
+
+    @Test
+    public void put_PhrasesRelativeToDay_ShouldGiveSameDatesAsNatty() {
+        for (String phrase : Arrays.asList("tomorrow 5pm", "today 2pm to 4pm", "in 3 days", "yesterday", "3pm")) {
+            List<DateGroup> parsed = dateParser.parse(phrase);
+            assertTrue(phrase, cache.put(phrase, parsed));
+
+            DateGroup cached = cache.get(phrase).get(0);
+            assertEquals(phrase, parsed.get(0).getText(), cached.getText());
+            assertEquals(phrase, parsed.get(0).getPosition(), cached.getPosition());
+            assertEquals(phrase, parsed.get(0).isTimeInferred(), cached.isTimeInferred());
+            assertEquals(phrase, getDays(parsed.get(0)), getDays(cached));
+            if (!cached.isTimeInferred()) {
+                assertEquals(phrase, parsed.get(0).getDates(), cached.getDates());
+            }
+        }
+    }
+
+    @Test
+    public void put_PhrasesNotRelativeToDay_ShouldNotBeCached() {
+        for (String phrase : Arrays.asList("next monday", "friday 2pm", "1 jan", "next week", "in 3 hours")) {
+            assertTrue(phrase, !cache.put(phrase, dateParser.parse(phrase)));
+            assertTrue(phrase, cache.get(phrase) == null);
+        }
+    }
+
+    @Test
+    public void put_PhraseWithoutDates_ShouldNotBeCached() {
+        assertTrue(!cache.put("bar", dateParser.parse("bar")));
+        assertNull(cache.get("bar"));
+    }
+
+    @Test
+    public void put_PhrasesTypedCharacterByCharacter_ShouldNotEvictCachedPhrase() {
+        DatePhraseCache smallCache = new DatePhraseCache(1);
+        smallCache.put("tomorrow", dateParser.parse("tomorrow"));
+
+        for (String phrase : Arrays.asList("next monday 5pm", "the bus stop")) {
+            for (int i = 1; i <= phrase.length(); i++) {
+                String typed = phrase.substring(0, i);
+                smallCache.put(typed, dateParser.parse(typed));
+            }
+        }
+
+        assertTrue(smallCache.get("tomorrow") != null);
+    }
+
+    @Test
+    public void load_CachedOnEarlierDay_ShouldStayRelativeToToday() throws IOException {
+        Files.write(cacheFile, Arrays.asList("tomorrow\t1\ttrue\ttomorrow\t1@0", "invalid line", "bar\tnone"),
+                    StandardCharsets.UTF_8);
+        cache.load(cacheFile);
+
+        assertEquals(1, cache.size());
+        assertEquals(Arrays.asList(LocalDate.now().plusDays(1)), getDays(cache.get("tomorrow").get(0)));
+    }
+
+    @Test
+    public void saveAndLoad_ShouldKeepCachedPhrases() {
+        cache.put("today 5pm", dateParser.parse("today 5pm"));
+        cache.put("in 3 days", dateParser.parse("in 3 days"));
+        assertTrue(cache.save(cacheFile));
+
+        DatePhraseCache loadedCache = new DatePhraseCache();
+        loadedCache.load(cacheFile);
+
+        assertEquals(2, loadedCache.size());
+        assertEquals(cache.get("today 5pm").get(0).getDates(), loadedCache.get("today 5pm").get(0).getDates());
+        assertEquals(cache.get("in 3 days").get(0).getDates().size(), loadedCache.get("in 3 days").get(0).getDates().size());
+    }
+
+    @Test
+    public void put_OverCapacity_ShouldDropLeastRecentlyUsed() {
+        DatePhraseCache smallCache = new DatePhraseCache(2);
+        smallCache.put("today", dateParser.parse("today"));
+        smallCache.put("tomorrow", dateParser.parse("tomorrow"));
+        smallCache.get("today");
+        smallCache.put("yesterday", dateParser.parse("yesterday"));
+
+        assertEquals(2, smallCache.size());
+        assertNull(smallCache.get("tomorrow"));
+        assertTrue(smallCache.get("today") != null);
+    }
+
+    private List<LocalDate> getDays(DateGroup dateGroup) {
+        return Arrays.asList(dateGroup.getDates().stream()
+                                      .map(date -> date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate())
+                                      .toArray(LocalDate[]::new));
+    }
+}
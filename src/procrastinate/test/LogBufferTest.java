@@ -0,0 +1,81 @@
+//@@author A0080485B
+package procrastinate.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import procrastinate.LogBuffer;
+
+public class LogBufferTest {
+
+    private Logger logger = Logger.getLogger(LogBufferTest.class.getName());
+
+    private Path dumpPath;
+    private LogBuffer logBuffer;
+
+    @Before
+    public void setup() throws IOException {
+        dumpPath = Files.createTempFile("procrastinate", ".log");
+        Files.delete(dumpPath);
+
+        logBuffer = new LogBuffer(3, dumpPath);
+        logger.addHandler(logBuffer);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        logger.removeHandler(logBuffer);
+        Files.deleteIfExists(dumpPath);
+    }
+
+    @Test
+    public void publish_WhenFull_ShouldKeepMostRecentRecords() {
+        for (int i = 1; i <= 5; i++) {
+            logger.log(Level.INFO, "record " + i);
+        }
+
+        List<LogRecord> records = logBuffer.getRecords();
+        assertEquals(3, records.size());
+        assertEquals("record 3", records.get(0).getMessage());
+        assertEquals("record 5", records.get(2).getMessage());
+        assertFalse(Files.exists(dumpPath));
+    }
+
+    @Test
+    public void publish_Severe_ShouldDumpRecordsLeadingUpToIt() throws IOException {
+        logger.log(Level.INFO, "before the error");
+        logger.log(Level.SEVERE, "the error");
+
+        String dump = new String(Files.readAllBytes(dumpPath), StandardCharsets.UTF_8);
+        assertTrue(dump.contains("before the error"));
+        assertTrue(dump.contains("the error"));
+    }
+
+    @Test
+    public void log_BelowLoggerLevel_ShouldNotBuildMessage() {
+        logger.setLevel(Level.INFO);
+        try {
+            logger.log(Level.FINE, () -> {
+                throw new AssertionError("Message should not be built");
+            });
+        } finally {
+            logger.setLevel(null);
+        }
+
+        assertTrue(logBuffer.getRecords().isEmpty());
+    }
+}
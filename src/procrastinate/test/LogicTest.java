@@ -2,22 +2,29 @@
 package procrastinate.test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import procrastinate.HeadlessRunner;
+import procrastinate.HeadlessUserInterface;
 import procrastinate.Logic;
 import procrastinate.task.Deadline;
 import procrastinate.task.Dream;
 import procrastinate.task.Event;
 import procrastinate.task.Task;
+import procrastinate.ui.UI.ScreenView;
 
 public class LogicTest {
 
@@ -172,6 +179,133 @@ public class LogicTest {
         assertEquals(expected, getResults());
     }
 
+    @Test
+    public void batchTest() {
+        execute("a && b && c && d");
+        List<Task> expected = new ArrayList<Task>();
+        expected.add(new Dream("a"));
+        expected.add(new Dream("b"));
+        expected.add(new Dream("c"));
+        expected.add(new Dream("d"));
+        assertEquals(expected, getResults());
+
+        // line numbers refer to the list shown before the batch
+        execute("done 1 && delete 3");
+        expected.remove(2);
+        expected.remove(0);
+        assertEquals(expected, getResults());
+
+        // nothing is applied if any command fails
+        assertEquals(execute("delete 1 && delete 1"), "Invalid line number: 1");
+        assertEquals(execute("delete 1 && done 5"), "Invalid line number: 5");
+        assertEquals(expected, getResults());
+
+        // a batch is undone as a whole
+        execute("undo");
+        expected.add(0, new Dream("a"));
+        expected.add(2, new Dream("c"));
+        assertEquals(expected, getResults());
+    }
+
+    @Test
+    public void batch_SameTaskTwice_ShouldApplyToTaskAsLeftByEarlierCommand() {
+        execute("buy milk");
+        execute("wash car");
+
+        assertEquals("2 commands: Done dream: buy milk; Edited #1: buy oat milk",
+                     execute("done 1 && edit 1 buy oat milk"));
+        execute("show all");
+        Task expectedTask = new Dream("buy oat milk");
+        expectedTask.setDone(true);
+        assertTrue(getResults().contains(expectedTask));
+
+        execute("undo");
+        assertEquals("2 commands: Done dream: buy milk; Undone dream: buy milk", execute("done 1 && done 1"));
+        List<Task> expected = new ArrayList<Task>();
+        expected.add(new Dream("buy milk"));
+        expected.add(new Dream("wash car"));
+        assertEquals(expected, getResults());
+
+        execute("edit 2 clean car && done 2");
+        execute("show all");
+        expectedTask = new Dream("clean car");
+        expectedTask.setDone(true);
+        assertTrue(getResults().contains(expectedTask));
+    }
+
+    @Test
+    public void importTest() throws IOException, ParseException {
+        File textFile = File.createTempFile("import", ".txt");
+        textFile.deleteOnExit();
+        Files.write(textFile.toPath(), Arrays.asList("dream", "", "deadline due 10/13/17 0", "done 1",
+                                                     "event from 10/15/17 to 10/14/17 0"));
+
+        assertEquals(preview("import " + textFile.getPath()), "Import tasks from " + textFile.getAbsolutePath());
+        assertTrue(execute("import " + textFile.getPath()).endsWith("could not import line(s) 4, 5"));
+        List<Task> expected = new ArrayList<Task>();
+        expected.add(new Deadline("deadline", sdf.parse("10/13/17")));
+        expected.add(new Dream("dream"));
+        assertEquals(expected, getResults());
+
+        // imported as a single operation
+        execute("undo");
+        assertEquals(new ArrayList<Task>(), getResults());
+
+        File csvFile = File.createTempFile("import", ".csv");
+        csvFile.deleteOnExit();
+        Files.write(csvFile.toPath(), Arrays.asList("\"done, due\",10/13/17 0", "event,10/14/17,10/15/17 0"));
+
+        assertTrue(execute("import \"" + csvFile.getPath() + "\"").startsWith("Imported 2 task(s)"));
+        expected.clear();
+        expected.add(new Deadline("done, due", sdf.parse("10/13/17")));
+        expected.add(new Event("event", sdf.parse("10/14/17"), sdf.parse("10/15/17")));
+        assertEquals(expected, getResults());
+
+        assertEquals(execute("import " + textFile.getPath() + ".missing"),
+                     "Could not read " + textFile.getName() + ".missing");
+    }
+
+    @Test
+    public void multipleLineNumbersTest() throws ParseException {
+        execute("a");
+        execute("b");
+        execute("c due 10/13/17 0");
+        execute("d");
+        execute("e");
+
+        assertEquals(execute("done 1,6"), "Invalid line number: 6");
+
+        // c, a, b, d, e
+        assertEquals(execute("done 2-3"), "Done 2 tasks: a, b");
+        List<Task> expected = new ArrayList<Task>();
+        expected.add(new Deadline("c", sdf.parse("10/13/17")));
+        expected.add(new Dream("d"));
+        expected.add(new Dream("e"));
+        assertEquals(expected, getResults());
+
+        execute("edit 1 eventually");
+        execute("delete 3,1");
+        expected.clear();
+        expected.add(new Dream("d"));
+        assertEquals(expected, getResults());
+
+        // a multi-target command is undone as a whole
+        execute("undo");
+        execute("show all");
+        execute("edit 3,1 eventually");
+        execute("done 1-5");
+        expected.clear();
+        expected.add(new Dream("a"));
+        expected.add(new Dream("b"));
+        expected.add(new Dream("c"));
+        expected.add(new Dream("d"));
+        expected.add(new Dream("e"));
+        expected.get(2).setDone(true);
+        expected.get(3).setDone(true);
+        expected.get(4).setDone(true);
+        assertEquals(expected, getResults());
+    }
+
     @Test
     public void showTest() {
         execute("a");
@@ -388,6 +522,23 @@ public class LogicTest {
         assertEquals(expected, getResults());
     }
 
+    @Test
+    public void headlessLogic_ShouldRunCommandsOnHeadlessUserInterface() throws IOException, ParseException {
+        HeadlessUserInterface headlessUi = new HeadlessUserInterface();
+        Logic headlessLogic = new Logic(headlessUi, new TaskEngineUnit());
+
+        assertEquals("New deadline: a due 2/01/14 12:00AM", HeadlessRunner.run(headlessLogic, "a due 1/2/14 12:00am"));
+        HeadlessRunner.run(headlessLogic, "b");
+        HeadlessRunner.run(headlessLogic, "show all");
+
+        List<Task> expected = new ArrayList<Task>();
+        expected.add(new Deadline("a", sdf.parse("1/2/14")));
+        expected.add(new Dream("b"));
+
+        assertEquals(expected, headlessUi.getTaskList());
+        assertEquals(ScreenView.SCREEN_MAIN_ALL, headlessUi.getScreenView());
+    }
+
     private String execute(String userCommand) {
         logic.previewCommand(userCommand);
         return logic.executeLastPreviewedCommand();
@@ -0,0 +1,114 @@
+//@@author A0080485B
+package procrastinate.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import procrastinate.Metrics;
+import procrastinate.Metrics.Timing;
+
+public class MetricsTest {
+
+    @Before
+    public void setup() {
+        Metrics.reset();
+    }
+
+    @After
+    public void tearDown() {
+        Metrics.setAllocationTracked(false);
+    }
+
+    @Test
+    public void record_ShouldKeepCountLastMeanAndMax() {
+        Metrics.record(Metrics.PARSE, 3000000);
+        Metrics.record(Metrics.PARSE, 1000000);
+
+        Timing timing = Metrics.getTiming(Metrics.PARSE);
+        assertEquals(2, timing.getCount());
+        assertEquals(1000000, timing.getLastNanos());
+        assertEquals(2000000, timing.getMeanNanos(), 0);
+        assertEquals(3000000, timing.getMaxNanos());
+        assertNull(Metrics.getTiming(Metrics.FILE_SAVE));
+    }
+
+    @Test
+    public void time_ShouldRecordEvenIfSupplierThrows() {
+        assertEquals("parsed", Metrics.time(Metrics.PARSE, () -> "parsed"));
+
+        try {
+            Metrics.time(Metrics.COMMAND_RUN, () -> {
+                throw new IllegalStateException();
+            });
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+
+        assertEquals(1, Metrics.getTiming(Metrics.PARSE).getCount());
+        assertEquals(1, Metrics.getTiming(Metrics.COMMAND_RUN).getCount());
+    }
+
+    @Test
+    public void dumpToFile_ShouldWriteEachTiming() throws IOException {
+        Metrics.record(Metrics.PARSE, 1000000);
+        Metrics.record(Metrics.FILE_SAVE, 2000000);
+
+        Path dumpPath = Files.createTempFile("metrics", ".txt");
+        try {
+            Metrics.dumpToFile(dumpPath);
+            String dump = new String(Files.readAllBytes(dumpPath), StandardCharsets.UTF_8);
+
+            assertTrue(dump.contains(Metrics.PARSE));
+            assertTrue(dump.contains(Metrics.FILE_SAVE));
+        } finally {
+            Files.delete(dumpPath);
+        }
+    }
+
+    @Test
+    public void record_WithAllocation_ShouldKeepLastMeanAndMaxAllocated() {
+        Metrics.record(Metrics.PARSE, 1000000, 4096);
+        Metrics.record(Metrics.PARSE, 1000000, Metrics.ALLOCATION_NOT_TRACKED);
+        Metrics.record(Metrics.PARSE, 1000000, 2048);
+
+        Timing timing = Metrics.getTiming(Metrics.PARSE);
+        assertEquals(3, timing.getCount());
+        assertEquals(2, timing.getAllocationCount());
+        assertEquals(2048, timing.getLastAllocatedBytes());
+        assertEquals(3072, timing.getMeanAllocatedBytes(), 0);
+        assertEquals(4096, timing.getMaxAllocatedBytes());
+        assertTrue(Metrics.getSummary().contains("Mean KB"));
+    }
+
+    @Test
+    public void time_WithoutAllocationTracked_ShouldNotRecordAllocation() {
+        Metrics.setAllocationTracked(false);
+        Metrics.time(Metrics.PARSE, () -> new int[1024]);
+
+        assertEquals(Metrics.ALLOCATION_NOT_TRACKED, Metrics.getAllocatedBytes());
+        assertFalse(Metrics.getTiming(Metrics.PARSE).hasAllocations());
+        assertFalse(Metrics.getSummary().contains("Mean KB"));
+    }
+
+    @Test
+    public void time_WithAllocationTracked_ShouldRecordBytesAllocated() {
+        // Not every JVM can count the bytes allocated by a thread
+        if (!Metrics.setAllocationTracked(true)) {
+            return;
+        }
+        Metrics.time(Metrics.PARSE, () -> new long[1024]);
+
+        assertTrue(Metrics.getTiming(Metrics.PARSE).getLastAllocatedBytes() >= 1024 * 8);
+    }
+}
@@ -3,12 +3,16 @@ package procrastinate.test;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.Arrays;
+
 import org.junit.Test;
 
 import procrastinate.Parser;
 import procrastinate.command.Command;
 import procrastinate.command.Command.CommandType;
 import procrastinate.command.Add;
+import procrastinate.command.Batch;
+import procrastinate.command.CrudCmd;
 import procrastinate.command.Edit;
 import procrastinate.command.Invalid;
 import procrastinate.command.SetPath;
@@ -91,6 +95,16 @@ public class ParserTest {
         resultCommand = Parser.parse("something important on tomorrow");
         assertEquals(CommandType.ADD_DEADLINE, resultCommand.getType());
         assertEquals("something important", ((Add)resultCommand).getDescription());
+
+        /* Add deadline with "edit" as a keyword and no line number */
+        resultCommand = Parser.parse("edit essay due tomorrow");
+        assertEquals(CommandType.ADD_DEADLINE, resultCommand.getType());
+        assertEquals("edit essay", ((Add)resultCommand).getDescription());
+
+        /* Add deadline with only dates and no description */
+        resultCommand = Parser.parse("due tomorrow");
+        assertEquals(CommandType.INVALID, resultCommand.getType());
+        assertEquals(MESSAGE_INVALID_NO_DESCRIPTION, ((Invalid)resultCommand).getDescription());
     }
 
     @Test
@@ -129,6 +143,39 @@ public class ParserTest {
         assertEquals(MESSAGE_INVALID_LINE_NUMBER, ((Invalid)resultCommand).getDescription());
     }
 
+    @Test
+    public void multipleLineNumbersTest() {
+        /* Done with a range*/
+        Command resultCommand = Parser.parse("done 1-20");
+        assertEquals(CommandType.DONE, resultCommand.getType());
+        assertEquals(20, ((CrudCmd)resultCommand).getLineNumbers().size());
+        assertEquals(1, resultCommand.getLineNumber());
+
+        /* Delete with a list and a range, dropping duplicates*/
+        resultCommand = Parser.parse("delete 9,3-5,3");
+        assertEquals(CommandType.DELETE, resultCommand.getType());
+        assertEquals(Arrays.asList(9, 3, 4, 5), ((CrudCmd)resultCommand).getLineNumbers());
+
+        /* Edit multiple to dreams*/
+        resultCommand = Parser.parse("edit 3,5 eventually");
+        assertEquals(CommandType.EDIT, resultCommand.getType());
+        assertEquals(Arrays.asList(3, 5), ((CrudCmd)resultCommand).getLineNumbers());
+
+        /* Edit multiple with a description*/
+        resultCommand = Parser.parse("edit 3,5 something");
+        assertEquals(CommandType.ADD_DREAM, resultCommand.getType());
+
+        /* Range that is too large*/
+        resultCommand = Parser.parse("done 1-100000");
+        assertEquals(CommandType.INVALID, resultCommand.getType());
+        assertEquals(MESSAGE_INVALID_LINE_NUMBER, ((Invalid)resultCommand).getDescription());
+
+        /* Not line numbers*/
+        resultCommand = Parser.parse("done 1-2-3");
+        assertEquals(CommandType.ADD_DREAM, resultCommand.getType());
+        assertEquals("done 1-2-3", ((Add)resultCommand).getDescription());
+    }
+
     @Test
     public void undoTest() {
         /* Undo in a standard format*/
@@ -248,6 +295,41 @@ public class ParserTest {
         assertEquals("set\"something else\" \"too\" more words",((Add)resultCommand).getDescription());
     }
 
+    @Test
+    public void batchTest() {
+        /* Batch in a standard format*/
+        Command resultCommand = Parser.parse("done 3 && done 5 && delete 7");
+        assertEquals(CommandType.BATCH, resultCommand.getType());
+        assertEquals(3, ((Batch)resultCommand).getCommands().size());
+        assertEquals(CommandType.DONE, ((Batch)resultCommand).getCommands().get(0).getType());
+        assertEquals(5, ((Batch)resultCommand).getCommands().get(1).getLineNumber());
+        assertEquals(CommandType.DELETE, ((Batch)resultCommand).getCommands().get(2).getType());
+
+        /* Batch with adds*/
+        resultCommand = Parser.parse("buy milk&&essay due tomorrow");
+        assertEquals(CommandType.BATCH, resultCommand.getType());
+        assertEquals("buy milk", ((Add)((Batch)resultCommand).getCommands().get(0)).getDescription());
+        assertEquals(CommandType.ADD_DEADLINE, ((Batch)resultCommand).getCommands().get(1).getType());
+
+        /* Batch with a trailing separator*/
+        resultCommand = Parser.parse("done 3 && ");
+        assertEquals(CommandType.DONE, resultCommand.getType());
+
+        /* Batch with an invalid command*/
+        resultCommand = Parser.parse("done 3 && delete");
+        assertEquals(CommandType.INVALID, resultCommand.getType());
+        assertEquals(MESSAGE_INVALID_LINE_NUMBER, ((Invalid)resultCommand).getDescription());
+
+        /* Batch with a command that cannot be stacked*/
+        resultCommand = Parser.parse("done 3 && undo");
+        assertEquals(CommandType.INVALID, resultCommand.getType());
+
+        /* Escaped separator*/
+        resultCommand = Parser.parse("salt \\&& pepper");
+        assertEquals(CommandType.ADD_DREAM, resultCommand.getType());
+        assertEquals("salt && pepper", ((Add)resultCommand).getDescription());
+    }
+
     @Test
     public void escapeCharacterTest() {
         /* Escape on keywords*/
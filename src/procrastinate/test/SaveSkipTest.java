@@ -0,0 +1,108 @@
+//@@author A0080485B
+package procrastinate.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import procrastinate.FileHandler;
+import procrastinate.Metrics;
+import procrastinate.Metrics.Timing;
+import procrastinate.task.Dream;
+import procrastinate.task.Task;
+import procrastinate.task.TaskEngine;
+import procrastinate.task.TaskState;
+
+public class SaveSkipTest {
+
+    private File saveFile;
+    private TaskEngine taskEngine;
+
+    @Before
+    public void setup() throws IOException {
+        saveFile = Files.createTempFile("storage", ".json").toFile();
+        List<Task> tasks = new ArrayList<Task>();
+        tasks.add(new Dream("buy milk"));
+        new FileHandler(saveFile).saveTaskState(new TaskState(tasks));
+
+        taskEngine = new TaskEngine(new FileHandler(saveFile));
+        Metrics.reset();
+    }
+
+    @After
+    public void tearDown() {
+        saveFile.delete();
+    }
+
+    @Test
+    public void save_Unchanged_ShouldSkipWrite() {
+        long lastModified = saveFile.lastModified();
+
+        assertTrue(taskEngine.save());
+
+        assertEquals(0, getCount(Metrics.FILE_SAVE));
+        assertEquals(1, getCount(Metrics.FILE_SAVE_SKIPPED));
+        assertEquals(lastModified, saveFile.lastModified());
+    }
+
+    @Test
+    public void save_AfterAdd_ShouldWriteOnce() {
+        assertTrue(taskEngine.add(new Dream("water plants")));
+        assertTrue(taskEngine.save());
+
+        assertEquals(1, getCount(Metrics.FILE_SAVE));
+        assertEquals(1, getCount(Metrics.FILE_SAVE_SKIPPED));
+        assertEquals(2, new FileHandler(saveFile).loadTaskState().getTasks().size());
+    }
+
+    @Test
+    public void edit_ToSameTask_ShouldKeepTaskAndSkipSecondWrite() {
+        assertTrue(taskEngine.add(new Dream("water plants")));
+        Task task = taskEngine.getAllTasks().get(0);
+
+        assertTrue(taskEngine.edit(task.getId(), new Dream(task.getDescription())));
+
+        assertTrue(taskEngine.hasTask(task.getId()));
+        assertEquals(1, getCount(Metrics.FILE_SAVE));
+        assertEquals(1, getCount(Metrics.FILE_SAVE_SKIPPED));
+    }
+
+    @Test
+    public void edit_ToSameTaskRightAfterLoad_ShouldSkipWrite() {
+        long lastModified = saveFile.lastModified();
+        Task task = taskEngine.getAllTasks().get(0);
+
+        assertTrue(taskEngine.edit(task.getId(), new Dream(task.getDescription())));
+
+        assertEquals(0, getCount(Metrics.FILE_SAVE));
+        assertEquals(1, getCount(Metrics.FILE_SAVE_SKIPPED));
+        assertEquals(lastModified, saveFile.lastModified());
+    }
+
+    @Test
+    public void doneAndUndo_ShouldWriteBothAndSkipExit() {
+        Task task = taskEngine.getAllTasks().get(0);
+
+        assertTrue(taskEngine.done(task.getId()));
+        assertTrue(taskEngine.undo());
+        assertTrue(taskEngine.save());
+
+        assertEquals(2, getCount(Metrics.FILE_SAVE));
+        assertEquals(1, getCount(Metrics.FILE_SAVE_SKIPPED));
+        assertTrue(!new FileHandler(saveFile).loadTaskState().getTasks().get(0).isDone());
+    }
+
+    private long getCount(String name) {
+        Timing timing = Metrics.getTiming(name);
+        return (timing == null) ? 0 : timing.getCount();
+    }
+}
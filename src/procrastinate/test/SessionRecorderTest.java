@@ -0,0 +1,70 @@
+//@@author A0080485B
+package procrastinate.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import procrastinate.SessionRecorder;
+import procrastinate.SessionRecorder.Entry;
+
+public class SessionRecorderTest {
+
+    @Test
+    public void entry_ShouldBeTheSameAfterFormattingAndParsing() {
+        Entry preview = Entry.parse(new Entry(1500, false, "salt \\&& pepper\tdue\ntomorrow").format());
+        assertEquals(1500, preview.getElapsedMillis());
+        assertEquals("salt \\&& pepper\tdue\ntomorrow", preview.getInput());
+
+        Entry execute = Entry.parse(new Entry(2100, true, null).format());
+        assertTrue(execute.isExecute());
+        assertNull(execute.getInput());
+
+        assertNull(Entry.parse(SessionRecorder.ENTRY_COMMENT + " comment"));
+    }
+
+    @Test
+    public void recorder_ShouldAppendPreviewsAndExecutions() throws IOException {
+        Path sessionLog = Files.createTempFile("session", ".log");
+        try {
+            SessionRecorder sessionRecorder = new SessionRecorder(sessionLog);
+            sessionRecorder.recordPreview("b");
+            sessionRecorder.recordPreview("buy milk");
+            sessionRecorder.recordExecute();
+
+            List<String> lines = Files.readAllLines(sessionLog, StandardCharsets.UTF_8);
+            assertEquals(3, lines.size());
+            assertEquals("buy milk", Entry.parse(lines.get(1)).getInput());
+            assertTrue(Entry.parse(lines.get(2)).isExecute());
+        } finally {
+            Files.delete(sessionLog);
+        }
+    }
+
+    @Test
+    public void replay_ShouldTimeEveryPreviewAndExecution() {
+        List<Entry> session = SyntheticSession.generate(20);
+        long numExecutions = session.stream().filter(Entry::isExecute).count();
+
+        Map<String, List<Long>> latencies = SessionReplay.replay(session);
+        assertEquals(session.size() - numExecutions, latencies.get("preview").size());
+        assertEquals(numExecutions, latencies.get("execute").size());
+    }
+
+    @Test
+    public void percentile_ShouldUseNearestRank() {
+        long[] sortedLatencies = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 };
+        assertEquals(5, SessionReplay.getPercentile(sortedLatencies, 50));
+        assertEquals(9, SessionReplay.getPercentile(sortedLatencies, 90));
+        assertEquals(10, SessionReplay.getPercentile(sortedLatencies, 99));
+    }
+}
@@ -0,0 +1,195 @@
+//@@author A0080485B
+package procrastinate.test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import procrastinate.Metrics;
+import procrastinate.SessionRecorder;
+import procrastinate.SessionRecorder.Entry;
+import procrastinate.command.Command.CommandType;
+
+/**
+ * Replays a session recorded by SessionRecorder at full speed, without a UI or a save
+ * file, and reports the latency percentiles of previewing and executing each type of
+ * command. Run it on two builds with the same session to compare them.
+ *
+ * Run it as a Java application with either:
+ * <li>     the path of a session log, recorded by running Procrastinate with
+ *          -Dprocrastinate.session.record=session.log
+ * <li>     --synthetic and the number of commands to generate a session of, which
+ *          is also written to the path given after --save, if any
+ *
+ * The session is replayed --warmup times (1 by default) before it is measured. Exit
+ * commands are previewed but never executed.
+ */
+public class SessionReplay {
+
+    private static final String ARGUMENT_SYNTHETIC = "--synthetic";
+    private static final String ARGUMENT_SAVE = "--save";
+    private static final String ARGUMENT_WARMUP = "--warmup";
+
+    private static final String MESSAGE_USAGE = "Usage: SessionReplay <session log> | " +
+                                                "--synthetic <commands> [--save <session log>] [--warmup <rounds>]";
+    private static final String MESSAGE_REPLAYED = "Replayed %1$d entries in %2$.2f ms";
+    private static final String MESSAGE_HEADER = "%1$-28s %2$7s %3$9s %4$9s %5$9s %6$9s";
+    private static final String MESSAGE_RESULT = "%1$-28s %2$7d %3$9.3f %4$9.3f %5$9.3f %6$9.3f";
+
+    private static final String KEY_PREVIEW = "preview";
+    private static final String KEY_EXECUTE = "execute";
+
+    private static final int DEFAULT_WARMUP_ROUNDS = 1;
+
+    private static final double NANOS_PER_MILLI = 1000000.0;
+
+    // Held on to, as the LogManager only keeps weak references to loggers
+    private static final Logger logger = Logger.getLogger("procrastinate");
+
+    public static void main(String[] args) throws IOException {
+        List<Entry> session = null;
+        String savePath = null;
+        int warmupRounds = DEFAULT_WARMUP_ROUNDS;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals(ARGUMENT_SYNTHETIC)) {
+                    session = SyntheticSession.generate(Integer.parseInt(args[++i]));
+                } else if (args[i].equals(ARGUMENT_SAVE)) {
+                    savePath = args[++i];
+                } else if (args[i].equals(ARGUMENT_WARMUP)) {
+                    warmupRounds = Integer.parseInt(args[++i]);
+                } else {
+                    session = load(args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            session = null;
+        }
+
+        if (session == null) {
+            System.out.println(MESSAGE_USAGE);
+            return;
+        }
+
+        if (savePath != null) {
+            save(session, savePath);
+        }
+
+        // Logic and TaskEngine log every operation, which would be most of what is measured
+        logger.setLevel(Level.WARNING);
+
+        for (int i = 0; i < warmupRounds; i++) {
+            replay(session);
+        }
+
+        Metrics.reset();
+        long startTime = System.nanoTime();
+        Map<String, List<Long>> latencies = replay(session);
+        double totalMillis = (System.nanoTime() - startTime) / NANOS_PER_MILLI;
+
+        System.out.println(String.format(MESSAGE_REPLAYED, session.size(), totalMillis));
+        report(latencies);
+        System.out.println();
+        System.out.println(Metrics.getSummary());
+    }
+
+    /**
+     * Replays the session on a new Logic with no tasks.
+     *
+     * @return the latency in nanoseconds of each preview and execution, under
+     *         both the overall key and the key of the type of command
+     */
+    public static Map<String, List<Long>> replay(List<Entry> session) {
+        LogicUnit logic = new LogicUnit(new UIStub());
+        Map<String, List<Long>> latencies = new LinkedHashMap<String, List<Long>>();
+
+        for (Entry entry : session) {
+            if (entry.isExecute()) {
+                if (!logic.hasLastPreviewedCommand() ||
+                    logic.getLastPreviewedCommandType() == CommandType.EXIT) {
+                    continue;
+                }
+
+                CommandType type = logic.getLastPreviewedCommandType();
+                long startTime = System.nanoTime();
+                logic.executeLastPreviewedCommand();
+                addLatency(latencies, KEY_EXECUTE, type, System.nanoTime() - startTime);
+
+            } else {
+                long startTime = System.nanoTime();
+                logic.previewCommand(entry.getInput());
+                long latency = System.nanoTime() - startTime;
+                addLatency(latencies, KEY_PREVIEW, logic.getLastPreviewedCommandType(), latency);
+            }
+        }
+        return latencies;
+    }
+
+    /**
+     * @param percentile    between 0 and 100
+     * @return              the latency that the given percentage of latencies are at or below
+     */
+    public static long getPercentile(long[] sortedLatencies, double percentile) {
+        assert(sortedLatencies.length > 0);
+        int rank = (int) Math.ceil(percentile / 100 * sortedLatencies.length);
+        return sortedLatencies[Math.max(0, rank - 1)];
+    }
+
+    private static void addLatency(Map<String, List<Long>> latencies, String key, CommandType type, long latency) {
+        getLatencies(latencies, key).add(latency);
+        getLatencies(latencies, key + " " + type).add(latency);
+    }
+
+    private static List<Long> getLatencies(Map<String, List<Long>> latencies, String key) {
+        List<Long> keyLatencies = latencies.get(key);
+        if (keyLatencies == null) {
+            keyLatencies = new ArrayList<Long>();
+            latencies.put(key, keyLatencies);
+        }
+        return keyLatencies;
+    }
+
+    private static void report(Map<String, List<Long>> latencies) {
+        System.out.println(String.format(MESSAGE_HEADER, "Latency (ms)", "Count", "p50", "p90", "p99", "Max"));
+
+        for (Map.Entry<String, List<Long>> keyLatencies : latencies.entrySet()) {
+            long[] sortedLatencies = keyLatencies.getValue().stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sortedLatencies);
+
+            System.out.println(String.format(MESSAGE_RESULT, keyLatencies.getKey(), sortedLatencies.length,
+                                             getPercentile(sortedLatencies, 50) / NANOS_PER_MILLI,
+                                             getPercentile(sortedLatencies, 90) / NANOS_PER_MILLI,
+                                             getPercentile(sortedLatencies, 99) / NANOS_PER_MILLI,
+                                             sortedLatencies[sortedLatencies.length - 1] / NANOS_PER_MILLI));
+        }
+    }
+
+    private static List<Entry> load(String sessionLog) throws IOException {
+        List<Entry> session = new ArrayList<Entry>();
+        for (String line : Files.readAllLines(Paths.get(sessionLog), StandardCharsets.UTF_8)) {
+            Entry entry = Entry.parse(line);
+            if (entry != null) {
+                session.add(entry);
+            }
+        }
+        return session;
+    }
+
+    private static void save(List<Entry> session, String sessionLog) throws IOException {
+        List<String> lines = new ArrayList<String>();
+        lines.add(SessionRecorder.ENTRY_COMMENT + " " + SyntheticSession.class.getSimpleName());
+        for (Entry entry : session) {
+            lines.add(entry.format());
+        }
+        Files.write(Paths.get(sessionLog), lines, StandardCharsets.UTF_8);
+    }
+}
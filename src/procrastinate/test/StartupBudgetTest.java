@@ -0,0 +1,99 @@
+//@@author A0080485B
+package procrastinate.test;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import procrastinate.FileHandler;
+import procrastinate.HeadlessUserInterface;
+import procrastinate.Logic;
+import procrastinate.StartupTrace;
+import procrastinate.task.Deadline;
+import procrastinate.task.Dream;
+import procrastinate.task.Event;
+import procrastinate.task.Task;
+import procrastinate.task.TaskEngine;
+import procrastinate.task.TaskState;
+
+/**
+ * Starts Logic headlessly on a large save file and checks that each startup phase
+ * stays within its budget. The budgets are generous so that the test only fails on
+ * real regressions, e.g. loading tasks becoming quadratic.
+ */
+public class StartupBudgetTest {
+
+    private static final int SYNTHETIC_TASK_COUNT = 5000;
+
+    private static final Map<String, Long> BUDGET_MILLIS = new LinkedHashMap<String, Long>();
+    static {
+        BUDGET_MILLIS.put(StartupTrace.TASK_LOAD, 3000L);
+        BUDGET_MILLIS.put(StartupTrace.NATTY_WARMUP, 5000L);
+        BUDGET_MILLIS.put(StartupTrace.INITIAL_TASK_LIST, 1000L);
+    }
+
+    private File saveFile;
+
+    @Before
+    public void setup() throws IOException {
+        saveFile = Files.createTempFile("storage", ".json").toFile();
+        new FileHandler(saveFile).saveTaskState(new TaskState(generateTasks(SYNTHETIC_TASK_COUNT)));
+        StartupTrace.reset();
+    }
+
+    @After
+    public void tearDown() {
+        saveFile.delete();
+    }
+
+    @Test
+    public void startup_WithLargeSaveFile_ShouldStayWithinPhaseBudgets() {
+        new Logic(new HeadlessUserInterface(), new TaskEngine(new FileHandler(saveFile)));
+
+        Map<String, Long> phases = StartupTrace.getPhases();
+
+        for (Map.Entry<String, Long> budget : BUDGET_MILLIS.entrySet()) {
+            Long durationNanos = phases.get(budget.getKey());
+            assertTrue(budget.getKey() + " was not recorded", durationNanos != null);
+
+            long durationMillis = durationNanos / 1000000;
+            assertTrue(budget.getKey() + " took " + durationMillis + " ms, over its budget of " +
+                       budget.getValue() + " ms\n" + StartupTrace.getReport(), durationMillis <= budget.getValue());
+        }
+    }
+
+    private List<Task> generateTasks(int taskCount) {
+        List<Task> tasks = new ArrayList<Task>();
+        Calendar calendar = Calendar.getInstance();
+
+        for (int i = 0; i < taskCount; i++) {
+            calendar.add(Calendar.HOUR_OF_DAY, 5);
+            Date date = calendar.getTime();
+
+            switch (i % 3) {
+                case 0 :
+                    tasks.add(new Dream("dream " + i));
+                    break;
+                case 1 :
+                    tasks.add(new Deadline("deadline " + i, date));
+                    break;
+                default :
+                    tasks.add(new Event("event " + i, date, new Date(date.getTime() + 3600000)));
+                    break;
+            }
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,109 @@
+//@@author A0080485B
+package procrastinate.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import procrastinate.SessionRecorder.Entry;
+
+/**
+ * Generates a session as it would be recorded from a user typing commands into
+ * Procrastinate. Every command is previewed once for each character typed and
+ * then executed, as the input box does.
+ *
+ * Most commands add tasks, with the rest editing, marking done, deleting and
+ * searching them, switching views and undoing. The same seed always gives the
+ * same session.
+ */
+public class SyntheticSession {
+
+    private static final long DEFAULT_SEED = 2103;
+
+    // Roughly how long it takes to type a character, only used for the recorded times
+    private static final long MILLIS_PER_CHARACTER = 80;
+
+    private static final String[] DESCRIPTIONS = { "write report", "buy milk", "essay", "review tutorial",
+                                                   "call mum", "submit lab", "read chapter 3", "fix bug",
+                                                   "plan trip", "project meeting" };
+
+    private static final String[] DATES = { "tomorrow", "today 5pm", "next monday", "friday 2pm",
+                                            "in 3 days", "next week", "1 jan" };
+
+    private static final String[] SHOW_COMMANDS = { "show", "show done", "show all", "show summary" };
+
+    private SyntheticSession() {
+    }
+
+    public static List<Entry> generate(int commandCount) {
+        return generate(commandCount, DEFAULT_SEED);
+    }
+
+    public static List<Entry> generate(int commandCount, long seed) {
+        Random random = new Random(seed);
+        List<Entry> entries = new ArrayList<Entry>();
+
+        int taskCount = 0;
+        long elapsedMillis = 0;
+
+        for (int i = 0; i < commandCount; i++) {
+            String userCommand = generateCommand(random, taskCount);
+
+            for (int length = 1; length <= userCommand.length(); length++) {
+                elapsedMillis += MILLIS_PER_CHARACTER;
+                String typed = userCommand.substring(0, length);
+
+                // The input box does not preview whitespace
+                if (!typed.trim().isEmpty()) {
+                    entries.add(new Entry(elapsedMillis, false, typed));
+                }
+            }
+            entries.add(new Entry(elapsedMillis, true, null));
+
+            taskCount = getTaskCountAfter(userCommand, taskCount);
+        }
+        return entries;
+    }
+
+    private static String generateCommand(Random random, int taskCount) {
+        int choice = random.nextInt(100);
+        String description = DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)];
+        String date = DATES[random.nextInt(DATES.length)];
+
+        if (choice < 20 || taskCount == 0) {
+            return description;
+        } else if (choice < 40) {
+            return description + " due " + date;
+        } else if (choice < 50) {
+            return description + " from " + date + " to " + DATES[random.nextInt(DATES.length)];
+        } else if (choice < 60) {
+            return "edit " + getLineNumber(random, taskCount) + " " + description;
+        } else if (choice < 70) {
+            return "done " + getLineNumber(random, taskCount);
+        } else if (choice < 75) {
+            return "delete " + getLineNumber(random, taskCount);
+        } else if (choice < 85) {
+            return "search " + description.split(" ")[0];
+        } else if (choice < 95) {
+            return SHOW_COMMANDS[random.nextInt(SHOW_COMMANDS.length)];
+        } else {
+            return "undo";
+        }
+    }
+
+    private static int getLineNumber(Random random, int taskCount) {
+        return 1 + random.nextInt(taskCount);
+    }
+
+    // Only a rough count, line numbers that turn out to be invalid are just previewed as such
+    private static int getTaskCountAfter(String userCommand, int taskCount) {
+        if (userCommand.startsWith("delete ")) {
+            return Math.max(0, taskCount - 1);
+        } else if (!userCommand.startsWith("edit ") && !userCommand.startsWith("done ") &&
+                   !userCommand.startsWith("search ") && !userCommand.startsWith("show") &&
+                   !userCommand.equals("undo")) {
+            return taskCount + 1;
+        }
+        return taskCount;
+    }
+}
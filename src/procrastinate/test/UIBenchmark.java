@@ -0,0 +1,129 @@
+//@@author A0121597B
+package procrastinate.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+import javafx.embed.swing.JFXPanel;
+import javafx.scene.layout.StackPane;
+import procrastinate.ui.TaskEntry;
+import procrastinate.ui.TaskEntryPool;
+import procrastinate.ui.UITestHelper;
+
+/**
+ * Measures how many TaskEntry, CategoryBox and SubcategoryBox can be created per second,
+ * and how many TaskEntry can be reused per second through a TaskEntryPool. The time
+ * taken to create the CenterPaneController with its startup screens is also measured.
+ *
+ * Run it as a Java application, optionally with the number of nodes per round as argument.
+ */
+public class UIBenchmark {
+
+    private static final String MESSAGE_RESULT = "%1$-28s %2$10d nodes/sec";
+    private static final String MESSAGE_STARTUP_RESULT = "%1$-28s %2$10.2f ms";
+
+    private static final int DEFAULT_NODE_COUNT = 5000;
+    private static final int WARMUP_ROUNDS = 3;
+
+    private static UITestHelper uiTestHelper = new UITestHelper();
+
+    public static void main(String[] args) throws InterruptedException {
+        int nodeCount = (args.length > 0) ? Integer.parseInt(args[0]) : DEFAULT_NODE_COUNT;
+
+        initToolkit();
+
+        // Measured before anything else, as it would be when the application starts
+        reportStartup("CenterPaneController (cold)", benchmarkCenterPaneController(), true);
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            runAll(nodeCount, false);
+        }
+        runAll(nodeCount, true);
+
+        System.exit(0);
+    }
+
+    private static void runAll(int nodeCount, boolean isPrinted) {
+        report("TaskEntry (new)", nodeCount, benchmarkNewTaskEntry(nodeCount), isPrinted);
+        report("TaskEntry (pooled)", nodeCount, benchmarkPooledTaskEntry(nodeCount), isPrinted);
+        report("CategoryBox", nodeCount, benchmarkCategoryBox(nodeCount), isPrinted);
+        report("SubcategoryBox", nodeCount, benchmarkSubcategoryBox(nodeCount), isPrinted);
+        reportStartup("CenterPaneController (warm)", benchmarkCenterPaneController(), isPrinted);
+    }
+
+    private static long benchmarkCenterPaneController() {
+        long startTime = System.nanoTime();
+        uiTestHelper.getNewCenterPaneController(new StackPane());
+        return System.nanoTime() - startTime;
+    }
+
+    private static long benchmarkNewTaskEntry(int nodeCount) {
+        long startTime = System.nanoTime();
+        for (int i = 0; i < nodeCount; i++) {
+            uiTestHelper.getNewOthersTaskEntry(String.valueOf(i), "task " + i, "time");
+        }
+        return System.nanoTime() - startTime;
+    }
+
+    // Half of the TaskEntry are released each round, as when a list is refreshed
+    private static long benchmarkPooledTaskEntry(int nodeCount) {
+        TaskEntryPool taskEntryPool = uiTestHelper.getNewTaskEntryPool();
+        List<TaskEntry> taskEntries = new ArrayList<>();
+
+        long startTime = System.nanoTime();
+        for (int i = 0; i < nodeCount; i++) {
+            taskEntries.add(uiTestHelper.acquireTaskEntry(taskEntryPool, String.valueOf(i), "task " + i, "time", false));
+            if (taskEntries.size() % 2 == 0) {
+                uiTestHelper.releaseTaskEntry(taskEntryPool, taskEntries.remove(0));
+            }
+        }
+        return System.nanoTime() - startTime;
+    }
+
+    private static long benchmarkCategoryBox(int nodeCount) {
+        long startTime = System.nanoTime();
+        for (int i = 0; i < nodeCount; i++) {
+            uiTestHelper.getNewCategoryBox("category " + i);
+        }
+        return System.nanoTime() - startTime;
+    }
+
+    private static long benchmarkSubcategoryBox(int nodeCount) {
+        long startTime = System.nanoTime();
+        for (int i = 0; i < nodeCount; i++) {
+            uiTestHelper.getNewSubcategoryBox("subcategory " + i);
+        }
+        return System.nanoTime() - startTime;
+    }
+
+    private static void report(String name, int nodeCount, long timeTaken, boolean isPrinted) {
+        if (!isPrinted) {
+            return;
+        }
+        long nodesPerSecond = nodeCount * TimeUnit.SECONDS.toNanos(1) / Math.max(timeTaken, 1);
+        System.out.println(String.format(MESSAGE_RESULT, name, nodesPerSecond));
+    }
+
+    private static void reportStartup(String name, long timeTaken, boolean isPrinted) {
+        if (!isPrinted) {
+            return;
+        }
+        System.out.println(String.format(MESSAGE_STARTUP_RESULT, name, timeTaken / (double) TimeUnit.MILLISECONDS.toNanos(1)));
+    }
+
+    // Same as UITest, the toolkit has to be started before any node is created
+    private static void initToolkit() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        SwingUtilities.invokeLater(() -> {
+            new JFXPanel();
+            latch.countDown();
+        });
+        if (!latch.await(5L, TimeUnit.SECONDS)) {
+            throw new ExceptionInInitializerError();
+        }
+    }
+}
@@ -4,20 +4,15 @@ package procrastinate.test;
 import java.util.ArrayList;
 import java.util.List;
 
-import javafx.beans.value.ChangeListener;
-import javafx.event.EventHandler;
-import javafx.scene.input.KeyEvent;
-import javafx.stage.Stage;
+import procrastinate.UserInterface;
 import procrastinate.task.Task;
-import procrastinate.ui.UI;
+import procrastinate.ui.UI.ScreenView;
 
-public class UIStub extends UI {
+public class UIStub implements UserInterface {
     private List<Task> taskList_;
     public UIStub() {
         taskList_ = new ArrayList<Task>();
     }
-    public UIStub(Stage stage) {
-    }
     public List<Task> getTaskList() {
         return taskList_;
     }
@@ -52,10 +47,6 @@ public class UIStub extends UI {
     public void resetIsExit() {
     }
     @Override
-    public void attachHandlersAndListeners(EventHandler<KeyEvent> keyPressHandler,
-            ChangeListener<String> userInputListener, ChangeListener<Boolean> isExitListener) {
-    }
-    @Override
     public void hide() {
     }
     @Override
@@ -80,6 +71,9 @@ public class UIStub extends UI {
     public void scrollDownScreen() {
     }
     @Override
+    public void toggleMetricsOverlay() {
+    }
+    @Override
     public void createErrorDialog(String header, String message) {
     }
     @Override
@@ -9,28 +9,40 @@ import static org.junit.Assert.assertTrue;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.swing.SwingUtilities;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import javafx.animation.FadeTransition;
+import javafx.animation.SequentialTransition;
 import javafx.embed.swing.JFXPanel;
+import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.util.Duration;
 import procrastinate.task.Deadline;
 import procrastinate.task.Dream;
 import procrastinate.task.Event;
 import procrastinate.task.Task;
+import procrastinate.ui.AnimationScheduler;
 import procrastinate.ui.CategoryBox;
 import procrastinate.ui.CenterPaneController;
 import procrastinate.ui.DoneScreen;
@@ -41,6 +53,7 @@ import procrastinate.ui.SplashOverlay;
 import procrastinate.ui.SubcategoryBox;
 import procrastinate.ui.SummaryScreen;
 import procrastinate.ui.TaskEntry;
+import procrastinate.ui.TaskEntryPool;
 import procrastinate.ui.UI.ScreenView;
 import procrastinate.ui.UITestHelper;
 
@@ -128,6 +141,27 @@ public class UITest {
         assertEquals(isolatedTestHelper.getCPCCurrentScreenNode(), isolatedTestHelper.getDoneScreenNode());
     }
 
+    @Test
+    public void centerPaneController_UpdatesInARowShouldOnlyShowTheLatest() throws InterruptedException {
+        UITestHelper isolatedTestHelper = new UITestHelper();
+        isolatedTestHelper.getNewCenterPaneController(new StackPane());
+
+        List<Task> firstTaskList = new ArrayList<Task>();
+        firstTaskList.add(new Dream("first dream"));
+
+        List<Task> secondTaskList = new ArrayList<Task>();
+        secondTaskList.add(new Dream("second dream"));
+        secondTaskList.add(new Dream("third dream"));
+
+        isolatedTestHelper.changeCPCScreen(firstTaskList, ScreenView.SCREEN_MAIN);
+        isolatedTestHelper.changeCPCScreen(secondTaskList, ScreenView.SCREEN_MAIN);
+        Thread.sleep(1000);
+
+        assertTrue(isolatedTestHelper.getCPCCurrentScreen() instanceof MainScreen);
+        MainScreen mainScreen = (MainScreen) isolatedTestHelper.getCPCCurrentScreen();
+        assertEquals(2, uiTestHelper.getDreamsTaskList(mainScreen).getChildren().size());
+    }
+
     @Test
     public void centerPaneController_ShouldBeAbleToShowAllOverlays() throws InterruptedException {
         // Splash overlay testing
@@ -233,6 +267,230 @@ public class UITest {
         assertEquals(1, uiTestHelper.getDoneTaskList(mainScreen).getChildren().size());
     }
 
+    @Test
+    public void mainScreen_LargeTaskListShouldOnlyShowVisibleTaskEntries() {
+        MainScreen mainScreen = (MainScreen) uiTestHelper.getNewMainScreen();
+        List<Task> taskList = new ArrayList<Task>();
+
+        // Small lists should have every TaskEntry shown
+        for (int i = 0; i < 10; i++) {
+            taskList.add(new Dream("dream " + i));
+        }
+        uiTestHelper.updateScreenTaskList(mainScreen, taskList);
+        assertEquals(10, uiTestHelper.getDreamsTaskList(mainScreen).getChildren().size());
+
+        taskList = new ArrayList<Task>(taskList);
+        for (int i = 10; i < 1000; i++) {
+            taskList.add(new Dream("dream " + i));
+        }
+        uiTestHelper.updateScreenTaskList(mainScreen, taskList);
+        int numChildren = uiTestHelper.getDreamsTaskList(mainScreen).getChildren().size();
+        assertTrue(numChildren > 0);
+        assertTrue(numChildren < 100);
+    }
+
+    @Test
+    public void mainScreen_UpdateShouldReuseTaskEntriesOfUnchangedTasks() {
+        MainScreen mainScreen = (MainScreen) uiTestHelper.getNewMainScreen();
+        List<Task> taskList = new ArrayList<Task>();
+        taskList.add(new Dream("first dream"));
+        taskList.add(new Dream("second dream"));
+
+        uiTestHelper.updateScreenTaskList(mainScreen, taskList);
+        VBox dreamsTaskList = uiTestHelper.getDreamsTaskList(mainScreen);
+        Node secondTaskEntry = dreamsTaskList.getChildren().get(1);
+
+        // Adding a task in front should only renumber the existing TaskEntry
+        taskList = new ArrayList<Task>(taskList);
+        taskList.add(0, new Dream("new dream"));
+        uiTestHelper.updateScreenTaskList(mainScreen, taskList);
+
+        assertEquals(3, dreamsTaskList.getChildren().size());
+        assertTrue(dreamsTaskList.getChildren().get(2) == secondTaskEntry);
+    }
+
+    @Test
+    public void taskEntryPool_ReleasedTaskEntryShouldBeReused() {
+        TaskEntryPool taskEntryPool = uiTestHelper.getNewTaskEntryPool();
+        TaskEntry taskEntry = uiTestHelper.acquireTaskEntry(taskEntryPool, "1", "first", "time", false);
+        uiTestHelper.getTaskEntryNode(taskEntry).setOpacity(0);
+
+        uiTestHelper.releaseTaskEntry(taskEntryPool, taskEntry);
+        assertEquals(1, uiTestHelper.getTaskEntryPoolSize(taskEntryPool));
+
+        TaskEntry reusedTaskEntry = uiTestHelper.acquireTaskEntry(taskEntryPool, "2", "second", "", true);
+        assertTrue(reusedTaskEntry == taskEntry);
+        assertEquals(0, uiTestHelper.getTaskEntryPoolSize(taskEntryPool));
+        assertEquals("2", uiTestHelper.getTaskEntryLineNum(reusedTaskEntry).getText());
+        assertEquals("second", uiTestHelper.getTaskEntryDescription(reusedTaskEntry).getText());
+        assertEquals(1, uiTestHelper.getTaskEntryNode(reusedTaskEntry).getOpacity(), 0);
+    }
+
+    // AnimationScheduler related
+    @Test
+    public void animationScheduler_SupersededAnimationShouldBeFinished() {
+        AnimationScheduler animationScheduler = uiTestHelper.getNewAnimationScheduler();
+        Region node = new Region();
+        AtomicInteger numFinished = new AtomicInteger();
+
+        FadeTransition firstFadeOut = new FadeTransition(Duration.seconds(10), node);
+        firstFadeOut.setFromValue(1);
+        firstFadeOut.setToValue(0);
+
+        uiTestHelper.playAnimation(animationScheduler, node, firstFadeOut, numFinished::incrementAndGet, true);
+        assertEquals(1, uiTestHelper.getNumRunningAnimations(animationScheduler));
+
+        // The first fade out should be jumped to its end when another animation of the node is played
+        FadeTransition fadeIn = new FadeTransition(Duration.seconds(10), node);
+        fadeIn.setFromValue(0);
+        fadeIn.setToValue(1);
+
+        uiTestHelper.playAnimation(animationScheduler, node, fadeIn, numFinished::incrementAndGet, true);
+        assertEquals(1, numFinished.get());
+        assertEquals(1, uiTestHelper.getNumRunningAnimations(animationScheduler));
+
+        uiTestHelper.finishAnimation(animationScheduler, node);
+        assertEquals(2, numFinished.get());
+        assertEquals(1, node.getOpacity(), 0);
+        assertEquals(0, uiTestHelper.getNumRunningAnimations(animationScheduler));
+    }
+
+    @Test
+    public void animationScheduler_AnimationShouldFinishImmediatelyWhenNotAnimated() {
+        AnimationScheduler animationScheduler = uiTestHelper.getNewAnimationScheduler();
+        Region node = new Region();
+        AtomicInteger numChildrenFinished = new AtomicInteger();
+        AtomicInteger numFinished = new AtomicInteger();
+
+        FadeTransition fadeOut = new FadeTransition(Duration.seconds(10), node);
+        fadeOut.setFromValue(1);
+        fadeOut.setToValue(0);
+        fadeOut.setOnFinished(e -> numChildrenFinished.incrementAndGet());
+
+        SequentialTransition sequentialTransition = new SequentialTransition(fadeOut);
+
+        uiTestHelper.playAnimation(animationScheduler, node, sequentialTransition, numFinished::incrementAndGet, false);
+        assertEquals(0, node.getOpacity(), 0);
+        assertEquals(1, numChildrenFinished.get());
+        assertEquals(1, numFinished.get());
+        assertEquals(0, uiTestHelper.getNumRunningAnimations(animationScheduler));
+    }
+
+    // DayBoundaries related
+    @Test
+    public void dayBoundaries_ShouldStartUpcomingSubcategoriesFromTheGivenDay() {
+        LocalDate day = LocalDate.of(2016, 4, 1);
+
+        List<String> headers = uiTestHelper.getUpcomingSubcategoryHeaders(day);
+        assertEquals(7, headers.size());
+        assertEquals("Today, 1 Apr", headers.get(0));
+        assertEquals("Tomorrow, 2 Apr", headers.get(1));
+        assertTrue(headers.get(6).endsWith(", 7 Apr"));
+
+        Date endOfWeek = uiTestHelper.getEndOfWeek(day);
+        assertEquals(day.plusDays(7), endOfWeek.toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
+    }
+
+    // TaskListDiff related
+    @Test
+    public void taskListDiff_ShouldFindRemovedAndChangedTasks() {
+        Task unchangedTask = new Dream("unchanged");
+        Task removedTask = new Dream("removed");
+        Task editedTask = new Dream("before edit");
+        Task addedTask = new Dream("added");
+
+        List<Task> prevTaskList = new ArrayList<Task>();
+        prevTaskList.add(unchangedTask);
+        prevTaskList.add(removedTask);
+        prevTaskList.add(editedTask);
+
+        Task editedTaskAfterEdit = Task.copy(editedTask);
+        editedTaskAfterEdit.setDescription("after edit");
+
+        List<Task> taskList = new ArrayList<Task>();
+        taskList.add(addedTask);
+        taskList.add(editedTaskAfterEdit);
+        taskList.add(unchangedTask);
+
+        Set<UUID> removedTaskIds = uiTestHelper.getRemovedTaskIds(prevTaskList, taskList);
+        assertEquals(1, removedTaskIds.size());
+        assertTrue(removedTaskIds.contains(removedTask.getId()));
+
+        Set<UUID> changedTaskIds = uiTestHelper.getChangedTaskIds(prevTaskList, taskList);
+        assertEquals(2, changedTaskIds.size());
+        assertTrue(changedTaskIds.contains(addedTask.getId()));
+        assertTrue(changedTaskIds.contains(editedTask.getId()));
+
+        // Nothing should be reported when there was no previous task list
+        assertTrue(uiTestHelper.getChangedTaskIds(null, taskList).isEmpty());
+    }
+
+    @Test
+    public void summaryPlan_ShouldHideTasksThatDoNotFit() throws ParseException {
+        SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy HH:mm");
+        Date today = sdf.parse("05/01/2026 00:00");
+        Date currentDate = sdf.parse("05/01/2026 12:00");
+        Date endOfWeek = sdf.parse("12/01/2026 00:00");
+
+        List<Task> dreamList = new ArrayList<Task>();
+        for (int i = 0; i < 20; i++) {
+            dreamList.add(new Dream("dream " + i));
+        }
+
+        // Only (300 - padding - header - ellipsis) / row height = 11 dreams fit
+        assertEquals(11, uiTestHelper.getSummaryPlanNumDreamsShown(dreamList, today, currentDate, endOfWeek, 300));
+        assertEquals(9, uiTestHelper.getSummaryPlanNumDreamsHidden(dreamList, today, currentDate, endOfWeek, 300));
+
+        // Nothing should be hidden when every task fits
+        assertEquals(20, uiTestHelper.getSummaryPlanNumDreamsShown(dreamList, today, currentDate, endOfWeek, 1000));
+        assertEquals(0, uiTestHelper.getSummaryPlanNumDreamsHidden(dreamList, today, currentDate, endOfWeek, 1000));
+
+        List<Task> taskList = new ArrayList<Task>();
+        for (int i = 0; i < 6; i++) {
+            taskList.add(new Deadline("tomorrow " + i, sdf.parse("06/01/2026 09:00")));
+            taskList.add(new Deadline("later " + i, sdf.parse("08/01/2026 09:00")));
+        }
+        taskList.add(new Dream("first dream"));
+        taskList.add(new Dream("second dream"));
+
+        // Height left over by the dreams goes to 'Upcoming', which only needs to hide its last 2 tasks
+        assertEquals(0, uiTestHelper.getSummaryPlanNumDreamsHidden(taskList, today, currentDate, endOfWeek, 400));
+        assertEquals(2, uiTestHelper.getSummaryPlanNumUpcomingHidden(taskList, today, currentDate, endOfWeek, 400));
+    }
+
+    @Test
+    public void taskListViewModel_ShouldSortTasksIntoCategories() throws ParseException {
+        SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy HH:mm");
+        Date today = sdf.parse("05/01/2026 00:00");
+        Date currentDate = sdf.parse("05/01/2026 12:00");
+        Date endOfWeek = sdf.parse("12/01/2026 00:00");
+
+        Task doneDream = new Dream("done dream");
+        doneDream.setDone(true);
+
+        List<Task> taskList = new ArrayList<Task>();
+        taskList.add(new Deadline("overdue deadline", sdf.parse("05/01/2026 09:00")));
+        taskList.add(new Deadline("tomorrow deadline", sdf.parse("06/01/2026 09:00")));
+        taskList.add(new Dream("dream"));
+        taskList.add(doneDream);
+
+        List<String> overdueRows = uiTestHelper.getViewModelOverdueRows(taskList, today, currentDate, endOfWeek);
+        assertEquals(1, overdueRows.size());
+        assertEquals("1. overdue deadline", overdueRows.get(0));
+
+        List<String> tomorrowRows = uiTestHelper.getViewModelUpcomingRows(taskList, today, currentDate, endOfWeek, 1);
+        assertEquals(1, tomorrowRows.size());
+        assertEquals("2. tomorrow deadline", tomorrowRows.get(0));
+
+        List<String> dreamsRows = uiTestHelper.getViewModelDreamsRows(taskList, today, currentDate, endOfWeek);
+        assertEquals(1, dreamsRows.size());
+        assertEquals("3. dream", dreamsRows.get(0));
+
+        List<String> doneRows = uiTestHelper.getViewModelDoneRows(taskList, today, currentDate, endOfWeek);
+        assertEquals(1, doneRows.size());
+        assertEquals("4. done dream", doneRows.get(0));
+    }
+
     // SearchScreen related
     @Test
     public void searchScreen_InitChildrenShouldBeEmpty() {
@@ -390,4 +648,22 @@ public class UITest {
         Label lineNumberLabel = (Label) lineNumberWrapper.getChildren().get(0);
         assertEquals("3", lineNumberLabel.getText());
     }
+
+    @Test
+    public void taskEntry_UpdateShouldRebindLabelsAndTick() {
+        TaskEntry taskEntry =  uiTestHelper.getNewDoneTaskEntry("3", "a done task", "time here");
+        GridPane gridPane = (GridPane) uiTestHelper.getTaskEntryNode(taskEntry);
+
+        uiTestHelper.updateTaskEntry(taskEntry, "4", "a dream", "", false);
+        assertEquals("4", uiTestHelper.getTaskEntryLineNum(taskEntry).getText());
+        assertEquals("a dream", uiTestHelper.getTaskEntryDescription(taskEntry).getText());
+        assertEquals("", uiTestHelper.getTaskEntryTime(taskEntry).getText());
+        // Tick should be removed and the line number placed back into the GridPane
+        assertEquals(3, gridPane.getChildren().size());
+        assertTrue(gridPane.getChildren().contains(uiTestHelper.getTaskEntryLineNum(taskEntry)));
+
+        uiTestHelper.updateTaskEntry(taskEntry, "5", "done again", "time", true);
+        assertTrue(gridPane.getChildren().get(gridPane.getChildren().size()-1) instanceof HBox);
+        assertEquals("5", uiTestHelper.getTaskEntryLineNum(taskEntry).getText());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,201 @@
+//@@author A0080485B
+package procrastinate.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import procrastinate.FileHandler;
+import procrastinate.task.Dream;
+import procrastinate.task.Task;
+import procrastinate.task.TaskEngine;
+import procrastinate.task.TaskState;
+
+public class WorkspaceTest {
+
+    private File saveFile;
+    private File workFile;
+    private File homeFile;
+
+    private CountingFileHandler workHandler;
+    private CountingFileHandler homeHandler;
+
+    private TaskEngine taskEngine;
+
+    @Before
+    public void setup() throws IOException {
+        saveFile = createSaveFile("storage", "write report", "buy milk");
+        workFile = createSaveFile("work", "review report", "book room");
+        homeFile = createSaveFile("home", "fix report shelf");
+
+        workHandler = new CountingFileHandler(workFile);
+        homeHandler = new CountingFileHandler(homeFile);
+
+        taskEngine = new TaskEngine(new FileHandler(saveFile));
+        taskEngine.mount(workHandler);
+        taskEngine.mount(homeHandler);
+    }
+
+    @After
+    public void tearDown() {
+        saveFile.delete();
+        workFile.delete();
+        homeFile.delete();
+    }
+
+    @Test
+    public void mount_BeforeSearch_ShouldNotLoadMountedFiles() {
+        assertEquals(2, taskEngine.getAllTasks().size());
+        assertEquals(0, workHandler.loadCount);
+        assertEquals(0, homeHandler.loadCount);
+    }
+
+    @Test
+    public void search_WithMountedFiles_ShouldReturnMergedSortedResults() {
+        List<Task> results = taskEngine.search("report", null, null, true);
+
+        assertEquals(Arrays.asList("fix report shelf", "review report", "write report"), getDescriptions(results));
+        List<Task> sortedResults = new ArrayList<Task>(results);
+        Collections.sort(sortedResults);
+        assertEquals(sortedResults, results);
+
+        taskEngine.search("milk", null, null, true);
+        assertEquals(1, workHandler.loadCount);
+        assertEquals(1, homeHandler.loadCount);
+    }
+
+    @Test
+    public void search_WithMountedFiles_ShouldKeepViewsToSaveFile() {
+        taskEngine.search("report", null, null, true);
+
+        assertEquals(Arrays.asList("buy milk", "write report"), getDescriptions(taskEngine.getAllTasks()));
+        assertEquals(2, taskEngine.getOutstandingTasks().size());
+    }
+
+    @Test
+    public void edit_MountedTask_ShouldOnlySaveItsFile() {
+        Task workTask = taskEngine.search("review", null, null, true).get(0);
+
+        assertTrue(taskEngine.edit(workTask.getId(), new Dream("review report again")));
+
+        assertEquals(1, workHandler.saveCount);
+        assertEquals(0, homeHandler.saveCount);
+        assertEquals(Arrays.asList("book room", "review report again"), getDescriptions(load(workFile)));
+        assertEquals(Arrays.asList("buy milk", "write report"), getDescriptions(load(saveFile)));
+    }
+
+    @Test
+    public void doneAndUndo_MountedTask_ShouldOnlySaveItsFile() {
+        Task homeTask = taskEngine.search("shelf", null, null, true).get(0);
+
+        assertTrue(taskEngine.done(homeTask.getId()));
+        assertTrue(load(homeFile).get(0).isDone());
+
+        assertTrue(taskEngine.undo());
+        assertTrue(!load(homeFile).get(0).isDone());
+
+        assertEquals(0, workHandler.saveCount);
+        assertEquals(2, homeHandler.saveCount);
+    }
+
+    @Test
+    public void add_AfterSearch_ShouldNotSaveMountedFiles() {
+        taskEngine.search("report", null, null, true);
+
+        assertTrue(taskEngine.add(new Dream("water plants")));
+
+        assertEquals(0, workHandler.saveCount);
+        assertEquals(0, homeHandler.saveCount);
+        assertEquals(3, load(saveFile).size());
+        assertEquals(2, load(workFile).size());
+    }
+
+    @Test
+    public void mount_SaveFileOrMountedFile_ShouldBeRefused() {
+        assertTrue(!taskEngine.mount(new FileHandler(saveFile)));
+        assertTrue(!taskEngine.mount(new FileHandler(workFile)));
+        assertEquals(Arrays.asList(workFile, homeFile), taskEngine.getMountedFiles());
+
+        taskEngine.search("report", null, null, true);
+        assertTrue(taskEngine.add(new Dream("water plants")));
+
+        assertEquals(Arrays.asList("buy milk", "water plants", "write report"), getDescriptions(load(saveFile)));
+    }
+
+    @Test
+    public void search_MountedCopyOfSaveFile_ShouldKeepTasksInSaveFile() throws IOException {
+        File copyFile = Files.createTempFile("copy", ".json").toFile();
+        try {
+            Files.copy(saveFile.toPath(), copyFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            assertTrue(taskEngine.mount(new FileHandler(copyFile)));
+
+            List<Task> results = taskEngine.search("milk", null, null, true);
+            assertEquals(2, results.size());
+            assertTrue(!results.get(0).getId().equals(results.get(1).getId()));
+
+            assertTrue(taskEngine.add(new Dream("water plants")));
+
+            assertEquals(Arrays.asList("buy milk", "water plants", "write report"),
+                         getDescriptions(taskEngine.getAllTasks()));
+            assertEquals(Arrays.asList("buy milk", "water plants", "write report"), getDescriptions(load(saveFile)));
+            assertEquals(Arrays.asList("buy milk", "write report"), getDescriptions(load(copyFile)));
+        } finally {
+            copyFile.delete();
+        }
+    }
+
+    private File createSaveFile(String prefix, String... descriptions) throws IOException {
+        File file = Files.createTempFile(prefix, ".json").toFile();
+        List<Task> tasks = new ArrayList<Task>();
+        for (String description : descriptions) {
+            tasks.add(new Dream(description));
+        }
+        new FileHandler(file).saveTaskState(new TaskState(tasks));
+        return file;
+    }
+
+    private List<Task> load(File file) {
+        List<Task> tasks = new FileHandler(file).loadTaskState().getTasks();
+        Collections.sort(tasks);
+        return tasks;
+    }
+
+    private List<String> getDescriptions(List<Task> tasks) {
+        return tasks.stream().map(Task::getDescription).collect(Collectors.toList());
+    }
+
+    private static class CountingFileHandler extends FileHandler {
+
+        private int loadCount = 0;
+        private int saveCount = 0;
+
+        private CountingFileHandler(File saveFile) {
+            super(saveFile);
+        }
+
+        @Override
+        public TaskState loadTaskState() {
+            loadCount++;
+            return super.loadTaskState();
+        }
+
+        @Override
+        public boolean saveTaskState(TaskState taskState) {
+            saveCount++;
+            return super.saveTaskState(taskState);
+        }
+    }
+}
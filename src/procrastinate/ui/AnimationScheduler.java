@@ -0,0 +1,212 @@
+//@@author A0121597B
+package procrastinate.ui;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javafx.animation.Animation;
+import javafx.animation.ParallelTransition;
+import javafx.animation.SequentialTransition;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+import javafx.util.Duration;
+
+/**
+ * <h1>AnimationScheduler plays the animations of the task lists, so that an animation
+ * is finished before another one takes its place.</h1>
+ *
+ * Each animation is played under a key, e.g. the node it animates. Playing another
+ * animation under the same key first finishes the one before it, jumping it to its end
+ * and running whatever was to be done when it ends. Animations are finished straight
+ * away instead of being played when animations are disabled, when the caller does not
+ * want them animated, e.g. for very large task lists, or when too many animations are
+ * already running in the same frames.
+ *
+ * <p><b>Note:</b>
+ * <br>It is only to be used from the JavaFX Application Thread.
+ */
+public class AnimationScheduler {
+
+    // ================================================================================
+    // Constants
+    // ================================================================================
+
+    // Any more would be too many to follow on screen, and only add layout work to each frame
+    private static final int MAX_RUNNING_ANIMATIONS = 32;
+
+    // ================================================================================
+    // Class Variables
+    // ================================================================================
+
+    private Map<Object, ScheduledAnimation> runningAnimations_ = new HashMap<>();
+
+    // Highlights are reused for each TaskEntry, which is itself pooled
+    private Map<Node, HighlightTransition> highlightTransitions_ = new WeakHashMap<>();
+
+    private boolean isEnabled_ = true;
+
+    // ================================================================================
+    // AnimationScheduler Methods
+    // ================================================================================
+
+    /**
+     * Plays the animation after finishing the animation previously played under the
+     * same key. The animation must not have its own onFinished handler set.
+     *
+     * @param key           identifies what is being animated
+     * @param animation     to be played, which may be one played before
+     * @param onFinished    to run when the animation ends or is finished early
+     * @param isAnimated    if false, the animation is finished straight away
+     */
+    protected void play(Object key, Animation animation, Runnable onFinished, boolean isAnimated) {
+        finish(key);
+
+        if (!isEnabled_ || !isAnimated || runningAnimations_.size() >= MAX_RUNNING_ANIMATIONS) {
+            finishImmediately(animation, onFinished);
+            return;
+        }
+
+        ScheduledAnimation scheduledAnimation = new ScheduledAnimation(animation, onFinished);
+        runningAnimations_.put(key, scheduledAnimation);
+
+        animation.setOnFinished(finish -> {
+            runningAnimations_.remove(key);
+            onFinished.run();
+        });
+        animation.playFromStart();
+    }
+
+    /**
+     * Fades the background of the TaskEntry from the highlight colour back to none.
+     *
+     * @param entryDisplay    displayed TaskEntry node to be highlighted
+     * @param isAnimated      if false, nothing is highlighted
+     */
+    protected void highlight(Node entryDisplay, boolean isAnimated) {
+        HighlightTransition highlightTransition = highlightTransitions_.get(entryDisplay);
+        if (highlightTransition == null) {
+            highlightTransition = new HighlightTransition(entryDisplay);
+            highlightTransitions_.put(entryDisplay, highlightTransition);
+        }
+
+        play(entryDisplay, highlightTransition, () -> {}, isAnimated);
+    }
+
+    /**
+     * Jumps the animation played under the key to its end, running the onFinished
+     * handlers of the animations within it that have not ended yet.
+     *
+     * @param key    that the animation was played under
+     */
+    protected void finish(Object key) {
+        ScheduledAnimation scheduledAnimation = runningAnimations_.remove(key);
+        if (scheduledAnimation == null) {
+            return;
+        }
+
+        Animation animation = scheduledAnimation.getAnimation();
+        Duration elapsedTime = animation.getCurrentTime();
+
+        // Values are only updated by jumpTo while the animation is running
+        animation.jumpTo(animation.getTotalDuration());
+        animation.stop();
+
+        runChildOnFinishedHandlers(animation, elapsedTime);
+        scheduledAnimation.getOnFinished().run();
+    }
+
+    private void finishImmediately(Animation animation, Runnable onFinished) {
+        animation.setOnFinished(null);
+
+        if (animation.getTotalDuration().greaterThan(Duration.ZERO)) {
+            animation.playFromStart();
+            animation.jumpTo(animation.getTotalDuration());
+            animation.stop();
+
+            runChildOnFinishedHandlers(animation, Duration.ZERO);
+        }
+
+        onFinished.run();
+    }
+
+    /**
+     * Runs the onFinished handlers of the animations within a SequentialTransition or
+     * ParallelTransition which had not ended by the given time, in the order they would
+     * have ended.
+     */
+    private void runChildOnFinishedHandlers(Animation animation, Duration elapsedTime) {
+        if (animation instanceof SequentialTransition) {
+            Duration childStartTime = Duration.ZERO;
+
+            for (Animation child : ((SequentialTransition) animation).getChildren()) {
+                Duration childEndTime = childStartTime.add(child.getTotalDuration());
+                if (childEndTime.greaterThan(elapsedTime)) {
+                    runOnFinishedHandler(child, elapsedTime.subtract(childStartTime));
+                }
+                childStartTime = childEndTime;
+            }
+
+        } else if (animation instanceof ParallelTransition) {
+            for (Animation child : ((ParallelTransition) animation).getChildren()) {
+                if (child.getTotalDuration().greaterThan(elapsedTime)) {
+                    runOnFinishedHandler(child, elapsedTime);
+                }
+            }
+        }
+    }
+
+    private void runOnFinishedHandler(Animation animation, Duration elapsedTime) {
+        runChildOnFinishedHandlers(animation, elapsedTime.lessThan(Duration.ZERO) ? Duration.ZERO : elapsedTime);
+
+        EventHandler<ActionEvent> onFinished = animation.getOnFinished();
+        if (onFinished != null) {
+            onFinished.handle(new ActionEvent(animation, null));
+        }
+    }
+
+    // ================================================================================
+    // Getter/Setter Methods
+    // ================================================================================
+
+    /**
+     * @param isEnabled    if false, every animation is finished straight away
+     */
+    protected void setEnabled(boolean isEnabled) {
+        this.isEnabled_ = isEnabled;
+    }
+
+    //@@author generated
+    protected boolean isEnabled() {
+        return isEnabled_;
+    }
+
+    protected int getNumRunningAnimations() {
+        return runningAnimations_.size();
+    }
+
+    // ================================================================================
+    // ScheduledAnimation Class
+    // ================================================================================
+
+    //@@author A0121597B
+    private static class ScheduledAnimation {
+
+        private Animation animation_;
+        private Runnable onFinished_;
+
+        private ScheduledAnimation(Animation animation, Runnable onFinished) {
+            this.animation_ = animation;
+            this.onFinished_ = onFinished;
+        }
+
+        private Animation getAnimation() {
+            return animation_;
+        }
+
+        private Runnable getOnFinished() {
+            return onFinished_;
+        }
+    }
+}
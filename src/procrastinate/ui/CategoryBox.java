@@ -1,14 +1,12 @@
 //@@author A0121597B
 package procrastinate.ui;
 
-import java.io.IOException;
-
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.effect.BlurType;
 import javafx.scene.effect.DropShadow;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 
@@ -29,7 +27,10 @@ public class CategoryBox extends VBox {
     // Message Strings
     // ================================================================================
 
-    private static final String LOCATION_CATEGORYBOX_FXML = "views/CategoryBox.fxml";
+    private static final String STYLE_CLASS_CATEGORY_BOX = "categoryBox";
+
+    private static final String ID_CATEGORY_LABEL = "categoryLabel";
+    private static final String ID_CATEGORY_VBOX = "categoryVBox";
 
     // ================================================================================
     // Class Variables
@@ -37,14 +38,8 @@ public class CategoryBox extends VBox {
 
     private Node categoryBox_;
 
-    // ================================================================================
-    // FXML Field Variables
-    // ================================================================================
-
-    @FXML
-    private Label categoryLabel;
-    @FXML
-    private VBox categoryVBox;
+    private Label categoryLabel = new Label();
+    private VBox categoryVBox = new VBox();
 
     // ================================================================================
     // CategoryBox Constructor
@@ -65,15 +60,22 @@ public class CategoryBox extends VBox {
     // Init Methods
     // ================================================================================
 
+    // Built in code instead of being loaded from FXML, with the ids used for CSS styling
     private void loadLayout() {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource(LOCATION_CATEGORYBOX_FXML));
-        loader.setController(this); // Required due to different package
-                                    // declaration from Main
-        try {
-            this.categoryBox_ = loader.load();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        categoryLabel.setId(ID_CATEGORY_LABEL);
+        VBox.setVgrow(categoryLabel, Priority.ALWAYS);
+
+        categoryVBox.setId(ID_CATEGORY_VBOX);
+        categoryVBox.setMaxHeight(Double.MAX_VALUE);
+        categoryVBox.setMinHeight(Region.USE_PREF_SIZE);
+        VBox.setVgrow(categoryVBox, Priority.ALWAYS);
+
+        VBox categoryBox = new VBox(categoryLabel, categoryVBox);
+        categoryBox.getStyleClass().add(STYLE_CLASS_CATEGORY_BOX);
+        categoryBox.setMaxHeight(Double.MAX_VALUE);
+        categoryBox.setMinHeight(Region.USE_PREF_SIZE);
+
+        this.categoryBox_ = categoryBox;
     }
 
     /**
@@ -1,7 +1,9 @@
 //@@author A0121597B
 package procrastinate.ui;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javafx.animation.FadeTransition;
 import javafx.animation.Interpolator;
@@ -10,11 +12,13 @@ import javafx.animation.KeyValue;
 import javafx.animation.ParallelTransition;
 import javafx.animation.SequentialTransition;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.scene.Node;
 import javafx.scene.control.ScrollBar;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.layout.StackPane;
 import javafx.util.Duration;
+import procrastinate.Metrics;
 import procrastinate.task.Task;
 import procrastinate.ui.UI.ScreenView;
 
@@ -28,6 +32,17 @@ import procrastinate.ui.UI.ScreenView;
  * <li>     Updating of screens
  * <li>     Transitions that occur in the center region of the window
  *
+ * <p><b>Note:</b>
+ * <br>Only the screens and overlays needed at startup are created straight away. The
+ * rest are created the first time they are used, through their getter methods.
+ *
+ * <br>Screen updates are applied once the current event has been handled, so that
+ * several updates made in a row only rebuild the screen once. Screens that are kept
+ * up to date in the background are only rebuilt when they are next switched to.
+ *
+ * <br>Once the day changes, the current screen is rebuilt with the task list it last
+ * showed so that its dates are relative to the new day, and the other screens are
+ * rebuilt when they are next switched to.
  */
 public class CenterPaneController {
 
@@ -87,8 +102,24 @@ public class CenterPaneController {
     private HelpOverlay helpOverlay_;
     private SplashOverlay splashOverlay_;
 
+    private MetricsOverlay metricsOverlay_;
+    private Node metricsOverlayNode_;
+
     private StackPane centerStackPane_;
 
+    // Task lists that hidden screens are to be updated with when they are switched to
+    private Map<CenterScreen, List<Task>> staleTaskLists_ = new HashMap<>();
+
+    // Latest update that has yet to be applied, null if there is none
+    private List<Task> pendingTaskList_;
+    private ScreenView pendingScreenView_;
+    private long pendingUpdateStartTime_;
+
+    // Task list that each screen was last updated with, to rebuild it with once the day changes
+    private Map<CenterScreen, List<Task>> shownTaskLists_ = new HashMap<>();
+
+    private DayRolloverTimer dayRolloverTimer_;
+
     // ================================================================================
     // CenterPaneController Constructor
     // ================================================================================
@@ -96,9 +127,12 @@ public class CenterPaneController {
     protected CenterPaneController(StackPane centerStackPane) {
         assert(centerStackPane != null);
         this.centerStackPane_ = centerStackPane;
-        createScreens();
-        createOverlays();
+        createStartupScreens();
+        createStartupOverlays();
         setToSummaryScreen();
+
+        dayRolloverTimer_ = new DayRolloverTimer(this::refreshScreensForNewDay);
+        dayRolloverTimer_.start();
     }
 
     // ================================================================================
@@ -107,60 +141,99 @@ public class CenterPaneController {
 
     /**
      * Switches the current screen in the StackPane that is set within the
-     * center region of the BorderPane of the main window.
+     * center region of the BorderPane of the main window. The update is applied
+     * once the current event has been handled, and is replaced by any update
+     * made before then.
      *
      * @param taskList    that contains the tasks related to each screen
      * @param screenView  corresponding to the screen to switch to upon update
      */
     protected void updateScreen(List<Task> taskList, ScreenView screenView) {
         assert(taskList != null);
-        updateSummaryAndMainScreens(taskList, screenView);
+        markSummaryAndMainScreensStale(taskList, screenView);
+
+        boolean isUpdatePending = (pendingTaskList_ != null);
+
+        pendingTaskList_ = taskList;
+        pendingScreenView_ = screenView;
 
+        if (!isUpdatePending) {
+            pendingUpdateStartTime_ = System.nanoTime();
+            Platform.runLater(this::applyPendingUpdate);
+        }
+    }
+
+    private void applyPendingUpdate() {
+        List<Task> taskList = pendingTaskList_;
+        ScreenView screenView = pendingScreenView_;
+
+        pendingTaskList_ = null;
+        pendingScreenView_ = null;
+
+        long applyStartAllocatedBytes = Metrics.getAllocatedBytes();
+        long applyStartTime = System.nanoTime();
+        showUpdate(taskList, screenView);
+
+        long applyEndTime = System.nanoTime();
+        Metrics.record(Metrics.UPDATE_SCREEN, applyEndTime - applyStartTime,
+                       Metrics.getAllocatedBytesSince(applyStartAllocatedBytes));
+        Metrics.record(Metrics.UPDATE_SCREEN_LATENCY, applyEndTime - pendingUpdateStartTime_);
+    }
+
+    private void showUpdate(List<Task> taskList, ScreenView screenView) {
         switch (screenView) {
             case SCREEN_DONE : {
-                if (currentScreen_ != doneScreen_) {
-                    startScreenSwitchSequence(doneScreenNode_, doneScreen_);
+                DoneScreen doneScreen = getDoneScreen();
+                staleTaskLists_.remove(doneScreen);
+                if (currentScreen_ != doneScreen) {
+                    startScreenSwitchSequence(doneScreenNode_, doneScreen);
                 }
 
-                doneScreen_.updateTaskList(taskList);
+                updateTaskList(doneScreen, taskList);
                 break;
             }
 
             case SCREEN_MAIN : {
+                staleTaskLists_.remove(mainScreen_);
                 if (currentScreen_ != mainScreen_) {
                     startScreenSwitchSequence(mainScreenNode_, mainScreen_);
                 }
 
-                mainScreen_.updateTaskList(taskList);
+                updateTaskList(mainScreen_, taskList);
                 break;
             }
 
             case SCREEN_MAIN_ALL : {
-                if (currentScreen_ != mainAllScreen_) {
-                    startScreenSwitchSequence(mainAllScreenNode_, mainAllScreen_);
+                MainScreen mainAllScreen = getMainAllScreen();
+                staleTaskLists_.remove(mainAllScreen);
+                if (currentScreen_ != mainAllScreen) {
+                    startScreenSwitchSequence(mainAllScreenNode_, mainAllScreen);
                 }
 
-                mainAllScreen_.updateTaskList(taskList);
+                updateTaskList(mainAllScreen, taskList);
                 break;
             }
 
             case SCREEN_SEARCH : {
-                if (currentScreen_ != searchScreen_) {
-                    startScreenSwitchSequence(searchScreenNode_, searchScreen_);
+                SearchScreen searchScreen = getSearchScreen();
+                staleTaskLists_.remove(searchScreen);
+                if (currentScreen_ != searchScreen) {
+                    startScreenSwitchSequence(searchScreenNode_, searchScreen);
                 }
 
-                searchScreen_.updateTaskList(taskList);
+                updateTaskList(searchScreen, taskList);
                 break;
             }
 
             case SCREEN_SUMMARY : {
+                staleTaskLists_.remove(summaryScreen_);
                 if (currentScreen_ != summaryScreen_) {
                     // Special exception for summary screen, which requires the
                     // entire screen to be loaded before summarising can start.
                     switchToSummaryScreen();
                 }
 
-                summaryScreen_.updateTaskList(taskList);
+                updateTaskList(summaryScreen_, taskList);
 
                 if (!summaryScreen_.isSummarising()) {
                     if (!centerStackPane_.getChildren().contains(splashOverlayNode_)) {
@@ -178,29 +251,65 @@ public class CenterPaneController {
 
     /**
      * Used to keep both the Summary and Main screens up to date with one another.
+     * The hidden screens are only updated when they are next switched to.
      *
      * @param taskList     to update the screen with
      * @param screenView   must correspond to currentScreen and be either SCREEN_MAIN
      *                     or SCREEN_SUMMARY for any updates to take place.
      */
-    private void updateSummaryAndMainScreens(List<Task> taskList, ScreenView screenView) {
+    private void markSummaryAndMainScreensStale(List<Task> taskList, ScreenView screenView) {
         if (currentScreen_ == mainScreen_ && screenView == ScreenView.SCREEN_MAIN) {
-            summaryScreen_.updateTaskList(taskList);
+            staleTaskLists_.put(summaryScreen_, taskList);
         } else if (currentScreen_ == summaryScreen_ && screenView == ScreenView.SCREEN_SUMMARY) {
-            mainScreen_.updateTaskList(taskList);
-            mainAllScreen_.updateTaskList(taskList);
+            staleTaskLists_.put(mainScreen_, taskList);
+            // Not created yet if it has not been shown, and it is updated when it is
+            if (mainAllScreen_ != null) {
+                staleTaskLists_.put(mainAllScreen_, taskList);
+            }
+        }
+    }
+
+    private void updateIfStale(CenterScreen screen) {
+        List<Task> staleTaskList = staleTaskLists_.remove(screen);
+        if (staleTaskList != null) {
+            updateTaskList(screen, staleTaskList);
+        }
+    }
+
+    private void updateTaskList(CenterScreen screen, List<Task> taskList) {
+        shownTaskLists_.put(screen, taskList);
+        screen.updateTaskList(taskList);
+    }
+
+    /**
+     * Rebuilds the current screen with the task list it last showed, so that tasks
+     * are sorted by the new day and its 'Today' subcategory moves on. The other
+     * screens are rebuilt when they are next switched to, unless a newer task list
+     * is already waiting for them.
+     */
+    private void refreshScreensForNewDay() {
+        for (Map.Entry<CenterScreen, List<Task>> shownTaskList : shownTaskLists_.entrySet()) {
+            CenterScreen screen = shownTaskList.getKey();
+            if (screen != currentScreen_) {
+                staleTaskLists_.putIfAbsent(screen, shownTaskList.getValue());
+            }
+        }
+
+        List<Task> currentTaskList = shownTaskLists_.get(currentScreen_);
+        if (currentTaskList != null && pendingTaskList_ == null) {
+            updateTaskList(currentScreen_, currentTaskList);
         }
     }
 
     // Used at startup so that highlighting can start immediately from the first very operation
     protected void initialUpdateMainScreen(List<Task> taskList) {
-        mainScreen_.updateTaskList(taskList);
-        mainAllScreen_.updateTaskList(taskList);
+        staleTaskLists_.remove(mainScreen_);
+        updateTaskList(mainScreen_, taskList);
     }
 
     // Handle to pass search string between classes
     protected void receiveSearchStringAndPassToSearchScreen(String searchString) {
-        searchScreen_.updateSearchHeaderLabelText(searchString);
+        getSearchScreen().updateSearchHeaderLabelText(searchString);
     }
 
     // Methods below for scrolling current screen with key input. Scroll bar
@@ -228,7 +337,7 @@ public class CenterPaneController {
     // A handle to help switch between pages of the HelpOverlay if it is
     // currently being shown.
     protected void showNextHelpPage() {
-        if (currentOverlay_ != helpOverlay_) {
+        if (helpOverlay_ == null || currentOverlay_ != helpOverlay_) {
             return;
         }
         helpOverlay_.nextPage();
@@ -241,7 +350,8 @@ public class CenterPaneController {
      * overlay out.
      */
     protected void hideHelpOverlay() {
-        if (currentOverlay_ != helpOverlay_ || !centerStackPane_.getChildren().contains(helpOverlayNode_)) {
+        if (helpOverlay_ == null || currentOverlay_ != helpOverlay_ ||
+            !centerStackPane_.getChildren().contains(helpOverlayNode_)) {
             return;
         }
 
@@ -277,13 +387,15 @@ public class CenterPaneController {
      * creates a new FadeTransition to be used for fading the overlay in.
      */
     protected void showHelpOverlay() {
-        if (currentOverlay_ == helpOverlay_ || centerStackPane_.getChildren().contains(helpOverlay_)) {
+        HelpOverlay helpOverlay = getHelpOverlay();
+        if (currentOverlay_ == helpOverlay || centerStackPane_.getChildren().contains(helpOverlayNode_)) {
             return;
         }
 
         currentOverlay_ = helpOverlay_;
         centerStackPane_.getChildren().add(helpOverlayNode_);
         helpOverlayNode_.toFront();
+        bringMetricsOverlayToFront();
 
         FadeTransition helpOverlayFadeIn = getFadeInTransition(TIME_HELP_SCREEN_FADEIN, helpOverlayNode_);
         helpOverlayFadeIn.play();
@@ -297,11 +409,34 @@ public class CenterPaneController {
     protected void showSplashOverlay() {
         currentOverlay_ = splashOverlay_;
         centerStackPane_.getChildren().add(splashOverlayNode_);
+        bringMetricsOverlayToFront();
 
         buildSplashScreenAnimation();
         splashScreenTimeline_.play();
     }
 
+    /**
+     * Shows the MetricsOverlay on top of every screen and overlay if it is not
+     * shown, and hides it otherwise. Pulses are only timed while it is shown.
+     */
+    protected void toggleMetricsOverlay() {
+        MetricsOverlay metricsOverlay = getMetricsOverlay();
+
+        if (centerStackPane_.getChildren().contains(metricsOverlayNode_)) {
+            metricsOverlay.stopMonitoring();
+            centerStackPane_.getChildren().remove(metricsOverlayNode_);
+        } else {
+            centerStackPane_.getChildren().add(metricsOverlayNode_);
+            metricsOverlay.startMonitoring();
+        }
+    }
+
+    private void bringMetricsOverlayToFront() {
+        if (metricsOverlayNode_ != null && centerStackPane_.getChildren().contains(metricsOverlayNode_)) {
+            metricsOverlayNode_.toFront();
+        }
+    }
+
     // ================================================================================
     // Transition Methods
     // ================================================================================
@@ -360,6 +495,8 @@ public class CenterPaneController {
      *                          within the centerStackPane.
      */
     private void startScreenSwitchSequence(Node nodeToSwitchIn, CenterScreen screenToSwitchIn) {
+        updateIfStale(screenToSwitchIn);
+
         ParallelTransition incomingScreenTransition = screenToSwitchIn.getScreenSwitchInSequence();
         incomingScreenTransition.setOnFinished(incoming -> currentScreen_ = screenToSwitchIn);
 
@@ -367,17 +504,21 @@ public class CenterPaneController {
         outgoingScreenTransition.setOnFinished(outgoing -> {
             centerStackPane_.getChildren().remove(currentScreen_.getNode());
             centerStackPane_.getChildren().add(nodeToSwitchIn);
+            bringMetricsOverlayToFront();
             incomingScreenTransition.play();
         });
         outgoingScreenTransition.play();
     }
 
     private void startScreenSwitchSequenceNoAnimation(Node nodeToSwitchIn, CenterScreen screenToSwitchIn) {
+        updateIfStale(screenToSwitchIn);
+
         ParallelTransition incomingScreenTransition = screenToSwitchIn.getScreenSwitchInSequence();
         incomingScreenTransition.setOnFinished(incoming -> currentScreen_ = screenToSwitchIn);
 
         centerStackPane_.getChildren().remove(currentScreen_.getNode());
         centerStackPane_.getChildren().add(nodeToSwitchIn);
+        bringMetricsOverlayToFront();
 
         incomingScreenTransition.jumpTo(TRANSITION_CUE_POINT_END);
         incomingScreenTransition.play();
@@ -388,8 +529,11 @@ public class CenterPaneController {
     // correctly if the screen switch transition of the outgoing screen is
     // played together.
     private void switchToSummaryScreen() {
+        updateIfStale(summaryScreen_);
+
         centerStackPane_.getChildren().add(summaryScreenNode_);
         centerStackPane_.getChildren().remove(currentScreen_.getNode());
+        bringMetricsOverlayToFront();
 
         summaryScreen_.getScreenSwitchInSequence().play();
 
@@ -400,16 +544,16 @@ public class CenterPaneController {
     // Init Methods
     // ================================================================================
 
-    private void createOverlays() {
-        createHelpOverlay();
+    // The HelpOverlay is only created when it is first shown
+    private void createStartupOverlays() {
         createSplashOverlay();
     }
 
-    private void createScreens() {
+    // The SummaryScreen is shown at startup and the MainScreen is switched to right
+    // after if the tasks do not need to be summarised. The other screens are only
+    // created when they are first switched to.
+    private void createStartupScreens() {
         createMainScreen();
-        createMainAllScreen();
-        createDoneScreen();
-        createSearchScreen();
         createSummaryScreen();
     }
 
@@ -418,6 +562,11 @@ public class CenterPaneController {
         this.helpOverlayNode_ = helpOverlay_.getNode();
     }
 
+    private void createMetricsOverlay() {
+        this.metricsOverlay_ = new MetricsOverlay();
+        this.metricsOverlayNode_ = metricsOverlay_.getNode();
+    }
+
     private void createSplashOverlay() {
         this.splashOverlay_ = new SplashOverlay();
         this.splashOverlayNode_ = splashOverlay_.getNode();
@@ -478,25 +627,60 @@ public class CenterPaneController {
     // Getter Methods
     // ================================================================================
 
-    //@@author generated
-    protected Node getDoneScreenNode() {
-        return doneScreenNode_;
+    private DoneScreen getDoneScreen() {
+        if (doneScreen_ == null) {
+            createDoneScreen();
+        }
+        return doneScreen_;
     }
 
-    protected Node getMainScreenNode() {
-        return mainScreenNode_;
+    private MainScreen getMainAllScreen() {
+        if (mainAllScreen_ == null) {
+            createMainAllScreen();
+        }
+        return mainAllScreen_;
     }
 
-    protected Node getSearchScreenNode() {
-        return searchScreenNode_;
+    private SearchScreen getSearchScreen() {
+        if (searchScreen_ == null) {
+            createSearchScreen();
+        }
+        return searchScreen_;
     }
 
-    protected Node getSummaryScreenNode() {
-        return summaryScreenNode_;
+    private HelpOverlay getHelpOverlay() {
+        if (helpOverlay_ == null) {
+            createHelpOverlay();
+        }
+        return helpOverlay_;
+    }
+
+    private MetricsOverlay getMetricsOverlay() {
+        if (metricsOverlay_ == null) {
+            createMetricsOverlay();
+        }
+        return metricsOverlay_;
+    }
+
+    protected Node getDoneScreenNode() {
+        return getDoneScreen().getNode();
+    }
+
+    protected Node getSearchScreenNode() {
+        return getSearchScreen().getNode();
     }
 
     protected Node getHelpOverlayNode() {
-        return helpOverlayNode_;
+        return getHelpOverlay().getNode();
+    }
+
+    //@@author generated
+    protected Node getMainScreenNode() {
+        return mainScreenNode_;
+    }
+
+    protected Node getSummaryScreenNode() {
+        return summaryScreenNode_;
     }
 
     protected Node getSplashOverlayNode() {
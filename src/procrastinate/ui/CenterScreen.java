@@ -1,13 +1,13 @@
 //@@author A0121597B
 package procrastinate.ui;
 
-import java.io.IOException;
-import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -20,9 +20,10 @@ import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Point2D;
 import javafx.scene.Node;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ScrollPane.ScrollBarPolicy;
 import javafx.scene.layout.VBox;
 import javafx.util.Duration;
 import javafx.util.converter.NumberStringConverter;
@@ -52,7 +53,11 @@ public abstract class CenterScreen extends VBox {
     protected static final String SEPARATOR_EVENT_DATE_SAME_DAY = " to ";
     protected static final String SEPARATOR_FRIENDLY_DATE_OR_TIME = " ";
 
-    private static final String LOCATION_CENTER_SCREEN_LAYOUT = "views/CenterScreen.fxml";
+    private static final String ID_SCROLL_PANE = "scrollPane";
+    private static final String ID_MAIN_VBOX = "mainVBox";
+
+    private static final String STYLE_CLASS_CENTER_SCREEN = "centerScreen";
+    private static final String STYLE_SCROLL_PANE_BACKGROUND = "-fx-background-color:white;";
 
     private static final String SEPARATOR_UI_NUMBER = ". ";
 
@@ -66,8 +71,11 @@ public abstract class CenterScreen extends VBox {
     protected static final double OPACITY_ZERO = 0;
     protected static final double OPACITY_FULL = 1;
 
-    // Can be changed to adjust the number of subcategories shown in the 'Upcoming' category
-    private static final int NUMBER_OF_DAYS_IN_A_WEEK = 7;
+    // Screens with more tasks than this only realize the TaskEntry that are visible
+    protected static final int VIRTUALIZATION_THRESHOLD = 100;
+
+    // Screens with more tasks than this are updated without animations
+    protected static final int ANIMATION_THRESHOLD = VIRTUALIZATION_THRESHOLD;
 
     // ================================================================================
     // Class Variables
@@ -77,12 +85,16 @@ public abstract class CenterScreen extends VBox {
     protected StringProperty taskCountFormatted = new SimpleStringProperty();
     protected StringProperty taskCountString = new SimpleStringProperty();
 
-    protected SimpleDateFormat dateFormatter = new SimpleDateFormat("d MMM");
-    protected SimpleDateFormat timeFormatter = new SimpleDateFormat("h:mma");
+    // DateTimeFormatter is immutable and thread-safe, so display strings can be
+    // formatted off the FX thread by TaskListViewModel
+    protected static final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("d MMM");
+    protected static final DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("h:mma");
+
+    private static final DateTimeFormatter dateFormatterWithFriendlyDayAndYear_ = DateTimeFormatter.ofPattern("EEE d MMM''yy h:mma");
+    private static final DateTimeFormatter friendlyDayFormatter_ = DateTimeFormatter.ofPattern("EEE");
 
-    private SimpleDateFormat dateFormatterWithFriendlyDayAndYear_ = new SimpleDateFormat("EEE d MMM''yy h:mma");
-    private SimpleDateFormat friendlyDayFormatter_ = new SimpleDateFormat("EEE");
-    private SimpleDateFormat yearFormatter_ = new SimpleDateFormat("yyyy");
+    // Shared by all screens so that the number of running animations is capped across them
+    private static AnimationScheduler animationScheduler_ = new AnimationScheduler();
 
     private Node node_;
 
@@ -90,11 +102,6 @@ public abstract class CenterScreen extends VBox {
     private Date currentDate_;
     private Date endOfWeek_;
 
-    // ================================================================================
-    // FXML Field Variables
-    // ================================================================================
-
-    @FXML
     private VBox mainVBox;
 
     // ================================================================================
@@ -104,6 +111,7 @@ public abstract class CenterScreen extends VBox {
     protected CenterScreen() {
         loadLayout();
         setupBinding();
+        setupScrollListeners();
     }
 
     // ================================================================================
@@ -133,6 +141,55 @@ public abstract class CenterScreen extends VBox {
     // ParallelTransition used to prevent animation clashing
     protected abstract ParallelTransition getScreenSwitchInSequence();
 
+    /**
+     * Screens that show their tasks through VirtualizedTaskList should return them here,
+     * so that the visible rows can be updated as the screen is scrolled.
+     *
+     * @return the VirtualizedTaskList of this screen, which is empty by default
+     */
+    protected List<VirtualizedTaskList> getVirtualizedTaskLists() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Virtualization can be disabled by screens that need to measure all their TaskEntry.
+     *
+     * @param numTasks    number of tasks to be shown on the screen
+     * @return            true if only the visible TaskEntry should be realized
+     */
+    protected boolean isVirtualized(int numTasks) {
+        return numTasks > VIRTUALIZATION_THRESHOLD;
+    }
+
+    /**
+     * Realizes the rows of each VirtualizedTaskList that fall within the current
+     * viewport of the screen's ScrollPane.
+     */
+    protected void updateVisibleTaskEntries() {
+        ScrollPane scrollPane = (ScrollPane) node_;
+        Node content = scrollPane.getContent();
+
+        double viewportHeight = scrollPane.getViewportBounds().getHeight();
+        if (viewportHeight <= 0) {
+            // Not laid out yet, keep the rows realized when rendered
+            return;
+        }
+
+        double scrollableHeight = Math.max(0, content.getLayoutBounds().getHeight() - viewportHeight);
+        double viewportTop = scrollPane.getVvalue() * scrollableHeight;
+
+        for (VirtualizedTaskList virtualizedTaskList : getVirtualizedTaskLists()) {
+            if (!virtualizedTaskList.isVirtualized()) {
+                continue;
+            }
+
+            VBox taskListVBox = virtualizedTaskList.getTaskListVBox();
+            Point2D topInTaskList = taskListVBox.sceneToLocal(content.localToScene(0, viewportTop));
+
+            virtualizedTaskList.updateVisibleRows(topInTaskList.getY(), topInTaskList.getY() + viewportHeight);
+        }
+    }
+
     protected void setMainVBoxBackgroundImage(VBox mainVBox, String value) {
         mainVBox.setStyle(value);
     }
@@ -142,9 +199,11 @@ public abstract class CenterScreen extends VBox {
      * and generate subcategories for 'Upcoming'
      */
     protected void updateDates() {
-        today_ = Date.from(getInstantFromLocalDateTime(getDateTimeStartOfToday()));
+        DayBoundaries dayBoundaries = DayBoundaries.getForToday();
+
+        today_ = dayBoundaries.getToday();
         currentDate_ = new Date();
-        endOfWeek_ = getEndOfWeekDate(today_);
+        endOfWeek_ = dayBoundaries.getEndOfWeek();
     }
 
     // ================================================================================
@@ -175,74 +234,74 @@ public abstract class CenterScreen extends VBox {
     // Date Format Methods
     // ================================================================================
 
-    protected String getDateFormatForDeadlineWithDifferentYear(Date date) {
-        return dateFormatterWithFriendlyDayAndYear_.format(date);
+    protected static String getDateFormatForDeadlineWithDifferentYear(Date date) {
+        return format(dateFormatterWithFriendlyDayAndYear_, date);
     }
 
-    protected String getDateFormatForEventWithDifferentYearButInOneDay(Date date, Date endDate) {
-        return dateFormatterWithFriendlyDayAndYear_.format(date) + SEPARATOR_EVENT_DATE_SAME_DAY +
-               timeFormatter.format(endDate);
+    protected static String getDateFormatForEventWithDifferentYearButInOneDay(Date date, Date endDate) {
+        return format(dateFormatterWithFriendlyDayAndYear_, date) + SEPARATOR_EVENT_DATE_SAME_DAY +
+               format(timeFormatter, endDate);
     }
 
-    protected String getDateFormatForEventWithDifferentYearAndDifferentDays(Date date, Date endDate) {
-        return dateFormatterWithFriendlyDayAndYear_.format(date) + SEPARATOR_EVENT_DATE_GENERAL +
-               dateFormatterWithFriendlyDayAndYear_.format(endDate);
+    protected static String getDateFormatForEventWithDifferentYearAndDifferentDays(Date date, Date endDate) {
+        return format(dateFormatterWithFriendlyDayAndYear_, date) + SEPARATOR_EVENT_DATE_GENERAL +
+               format(dateFormatterWithFriendlyDayAndYear_, endDate);
     }
 
-    protected String getDateFormatForDeadlineWithSameYear(Date date) {
+    protected static String getDateFormatForDeadlineWithSameYear(Date date) {
         return getFriendlyDayFormat(date) + SEPARATOR_FRIENDLY_DATE_OR_TIME +
-               dateFormatter.format(date) + SEPARATOR_FRIENDLY_DATE_OR_TIME +
-               timeFormatter.format(date);
+               format(dateFormatter, date) + SEPARATOR_FRIENDLY_DATE_OR_TIME +
+               format(timeFormatter, date);
     }
 
-    protected String getDateFormatForEventWithSameYearAndInOneDay(Date date, Date endDate) {
+    protected static String getDateFormatForEventWithSameYearAndInOneDay(Date date, Date endDate) {
         return getFriendlyDayFormat(date) + SEPARATOR_FRIENDLY_DATE_OR_TIME +
-               dateFormatter.format(date) + SEPARATOR_FRIENDLY_DATE_OR_TIME +
-               timeFormatter.format(date) + SEPARATOR_EVENT_DATE_SAME_DAY +
-               timeFormatter.format(endDate);
+               format(dateFormatter, date) + SEPARATOR_FRIENDLY_DATE_OR_TIME +
+               format(timeFormatter, date) + SEPARATOR_EVENT_DATE_SAME_DAY +
+               format(timeFormatter, endDate);
     }
 
-    protected String getDateFormatForEventWithSameYearAndDifferentDays(Date date, Date endDate) {
+    protected static String getDateFormatForEventWithSameYearAndDifferentDays(Date date, Date endDate) {
         return getFriendlyDayFormat(date) + SEPARATOR_FRIENDLY_DATE_OR_TIME +
-               dateFormatter.format(date) + SEPARATOR_FRIENDLY_DATE_OR_TIME +
-               timeFormatter.format(date) + SEPARATOR_EVENT_DATE_GENERAL +
+               format(dateFormatter, date) + SEPARATOR_FRIENDLY_DATE_OR_TIME +
+               format(timeFormatter, date) + SEPARATOR_EVENT_DATE_GENERAL +
                getFriendlyDayFormat(endDate) + SEPARATOR_FRIENDLY_DATE_OR_TIME +
-               dateFormatter.format(endDate) + SEPARATOR_FRIENDLY_DATE_OR_TIME +
-               timeFormatter.format(endDate);
+               format(dateFormatter, endDate) + SEPARATOR_FRIENDLY_DATE_OR_TIME +
+               format(timeFormatter, endDate);
     }
 
-    protected String getDateFormatForUpcomingEventAndInOneDay(Date startDate, Date endDate) {
-        return timeFormatter.format(startDate) + SEPARATOR_EVENT_DATE_SAME_DAY +
-               timeFormatter.format(endDate);
+    protected static String getDateFormatForUpcomingEventAndInOneDay(Date startDate, Date endDate) {
+        return format(timeFormatter, startDate) + SEPARATOR_EVENT_DATE_SAME_DAY +
+               format(timeFormatter, endDate);
     }
 
-    protected String getDateFormatForUpcomingEventButDifferentDays(Date startDate, Date endDate) {
-        return timeFormatter.format(startDate) + SEPARATOR_EVENT_DATE_GENERAL +
+    protected static String getDateFormatForUpcomingEventButDifferentDays(Date startDate, Date endDate) {
+        return format(timeFormatter, startDate) + SEPARATOR_EVENT_DATE_GENERAL +
                getFriendlyDayFormatForUpcomingCategory(endDate) + SEPARATOR_FRIENDLY_DATE_OR_TIME +
-               timeFormatter.format(endDate);
+               format(timeFormatter, endDate);
     }
 
-    protected String getDateFormatForUpcomingEventButDifferentWeek(Date startDate, Date endDate) {
-        return timeFormatter.format(startDate) + SEPARATOR_EVENT_DATE_GENERAL +
+    protected static String getDateFormatForUpcomingEventButDifferentWeek(Date startDate, Date endDate) {
+        return format(timeFormatter, startDate) + SEPARATOR_EVENT_DATE_GENERAL +
                getFriendlyDayFormat(endDate) + SEPARATOR_FRIENDLY_DATE_OR_TIME +
-               dateFormatter.format(endDate) + SEPARATOR_FRIENDLY_DATE_OR_TIME +
-               timeFormatter.format(endDate);
+               format(dateFormatter, endDate) + SEPARATOR_FRIENDLY_DATE_OR_TIME +
+               format(timeFormatter, endDate);
     }
 
-    protected String getDateFormatForUpcomingEventButDifferentYear(Date startDate, Date endDate) {
-        return timeFormatter.format(startDate) + SEPARATOR_EVENT_DATE_GENERAL +
-               dateFormatterWithFriendlyDayAndYear_.format(endDate);
+    protected static String getDateFormatForUpcomingEventButDifferentYear(Date startDate, Date endDate) {
+        return format(timeFormatter, startDate) + SEPARATOR_EVENT_DATE_GENERAL +
+               format(dateFormatterWithFriendlyDayAndYear_, endDate);
     }
 
     // ================================================================================
     // Utility methods
     // ================================================================================
 
-    protected boolean isSameYear(Date firstDate, Date secondDate) {
-        return yearFormatter_.format(firstDate).equals(yearFormatter_.format(secondDate));
+    protected static boolean isSameYear(Date firstDate, Date secondDate) {
+        return toLocalDateTime(firstDate).getYear() == toLocalDateTime(secondDate).getYear();
     }
 
-    protected boolean isSameDay(Date firstDate, Date secondDate) {
+    protected static boolean isSameDay(Date firstDate, Date secondDate) {
         Calendar calendar = Calendar.getInstance();
 
         calendar.setTime(firstDate);
@@ -260,7 +319,7 @@ public abstract class CenterScreen extends VBox {
      * @param localDateTime    to be converted
      * @return Instant         generated from the given LocalDateTime
      */
-    protected Instant getInstantFromLocalDateTime(LocalDateTime localDateTime) {
+    protected static Instant getInstantFromLocalDateTime(LocalDateTime localDateTime) {
         return localDateTime.atZone(ZoneId.systemDefault()).toInstant();
     }
 
@@ -270,27 +329,29 @@ public abstract class CenterScreen extends VBox {
      *
      * @return LocalDateTime of today at 0000hrs
      */
-    protected LocalDateTime getDateTimeStartOfToday() {
+    protected static LocalDateTime getDateTimeStartOfToday() {
         return LocalDate.now().atStartOfDay();
     }
 
-    private String getFriendlyDayFormat(Date date) {
-        return friendlyDayFormatter_.format(date);
+    /**
+     * @param formatter    to format the date with
+     * @param date         to be formatted, in the system default time zone
+     * @return             the formatted date string
+     */
+    protected static String format(DateTimeFormatter formatter, Date date) {
+        return formatter.format(toLocalDateTime(date));
     }
 
-    // Generates the date comparing tasks to be placed in the 'Upcoming' category
-    private Date getEndOfWeekDate(Date today) {
-        Calendar calendar = Calendar.getInstance();
-
-        calendar.setFirstDayOfWeek(Calendar.MONDAY);
-        calendar.setTime(today);
-        calendar.add(Calendar.DAY_OF_WEEK, NUMBER_OF_DAYS_IN_A_WEEK);
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
 
-        return calendar.getTime();
+    private static String getFriendlyDayFormat(Date date) {
+        return format(friendlyDayFormatter_, date);
     }
 
-    private String getFriendlyDayFormatForUpcomingCategory(Date date) {
-        LocalDateTime startingDateTime = LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    private static String getFriendlyDayFormatForUpcomingCategory(Date date) {
+        LocalDateTime startingDateTime = toLocalDateTime(date);
         if (startingDateTime.getDayOfMonth() == getDateTimeStartOfToday().getDayOfMonth()) {
             return DATE_TODAY;
 
@@ -306,15 +367,29 @@ public abstract class CenterScreen extends VBox {
     // Init Methods
     // ================================================================================
 
+    // Built in code instead of being loaded from FXML since every screen needs one
     private void loadLayout() {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource(LOCATION_CENTER_SCREEN_LAYOUT));
-        loader.setController(this); // Required due to different package
-                                    // declaration from Main
-        try {
-            this.node_ = loader.load();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        this.mainVBox = new VBox();
+        mainVBox.setId(ID_MAIN_VBOX);
+        mainVBox.getStyleClass().add(STYLE_CLASS_CENTER_SCREEN);
+
+        ScrollPane scrollPane = new ScrollPane(mainVBox);
+        scrollPane.setId(ID_SCROLL_PANE);
+        scrollPane.setFitToHeight(true);
+        scrollPane.setFitToWidth(true);
+        scrollPane.setFocusTraversable(false);
+        scrollPane.setHbarPolicy(ScrollBarPolicy.NEVER);
+        scrollPane.setVbarPolicy(ScrollBarPolicy.NEVER);
+        scrollPane.setStyle(STYLE_SCROLL_PANE_BACKGROUND);
+
+        this.node_ = scrollPane;
+    }
+
+    private void setupScrollListeners() {
+        ScrollPane scrollPane = (ScrollPane) node_;
+
+        scrollPane.vvalueProperty().addListener((observable, oldValue, newValue) -> updateVisibleTaskEntries());
+        scrollPane.viewportBoundsProperty().addListener((observable, oldValue, newValue) -> updateVisibleTaskEntries());
     }
 
     /**
@@ -349,4 +424,8 @@ public abstract class CenterScreen extends VBox {
     protected Date getEndOfWeek() {
         return endOfWeek_;
     }
+
+    protected static AnimationScheduler getAnimationScheduler() {
+        return animationScheduler_;
+    }
 }
@@ -0,0 +1,126 @@
+//@@author A0121597B
+package procrastinate.ui;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * <h1>DayBoundaries holds the dates that tasks are sorted into categories by, which
+ * only change once a day.</h1>
+ *
+ * It contains the start of the day, the end of the 'Upcoming' category and the header
+ * of each 'Upcoming' subcategory. They are worked out once for each day and shared by
+ * all screens, instead of on every update.
+ */
+public class DayBoundaries {
+
+    // ================================================================================
+    // Message Strings
+    // ================================================================================
+
+    private static final String SUBCATEGORY_TODAY = "Today";
+    private static final String SUBCATEGORY_TOMORROW = "Tomorrow";
+
+    private static final String SEPARATOR_SHORT_DATE = ", ";
+
+    // ================================================================================
+    // Constants
+    // ================================================================================
+
+    // Can be changed to adjust the number of subcategories shown in the 'Upcoming' category
+    private static final int NUMBER_OF_DAYS_IN_A_WEEK = 7;
+
+    private static final DateTimeFormatter shortDateFormatter_ = DateTimeFormatter.ofPattern("d MMM");
+
+    // ================================================================================
+    // Class Variables
+    // ================================================================================
+
+    private static DayBoundaries current_;
+
+    private LocalDate day_;
+
+    private Date today_;
+    private Date endOfWeek_;
+
+    private List<String> upcomingSubcategoryHeaders_ = new ArrayList<>();
+
+    // ================================================================================
+    // DayBoundaries Constructor
+    // ================================================================================
+
+    /**
+     * @param day    that the boundaries are for
+     */
+    protected DayBoundaries(LocalDate day) {
+        this.day_ = day;
+        this.today_ = toDate(day);
+        this.endOfWeek_ = toDate(day.plusDays(NUMBER_OF_DAYS_IN_A_WEEK));
+
+        createUpcomingSubcategoryHeaders();
+    }
+
+    // ================================================================================
+    // DayBoundaries Methods
+    // ================================================================================
+
+    /**
+     * @return    the boundaries for the current day, only worked out again once the day changes
+     */
+    protected static synchronized DayBoundaries getForToday() {
+        LocalDate today = LocalDate.now();
+
+        if (current_ == null || !current_.day_.equals(today)) {
+            current_ = new DayBoundaries(today);
+        }
+        return current_;
+    }
+
+    private void createUpcomingSubcategoryHeaders() {
+        for (int i = 0; i < NUMBER_OF_DAYS_IN_A_WEEK; i++) {
+            LocalDate date = day_.plusDays(i);
+            String shortDate = SEPARATOR_SHORT_DATE + date.format(shortDateFormatter_);
+
+            if        (i == 0) {
+                upcomingSubcategoryHeaders_.add(SUBCATEGORY_TODAY + shortDate);
+            } else if (i == 1) {
+                upcomingSubcategoryHeaders_.add(SUBCATEGORY_TOMORROW + shortDate);
+            } else {
+                upcomingSubcategoryHeaders_.add(date.getDayOfWeek().getDisplayName(TextStyle.FULL, Locale.getDefault()) +
+                                                shortDate);
+            }
+        }
+    }
+
+    private static Date toDate(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    // ================================================================================
+    // Getter Methods
+    // ================================================================================
+
+    //@@author generated
+    protected LocalDate getDay() {
+        return day_;
+    }
+
+    protected Date getToday() {
+        return today_;
+    }
+
+    protected Date getEndOfWeek() {
+        return endOfWeek_;
+    }
+
+    protected List<String> getUpcomingSubcategoryHeaders() {
+        return Collections.unmodifiableList(upcomingSubcategoryHeaders_);
+    }
+}
@@ -0,0 +1,85 @@
+//@@author A0121597B
+package procrastinate.ui;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javafx.application.Platform;
+
+/**
+ * <h1>DayRolloverTimer runs a task on the JavaFX Application Thread at every local
+ * midnight.</h1>
+ *
+ * Used to refresh the screens once the day changes, e.g. so that the 'Today'
+ * subcategory of a window left open overnight moves on to the next day.
+ */
+public class DayRolloverTimer {
+
+    // ================================================================================
+    // Message Strings
+    // ================================================================================
+
+    private static final String THREAD_NAME_DAY_ROLLOVER = "DayRolloverTimer";
+
+    // ================================================================================
+    // Constants
+    // ================================================================================
+
+    // Runs slightly after midnight so that the new day has surely started
+    private static final long TIME_AFTER_MIDNIGHT_IN_MS = 1000;
+
+    // ================================================================================
+    // Class Variables
+    // ================================================================================
+
+    // Shared by all timers, only waits in between days
+    private static final ScheduledExecutorService rolloverExecutor_ = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, THREAD_NAME_DAY_ROLLOVER);
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Runnable onRollover_;
+
+    private ScheduledFuture<?> nextRollover_;
+
+    // ================================================================================
+    // DayRolloverTimer Constructor
+    // ================================================================================
+
+    /**
+     * @param onRollover    to run on the JavaFX Application Thread once the day changes
+     */
+    protected DayRolloverTimer(Runnable onRollover) {
+        this.onRollover_ = onRollover;
+    }
+
+    // ================================================================================
+    // DayRolloverTimer Methods
+    // ================================================================================
+
+    protected synchronized void start() {
+        stop();
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime nextMidnight = LocalDate.now().plusDays(1).atStartOfDay();
+        long delay = Duration.between(now, nextMidnight).toMillis() + TIME_AFTER_MIDNIGHT_IN_MS;
+
+        nextRollover_ = rolloverExecutor_.schedule(() -> {
+            Platform.runLater(onRollover_);
+            start();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    protected synchronized void stop() {
+        if (nextRollover_ != null) {
+            nextRollover_.cancel(false);
+            nextRollover_ = null;
+        }
+    }
+}
@@ -85,19 +85,12 @@ public class DoneScreen extends SingleCategoryScreen {
             }
         }
 
+        renderTaskList();
         checkIfMainVBoxIsEmpty(mainVBox);
     }
 
     private void addDoneTask(String taskCount, Task task, String dateString) {
-        TaskEntry taskEntry;
-
-        if (dateString == null) {
-            taskEntry = new TaskEntry(taskCount, task.getDescription(), task.isDone());
-        } else {
-            taskEntry = new TaskEntry(taskCount, task.getDescription(), dateString, task.isDone());
-        }
-
-        thisCategoryTaskList.getChildren().add(taskEntry.getEntryDisplay());
+        thisCategoryRows.addRow(new TaskRow(task.getId(), taskCount, task.getDescription(), dateString, task.isDone()));
     }
 
     private String getDateFormatForDateline(Date date) {
@@ -138,7 +131,7 @@ public class DoneScreen extends SingleCategoryScreen {
     // ================================================================================
 
     private void checkIfMainVBoxIsEmpty(VBox mainVBox) {
-        if (thisCategoryTaskList.getChildren().isEmpty()) {
+        if (thisCategoryRows.isEmpty()) {
             mainVBox.getChildren().remove(thisCategoryNode);
             mainVBox.setStyle(FX_BACKGROUND_IMAGE_NO_DONE_TASKS);
 
@@ -0,0 +1,76 @@
+//@@author A0121597B
+package procrastinate.ui;
+
+import javafx.animation.Interpolator;
+import javafx.animation.Transition;
+import javafx.scene.Node;
+import javafx.util.Duration;
+
+/**
+ * <h1>HighlightTransition fades the background of a TaskEntry from the highlight
+ * colour back to none.</h1>
+ *
+ * The background colour is set through the style of the node, so it is only changed
+ * a fixed number of times over the whole transition instead of on every frame. A
+ * HighlightTransition can be played again for the same node whenever it is changed.
+ */
+public class HighlightTransition extends Transition {
+
+    // ================================================================================
+    // Message Strings
+    // ================================================================================
+
+    private static final String STYLE_BACKGROUND_HIGHLIGHT_FORMAT = "-fx-background-color: rgb(250,221,177, %.2f);";
+
+    // ================================================================================
+    // Animation Values
+    // ================================================================================
+
+    // Time values are in milliseconds
+    private static final double TIME_HIGHLIGHT = 1010;
+
+    private static final double STYLE_BACKGROUND_HIGHLIGHT_RATE = 0.8;
+
+    // Number of times the background colour is changed from full opacity to none
+    private static final int STYLE_BACKGROUND_HIGHLIGHT_STEPS = 20;
+
+    // ================================================================================
+    // Class Variables
+    // ================================================================================
+
+    private Node node_;
+
+    private int currentStep_ = -1;
+
+    // ================================================================================
+    // HighlightTransition Constructor
+    // ================================================================================
+
+    /**
+     * @param node    displayed TaskEntry node to be highlighted
+     */
+    protected HighlightTransition(Node node) {
+        this.node_ = node;
+
+        setCycleDuration(Duration.millis(TIME_HIGHLIGHT));
+        setInterpolator(Interpolator.LINEAR);
+        setRate(STYLE_BACKGROUND_HIGHLIGHT_RATE);
+    }
+
+    // ================================================================================
+    // Transition Methods
+    // ================================================================================
+
+    @Override
+    protected void interpolate(double fraction) {
+        int step = (int) Math.round(fraction * STYLE_BACKGROUND_HIGHLIGHT_STEPS);
+        if (step == currentStep_) {
+            return;
+        }
+
+        currentStep_ = step;
+
+        float backgroundColorOpacity = 1 - ((float) step / STYLE_BACKGROUND_HIGHLIGHT_STEPS);
+        node_.setStyle(String.format(STYLE_BACKGROUND_HIGHLIGHT_FORMAT, backgroundColorOpacity));
+    }
+}
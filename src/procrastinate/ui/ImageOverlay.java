@@ -1,12 +1,11 @@
 //@@author A0121597B
 package procrastinate.ui;
 
-import java.io.IOException;
-
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
 import javafx.scene.image.ImageView;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 
 /**
@@ -22,7 +21,11 @@ public abstract class ImageOverlay {
     // Message Strings
     // ================================================================================
 
-    private static final String LOCATION_HELP_OVERLAY_LAYOUT = "views/ImageOverlay.fxml";
+    private static final String STYLE_CLASS_IMAGE_OVERLAY = "imageOverlay";
+
+    private static final String ID_OVERLAY = "overlay";
+    private static final String ID_CONTAINER = "container";
+    private static final String ID_IMAGE_VIEW = "imageView";
 
     // ================================================================================
     // Class Variables
@@ -30,13 +33,7 @@ public abstract class ImageOverlay {
 
     protected Node node;
 
-    // ================================================================================
-    // FXML Field Variables
-    // ================================================================================
-
-    @FXML
     protected ImageView imageView;
-    @FXML
     protected VBox container;
 
     // ================================================================================
@@ -57,15 +54,24 @@ public abstract class ImageOverlay {
     // Init Methods
     // ================================================================================
 
+    // Built in code instead of being loaded from FXML, with the ids used for CSS styling
     private void loadLayout() {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource(LOCATION_HELP_OVERLAY_LAYOUT));
-        loader.setController(this); // Required due to different package
-                                    // declaration from Main
-        try {
-            this.node = loader.load();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        Region overlay = new Region();
+        overlay.setId(ID_OVERLAY);
+
+        this.imageView = new ImageView();
+        imageView.setId(ID_IMAGE_VIEW);
+        imageView.setPickOnBounds(true);
+        imageView.setPreserveRatio(true);
+        VBox.setVgrow(imageView, Priority.ALWAYS);
+
+        this.container = new VBox(imageView);
+        container.setId(ID_CONTAINER);
+
+        StackPane imageOverlay = new StackPane(overlay, container);
+        imageOverlay.getStyleClass().add(STYLE_CLASS_IMAGE_OVERLAY);
+
+        this.node = imageOverlay;
     }
 
     // ================================================================================
@@ -0,0 +1,130 @@
+//@@author A0121597B
+package procrastinate.ui;
+
+import com.sun.javafx.tk.TKPulseListener;
+import com.sun.javafx.tk.Toolkit;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
+import javafx.util.Duration;
+import procrastinate.Metrics;
+
+/**
+ * <h1>MetricsOverlay is a developer overlay showing how long each part of handling
+ * a command takes.</h1>
+ *
+ * It shows the summary of the Metrics registry, which times the parsing, running and
+ * saving of commands and the updating of screens, and refreshes it periodically.
+ * While shown, it also times each JavaFX pulse, i.e. the CSS, layout and scene graph
+ * synchronisation of a frame.
+ *
+ * <p><b>Note:</b>
+ * <br>It does not take any mouse events, so the screen below it can still be used.
+ */
+public class MetricsOverlay {
+
+    // ================================================================================
+    // Message Strings
+    // ================================================================================
+
+    private static final String STYLE_METRICS_LABEL = "-fx-font-family: monospace;" +
+                                                      "-fx-font-size: 10;" +
+                                                      "-fx-text-fill: white;" +
+                                                      "-fx-padding: 8;" +
+                                                      "-fx-background-color: rgba(0, 0, 0, 0.75);" +
+                                                      "-fx-background-radius: 5;";
+
+    // ================================================================================
+    // Constants
+    // ================================================================================
+
+    private static final double TIME_REFRESH_INTERVAL = 500;
+
+    // ================================================================================
+    // Class Variables
+    // ================================================================================
+
+    private Label metricsLabel_;
+
+    private Timeline refreshTimeline_;
+
+    private long pulseStartTime_ = 0;
+
+    private TKPulseListener pulseStartListener_ = () -> pulseStartTime_ = System.nanoTime();
+    private TKPulseListener pulseEndListener_ = this::recordPulse;
+
+    // ================================================================================
+    // MetricsOverlay Constructor
+    // ================================================================================
+
+    protected MetricsOverlay() {
+        buildLayout();
+        buildRefreshTimeline();
+    }
+
+    // ================================================================================
+    // MetricsOverlay Methods
+    // ================================================================================
+
+    /**
+     * Starts timing pulses and refreshing the summary shown.
+     */
+    protected void startMonitoring() {
+        Toolkit.getToolkit().addStageTkPulseListener(pulseStartListener_);
+        Toolkit.getToolkit().addPostSceneTkPulseListener(pulseEndListener_);
+
+        refresh();
+        refreshTimeline_.play();
+    }
+
+    protected void stopMonitoring() {
+        refreshTimeline_.stop();
+
+        Toolkit.getToolkit().removeStageTkPulseListener(pulseStartListener_);
+        Toolkit.getToolkit().removePostSceneTkPulseListener(pulseEndListener_);
+        pulseStartTime_ = 0;
+    }
+
+    private void refresh() {
+        metricsLabel_.setText(Metrics.getSummary());
+    }
+
+    // Stage listeners are the first to be run in a pulse and post-scene listeners the last
+    private void recordPulse() {
+        if (pulseStartTime_ != 0) {
+            Metrics.record(Metrics.FX_PULSE, System.nanoTime() - pulseStartTime_);
+            pulseStartTime_ = 0;
+        }
+    }
+
+    // ================================================================================
+    // Init Methods
+    // ================================================================================
+
+    private void buildLayout() {
+        metricsLabel_ = new Label();
+        metricsLabel_.setStyle(STYLE_METRICS_LABEL);
+        metricsLabel_.setMouseTransparent(true);
+
+        StackPane.setAlignment(metricsLabel_, Pos.TOP_RIGHT);
+    }
+
+    private void buildRefreshTimeline() {
+        refreshTimeline_ = new Timeline(new KeyFrame(Duration.millis(TIME_REFRESH_INTERVAL), refresh -> refresh()));
+        refreshTimeline_.setCycleCount(Animation.INDEFINITE);
+    }
+
+    // ================================================================================
+    // Getter Methods
+    // ================================================================================
+
+    //@@author generated
+    protected Node getNode() {
+        return metricsLabel_;
+    }
+}
@@ -1,29 +1,22 @@
 //@@author A0121597B
 package procrastinate.ui;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.time.format.TextStyle;
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
-import java.util.Locale;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
 
 import javafx.animation.FadeTransition;
-import javafx.animation.Interpolator;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
 import javafx.animation.ParallelTransition;
 import javafx.animation.SequentialTransition;
-import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.scene.Node;
-import javafx.scene.layout.GridPane;
 import javafx.scene.layout.VBox;
-import javafx.util.Duration;
-import procrastinate.task.Deadline;
-import procrastinate.task.Event;
 import procrastinate.task.Task;
 
 /**
@@ -48,9 +41,6 @@ public abstract class MultiCategoryScreen extends CenterScreen {
     private static final String CATEGORY_DREAMS = "Dreams";
     private static final String CATEGORY_DONE = "Done";
 
-    private static final String SUBCATEGORY_TODAY = "Today";
-    private static final String SUBCATEGORY_TOMORROW = "Tomorrow";
-
     // ================================================================================
     // Animation Values
     // ================================================================================
@@ -62,15 +52,15 @@ public abstract class MultiCategoryScreen extends CenterScreen {
 
     private static final int TIME_TRANSITION_TASK_ENTRY_FADE_OUT = 100;
 
-    private static final int TIME_TRANSITION_SCREEN_SWITCH_IN = 500;
-    private static final int TIME_TRANSITION_SCREEN_SWITCH_OUT = 150;
+    private static final int MAX_HIGHLIGHTED_TASK_ENTRIES = 10;
 
-    private static final int STYLE_BACKGROUND_HIGHLIGHT_FRAME_TIME = 10;
-    private static final int STYLE_BACKGROUND_HIGHLIGHT_FULL_OPACITY = 100;
+    // Smaller task lists are sorted on the FX thread, as it takes less time than a thread switch
+    private static final int BACKGROUND_UPDATE_THRESHOLD = VIRTUALIZATION_THRESHOLD;
 
-    private static final double STYLE_BACKGROUND_HIGHLIGHT_RATE = 0.8;
+    private static final String THREAD_NAME_VIEW_MODEL = "TaskListViewModel";
 
-    private static final String STYLE_BACKGROUND_HIGHLIGHT_FORMAT = "-fx-background-color: rgb(250,221,177, %.2f);";
+    private static final int TIME_TRANSITION_SCREEN_SWITCH_IN = 500;
+    private static final int TIME_TRANSITION_SCREEN_SWITCH_OUT = 150;
 
     // ================================================================================
     // Class Variables
@@ -98,6 +88,14 @@ public abstract class MultiCategoryScreen extends CenterScreen {
     protected VBox dreamsTaskList;
     protected VBox doneTaskList;
 
+    // Rows of each task list, which realize the TaskEntry within the task list VBoxes above
+    protected VirtualizedTaskList overdueRows;
+    protected VirtualizedTaskList futureRows;
+    protected VirtualizedTaskList dreamsRows;
+    protected VirtualizedTaskList doneRows;
+
+    protected ArrayList<VirtualizedTaskList> upcomingSubcategoryRows = new ArrayList<>();
+
     protected Date today;
     protected Date currentDate;
     protected Date endOfWeek;
@@ -107,6 +105,23 @@ public abstract class MultiCategoryScreen extends CenterScreen {
     // Used for tracking changes and animating add/edit/deletes
     protected ArrayList<Task> prevTaskList;
 
+    // The day that the current 'Upcoming' subcategories were generated for
+    protected Date upcomingSubcategoriesDate;
+
+    // Shared by all screens so that view models are created in the order of their updates
+    private static final ExecutorService viewModelExecutor_ = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, THREAD_NAME_VIEW_MODEL);
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Only the view model of the latest update is shown
+    private int latestUpdateId_ = 0;
+
+    // Reused by every update to fade out the TaskEntry of removed tasks
+    private MultiNodeFadeTransition removedTaskEntriesFadeOut_ = new MultiNodeFadeTransition(TIME_TRANSITION_TASK_ENTRY_FADE_OUT,
+                                                                                              OPACITY_FULL, OPACITY_ZERO);
+
     // ================================================================================
     // MultiCategoryScreen Constructor
     // ================================================================================
@@ -124,26 +139,32 @@ public abstract class MultiCategoryScreen extends CenterScreen {
     // To allow different background images to be set
     protected abstract void setBackgroundImageIfMainVBoxIsEmpty(VBox mainVBox);
 
+    /**
+     * Large task lists are sorted into categories on a background thread, and only
+     * the resulting TaskListViewModel is applied on the FX thread. Results of updates
+     * that have been overtaken by a newer update are dropped.
+     */
     @Override
     protected void updateTaskList(List<Task> taskList) {
-        FadeTransition fadeOutDeletedTaskEntry = fadeOutDeletedTaskEntry(taskList);
+        getUpdatedDates();
+        int updateId = ++latestUpdateId_;
 
-        fadeOutDeletedTaskEntry.setOnFinished(finish -> {
-            getUpdatedDates();
-            clearTaskList();
+        if (taskList.size() <= BACKGROUND_UPDATE_THRESHOLD) {
+            showViewModel(updateId, taskList, createViewModel(taskList, today, currentDate, endOfWeek));
+            return;
+        }
 
-            for (Task task : taskList) {
-                taskCount.set(taskCount.get() + 1);
+        Date today = this.today;
+        Date currentDate = this.currentDate;
+        Date endOfWeek = this.endOfWeek;
 
-                addTaskByType(task);
-            }
+        // The list may be the live task list, which keeps changing on the FX thread
+        List<Task> taskListSnapshot = new ArrayList<Task>(taskList);
 
-            updateDisplay();
-            highlightAddedOrEditedTaskEntry(taskList);
-            prevTaskList = (ArrayList<Task>) taskList;
+        viewModelExecutor_.execute(() -> {
+            TaskListViewModel viewModel = createViewModel(taskListSnapshot, today, currentDate, endOfWeek);
+            Platform.runLater(() -> showViewModel(updateId, taskListSnapshot, viewModel));
         });
-
-        fadeOutDeletedTaskEntry.play();
     }
 
     @Override
@@ -182,265 +203,127 @@ public abstract class MultiCategoryScreen extends CenterScreen {
         generateUpcomingSubcategories();
     }
 
-    protected void getUpdatedDates() {
-        updateDates();
-
-        today = getToday();
-        endOfWeek = getEndOfWeek();
-        currentDate = getCurrentDate();
-    }
-
-    // ================================================================================
-    // Task Adding Methods
-    // ================================================================================
-
-    protected void addTaskByType(Task task) {
-        Date taskDate;
-        switch (task.getType()) {
-
-            case DEADLINE : {
-                taskDate = ((Deadline) task).getDate();
-                addDeadlineOrEvent(task, taskDate);
-                break;
-            }
-
-            case EVENT : {
-                taskDate = ((Event) task).getStartDate();
-                addDeadlineOrEvent(task, taskDate);
-                break;
-            }
-
-            case DREAM : {
-                TaskEntry taskEntry = new TaskEntry(taskCountFormatted.get(), task.getDescription(), task.isDone());
-                addDream(task, taskEntry);
-                break;
-            }
-
-            default: {
-                System.out.println(MESSAGE_UNABLE_TO_DETERMINE_TYPE);
-                break;
-            }
-        }
-    }
-
-    // After tasks are filtered by type, it is filtered by the year of the (start) date
-    private void addDeadlineOrEvent(Task task, Date taskDate) {
-        boolean isSameStartYear = isSameYear(today, taskDate);
-
-        if (isSameStartYear) {
-            addSameStartYearTask(task, taskDate);
-        } else {
-            addDifferentStartYearTask(task, taskDate);
-        }
-    }
-
-    private void addDream(Task task, TaskEntry taskEntry) {
-        if (task.isDone()) {
-            doneTaskList.getChildren().add(taskEntry.getEntryDisplay());
-        } else {
-            dreamsTaskList.getChildren().add(taskEntry.getEntryDisplay());
-        }
-    }
-
-    private void addSameStartYearTask(Task task, Date date) {
-        String dateString;
-
-        switch (task.getType()) {
-
-            case DEADLINE : {
-                dateString = getDateFormatForDeadlineWithSameYear(date);
-
-                String taskCount = taskCountFormatted.get();
-                TaskEntry taskEntry = new TaskEntry(taskCount, task.getDescription(), dateString, task.isDone());
-
-                addSameStartYearTaskToTaskList(task, date, taskCount, taskEntry);
-                break;
-            }
-
-            case EVENT : {
-                Date endDate = ((Event) task).getEndDate();
-                boolean isSameEndYear = isSameYear(today, endDate);
-                dateString = getDateFormatForEventWithSameStartYear(date, endDate, isSameEndYear);
-
-                String taskCount = taskCountFormatted.get();
-                TaskEntry taskEntry = new TaskEntry(taskCount, task.getDescription(), dateString, task.isDone());
-
-                addSameStartYearTaskToTaskList(task, date, taskCount, taskEntry);
-                break;
-            }
-
-            default: {
-                System.out.println(MESSAGE_UNABLE_TO_DETERMINE_TYPE);
-                break;
-            }
+    /**
+     * Used when updating the task list, removes the rows of all task lists but keeps
+     * their TaskEntry so that only the tasks that changed need to be re-rendered.
+     * The 'Upcoming' subcategories are only regenerated once the day has changed.
+     */
+    protected void clearTaskRows() {
+        if (!today.equals(upcomingSubcategoriesDate)) {
+            clearTaskList();
+            return;
         }
-    }
-
-    private void addSameStartYearTaskToTaskList(Task task, Date date, String taskCount, TaskEntry taskEntry) {
-        if        (task.isDone()) {
-            doneTaskList.getChildren().add(taskEntry.getEntryDisplay());
-
-        } else if (date.before(currentDate)) {
-            overdueTaskList.getChildren().add(taskEntry.getEntryDisplay());
 
-        } else if (date.before(endOfWeek)) {
-            addUpcomingTask(task, date, taskCount);
+        resetTaskCount();
 
-        } else {
-            futureTaskList.getChildren().add(taskEntry.getEntryDisplay());
+        for (VirtualizedTaskList rows : getVirtualizedTaskLists()) {
+            rows.clearRows();
         }
     }
 
-    private void addDifferentStartYearTask(Task task, Date date) {
-        String dateString;
-
-        switch (task.getType()) {
-
-            case DEADLINE : {
-                dateString = getDateFormatForDeadlineWithDifferentYear(date);
-
-                TaskEntry taskEntry = new TaskEntry(taskCountFormatted.get(), task.getDescription(), dateString, task.isDone());
-
-                addDifferentStartYearTaskToTaskList(task, date, taskEntry);
-                break;
-            }
-
-            case EVENT : {
-                Date endDate = ((Event) task).getEndDate();
-                boolean isSameEndYear = isSameYear(date, endDate);
-
-                dateString = getDateFormatForEventWithDifferentStartYear(date, endDate, isSameEndYear);
-                TaskEntry taskEntry = new TaskEntry(taskCountFormatted.get(), task.getDescription(), dateString, task.isDone());
+    /**
+     * @return the task lists of all categories in the order they are displayed, with
+     *         the 'Upcoming' category represented by each of its subcategories
+     */
+    @Override
+    protected List<VirtualizedTaskList> getVirtualizedTaskLists() {
+        List<VirtualizedTaskList> taskLists = new ArrayList<>();
 
-                addDifferentStartYearTaskToTaskList(task, date, taskEntry);
-                break;
-            }
+        taskLists.add(overdueRows);
+        taskLists.addAll(upcomingSubcategoryRows);
+        taskLists.add(futureRows);
+        taskLists.add(dreamsRows);
+        taskLists.add(doneRows);
 
-            default: {
-                System.out.println(MESSAGE_UNABLE_TO_DETERMINE_TYPE);
-                break;
-            }
-        }
+        return taskLists;
     }
 
-    private void addDifferentStartYearTaskToTaskList(Task task, Date date, TaskEntry taskEntry) {
-        if        (task.isDone()) {
-            doneTaskList.getChildren().add(taskEntry.getEntryDisplay());
-
-        } else if (date.before(today)) {
-            overdueTaskList.getChildren().add(taskEntry.getEntryDisplay());
+    /**
+     * Waits until the updates passed to the background thread have been shown. Only
+     * to be called from outside the FX thread, e.g. by tests.
+     */
+    protected static void waitForBackgroundUpdates() throws InterruptedException, ExecutionException {
+        viewModelExecutor_.submit(() -> {}).get();
 
-        } else {
-            futureTaskList.getChildren().add(taskEntry.getEntryDisplay());
-        }
+        // Updates are shown with Platform.runLater, so this runs after them
+        FutureTask<Void> fxThreadTask = new FutureTask<>(() -> {}, null);
+        Platform.runLater(fxThreadTask);
+        fxThreadTask.get();
     }
 
-    // Iterates through the list of subcategories and find the corresponding
-    // date of the task to go into. If it is unable to find one, it will add the
-    // task into the 'Future' category instead.
-    private void addUpcomingTask(Task task, Date startDate, String taskCount) {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(today);
-        calendar.add(Calendar.DATE, 1);
-
-        Date deadline = calendar.getTime();
-
-        switch (task.getType()) {
-
-            case DEADLINE : {
-                TaskEntry taskEntry = new TaskEntry(taskCount, task.getDescription(), timeFormatter.format(startDate), task.isDone());
-
-                addThisUpcomingTaskToTaskList(startDate, calendar, deadline, taskEntry);
-                break;
-            }
-
-            case EVENT : {
-                Date endDate = ((Event) task).getEndDate();
-                boolean isSameEndYear = isSameYear(endDate, today);
-
-                String dateString = getDateFormatForEventThisWeek(startDate, endDate, isSameEndYear);
-                TaskEntry taskEntry = new TaskEntry(taskCount, task.getDescription(), dateString, task.isDone());
-
-                addThisUpcomingTaskToTaskList(startDate, calendar, deadline, taskEntry);
-                break;
-            }
+    protected void getUpdatedDates() {
+        updateDates();
 
-            default:
-                System.out.println(MESSAGE_UNABLE_TO_DETERMINE_TYPE);
-                break;
-        }
+        today = getToday();
+        endOfWeek = getEndOfWeek();
+        currentDate = getCurrentDate();
     }
 
-    private void addThisUpcomingTaskToTaskList(Date startDate, Calendar calendar, Date deadline, TaskEntry taskEntry) {
-        boolean isAdded = false;
-
-        for (VBox vBox : upcomingSubcategories) {
-            if (startDate.before(deadline)) {
-                vBox.getChildren().add(taskEntry.getEntryDisplay());
-                isAdded = true;
-                break;
-
-            } else {
-                calendar.add(Calendar.DATE, 1);
-                deadline = calendar.getTime();
-            }
-        }
+    // ================================================================================
+    // Task Adding Methods
+    // ================================================================================
 
-        if (!isAdded) {
-            futureTaskList.getChildren().add(taskEntry.getEntryDisplay());
+    private void showViewModel(int updateId, List<Task> taskList, TaskListViewModel viewModel) {
+        if (updateId != latestUpdateId_) {
+            return;
         }
-    }
 
-    private String getDateFormatForEventWithSameStartYear(Date date, Date endDate, boolean isSameEndYear) {
-        String dateString;
+        TaskListDiff taskListDiff = new TaskListDiff(prevTaskList, taskList);
+        List<Node> removedTaskEntries = getRemovedTaskEntries(taskListDiff);
+        boolean isAnimated = !removedTaskEntries.isEmpty() && (taskList.size() <= ANIMATION_THRESHOLD);
 
-        if (isSameEndYear) {
+        removedTaskEntriesFadeOut_.setNodes(removedTaskEntries);
+        getAnimationScheduler().play(removedTaskEntriesFadeOut_, removedTaskEntriesFadeOut_, () -> {
+            // Faded out TaskEntry may be rebound to another task when virtualized
+            removedTaskEntries.forEach(removedTaskEntry -> removedTaskEntry.setOpacity(OPACITY_FULL));
 
-            if (isSameDay(date, endDate)) {
-                dateString = getDateFormatForEventWithSameYearAndInOneDay(date, endDate);
-            } else {
-                dateString = getDateFormatForEventWithSameYearAndDifferentDays(date, endDate);
+            if (updateId != latestUpdateId_) {
+                return;
             }
 
-        } else {
-            dateString = getDateFormatForEventWithDifferentYearAndDifferentDays(date, endDate);
-        }
+            clearTaskRows();
+            applyViewModel(viewModel);
 
-        return dateString;
+            updateDisplay();
+            highlightChangedTaskEntries(taskListDiff);
+            prevTaskList = (ArrayList<Task>) taskList;
+        }, isAnimated);
     }
 
-    private String getDateFormatForEventWithDifferentStartYear(Date date, Date endDate, boolean isSameEndYear) {
-        String dateString;
-
-        if (isSameEndYear && isSameDay(date, endDate)) {
-            dateString = getDateFormatForEventWithDifferentYearButInOneDay(date, endDate);
-        } else {
-            dateString = getDateFormatForEventWithDifferentYearAndDifferentDays(date, endDate);
-        }
-
-        return dateString;
+    /**
+     * Sorts the task list into the categories of this screen. Does not touch the
+     * screen, so it can be called from a background thread.
+     *
+     * @param taskList    to be shown on the screen
+     * @param today       start of today, from getUpdatedDates
+     * @param currentDate current date and time, from getUpdatedDates
+     * @param endOfWeek   end of the 'Upcoming' category, from getUpdatedDates
+     * @return            the rows of each category with their display strings
+     */
+    protected TaskListViewModel createViewModel(List<Task> taskList, Date today, Date currentDate, Date endOfWeek) {
+        return new TaskListViewModel(taskList, today, currentDate, endOfWeek);
     }
 
-    private String getDateFormatForEventThisWeek(Date startDate, Date endDate, boolean isSameEndYear) {
-        String dateString;
-
-        if (isSameEndYear) {
+    /**
+     * Adds the rows of the view model into the task lists of this screen, which
+     * should have been cleared beforehand.
+     *
+     * @param viewModel    created for the current dates of this screen
+     */
+    protected void applyViewModel(TaskListViewModel viewModel) {
+        taskCount.set(viewModel.getTaskCount());
 
-            if        (isSameDay(startDate, endDate)) {
-                dateString = getDateFormatForUpcomingEventAndInOneDay(startDate, endDate);
+        viewModel.getOverdueRows().forEach(overdueRows::addRow);
+        viewModel.getFutureRows().forEach(futureRows::addRow);
+        viewModel.getDreamsRows().forEach(dreamsRows::addRow);
+        viewModel.getDoneRows().forEach(doneRows::addRow);
 
-            } else if (endDate.before(endOfWeek)) {
-                dateString = getDateFormatForUpcomingEventButDifferentDays(startDate, endDate);
+        List<List<TaskRow>> upcomingRows = viewModel.getUpcomingSubcategoryRows();
+        assert(upcomingRows.size() == upcomingSubcategoryRows.size());
 
-            } else {
-                dateString = getDateFormatForUpcomingEventButDifferentWeek(startDate, endDate);
-            }
-
-        } else {
-            dateString = getDateFormatForUpcomingEventButDifferentYear(startDate, endDate);
+        for (int i = 0; i < upcomingRows.size(); i++) {
+            upcomingRows.get(i).forEach(upcomingSubcategoryRows.get(i)::addRow);
         }
-
-        return dateString;
     }
 
     // ================================================================================
@@ -454,6 +337,10 @@ public abstract class MultiCategoryScreen extends CenterScreen {
      * categories are faded in.
      */
     protected void updateDisplay() {
+        // Categories faded out by the previous update are only removed when it ends
+        getAnimationScheduler().finish(mainVBox);
+
+        renderTaskLists();
         setMainVBoxBackgroundImage(mainVBox, FX_BACKGROUND_IMAGE_NULL);
 
         SequentialTransition sequentialTransition = new SequentialTransition();
@@ -477,8 +364,30 @@ public abstract class MultiCategoryScreen extends CenterScreen {
                 addNodeIfNotEmptyAndNotInDisplay(sequentialTransition, node);
             }
         }
-        sequentialTransition.setOnFinished(checkEmpty -> setBackgroundImageIfMainVBoxIsEmpty(mainVBox));
-        sequentialTransition.play();
+        getAnimationScheduler().play(mainVBox, sequentialTransition,
+                                     () -> setBackgroundImageIfMainVBoxIsEmpty(mainVBox), isAnimated());
+    }
+
+    /**
+     * Places the rows added into their task lists. Only the visible rows are realized
+     * as TaskEntry if there are too many tasks to show on the screen at once.
+     */
+    private void renderTaskLists() {
+        List<VirtualizedTaskList> taskLists = getVirtualizedTaskLists();
+
+        int numTasks = 0;
+        for (VirtualizedTaskList rows : taskLists) {
+            numTasks += rows.size();
+        }
+
+        boolean isVirtualized = isVirtualized(numTasks);
+        for (VirtualizedTaskList rows : taskLists) {
+            rows.render(isVirtualized);
+        }
+
+        if (isVirtualized) {
+            updateVisibleTaskEntries();
+        }
     }
 
     /**
@@ -604,6 +513,8 @@ public abstract class MultiCategoryScreen extends CenterScreen {
         // All non-empty and faded out should be faded back in.
         } else if (!(upcomingSubcategories.get(currSubcategoryIndex).getChildren().isEmpty()) &&
                     (subcategoryVisibilityTracker[currSubcategoryIndex] == 0)) {
+            addSubcategoryBackToUpcomingTaskList(currSubcategoryIndex);
+
             FadeTransition fadeIn = generateFadeInTransition(upcomingSubcategories.get(currSubcategoryIndex).getParent(),
                                                              TIME_TRANSITION_SUBCATEGORY_FADE_IN);
             parallelTransition.getChildren().add(fadeIn);
@@ -614,6 +525,27 @@ public abstract class MultiCategoryScreen extends CenterScreen {
         }
     }
 
+    /**
+     * Subcategories are kept across updates within the same day, so one that was
+     * removed while empty has to be placed back after the subcategories before it.
+     *
+     * @param currSubcategoryIndex    of the subcategory to be added
+     */
+    private void addSubcategoryBackToUpcomingTaskList(int currSubcategoryIndex) {
+        Node subcategoryNode = upcomingSubcategories.get(currSubcategoryIndex).getParent();
+        if (upcomingTaskList.getChildren().contains(subcategoryNode)) {
+            return;
+        }
+
+        int position = 0;
+        for (int i = 0; i < currSubcategoryIndex; i++) {
+            if (upcomingTaskList.getChildren().contains(upcomingSubcategories.get(i).getParent())) {
+                position++;
+            }
+        }
+        upcomingTaskList.getChildren().add(position, subcategoryNode);
+    }
+
     private void removeNodeIfEmptyAndInDisplay(SequentialTransition sequentialTransition, Node node) {
         if (mainVBox.getChildren().contains(node)) {
             FadeTransition fadeOut = generateFadeOutTransition(node, TIME_TRANSITION_CATEGORY_FADE_OUT);
@@ -626,217 +558,49 @@ public abstract class MultiCategoryScreen extends CenterScreen {
     // TaskList Change Animation Methods
     // ================================================================================
 
-    protected FadeTransition fadeOutDeletedTaskEntry(List<Task> taskList) {
-        boolean isInitialised = initialisePrevTaskList(taskList);
-        boolean isDelete = isTaskChangeDelete(taskList);
-
-        if (isInitialised && isDelete) {
-            int index = findIndexOfDeletedTask(taskList);
-            return fadeOutDeletedTask(index);
-        }
-
-        return new FadeTransition();
-    }
-
-    protected void highlightAddedOrEditedTaskEntry(List<Task> taskList) {
-        boolean isInitialised = initialisePrevTaskList(taskList);
-        boolean isDelete = isTaskChangeDelete(taskList);
-
-        if (isInitialised && !isDelete) {
-            int index = findIndexOfAddedOrEditedTask(taskList);
-            highlightTask(index);
-        }
-    }
-
-    private FadeTransition fadeOutDeletedTask(int index) {
-        int prevCount = 0;
-        int currCount = 0;
-        int indexOfTaskEntry = -1;
-
-        for (Node node : nodeList) {
-            // Need to check all the different nodes in order to get to the index
-            if (node == upcomingNode) {
-                prevCount = currCount;
-                currCount = currCount + findNumberOfTasksInUpcomingSubcategories();
-
-                if (currCount > index) {
-                    indexOfTaskEntry = index - prevCount;
-                    for (VBox vBox : upcomingSubcategories) {
-                        // Check each subcategory until the index is found
-                        if (indexOfTaskEntry < vBox.getChildren().size()) {
-                            GridPane newTaskEntry = (GridPane) vBox.getChildren().get(indexOfTaskEntry);
-
-                            return generateFadeOutTransition(newTaskEntry, TIME_TRANSITION_TASK_ENTRY_FADE_OUT);
-                        }
-
-                        indexOfTaskEntry -= vBox.getChildren().size();
-                    }
-                    break;
-                }
-
-            } else {
-                prevCount = currCount;
-                VBox currTaskList = ((VBox) node.lookup(SELECTOR_CATEGORY_VBOX));
-                currCount = currCount + currTaskList.getChildren().size();
-
-                if (currCount > index) {
-                    indexOfTaskEntry = index - prevCount;
-
-                    GridPane newTaskEntry = (GridPane) currTaskList.getChildren().get(indexOfTaskEntry);
-
-                    return generateFadeOutTransition(newTaskEntry, TIME_TRANSITION_TASK_ENTRY_FADE_OUT);
-                }
-            }
-        }
-        return new FadeTransition();
-    }
-
-    private void highlightTask(int index) {
-        if (index == -1) {
-            return;
-        }
-
-        int prevCount = 0;
-        int currCount = 0;
-        int indexOfTaskEntry = -1;
-
-        for (Node node : nodeList) {
-            if (node == doneNode) {
-                break;
-            }
-
-            if (node == upcomingNode) {
-                prevCount = currCount;
-                currCount = currCount + findNumberOfTasksInUpcomingSubcategories();
-
-                if (currCount > index) {
-                    indexOfTaskEntry = index - prevCount;
-                    for (VBox vBox : upcomingSubcategories) {
-                        // Check each subcategory until the index is found
-                        if (indexOfTaskEntry < vBox.getChildren().size()) {
-                            GridPane newTaskEntry = (GridPane) vBox.getChildren().get(indexOfTaskEntry);
-
-                            Timeline highlightTimeline = generateHighlightTimeline(newTaskEntry);
-                            highlightTimeline.play();
-                            break;
-                        }
-
-                        indexOfTaskEntry -= vBox.getChildren().size();
-                    }
-                    break;
-                }
-
-            } else {
-                prevCount = currCount;
-                VBox currTaskList = ((VBox) node.lookup(SELECTOR_CATEGORY_VBOX));
-                currCount = currCount + currTaskList.getChildren().size();
-
-                if (currCount > index) {
-                    indexOfTaskEntry = index - prevCount;
-
-                    GridPane newTaskEntry = (GridPane) currTaskList.getChildren().get(indexOfTaskEntry);
+    /**
+     * Looks for the TaskEntry of tasks that are no longer in the task list, to be faded
+     * out. Tasks that are not realized on the screen are simply removed with the next render.
+     *
+     * @param taskListDiff    between the previous and the new task list
+     * @return                the displayed TaskEntry nodes of the removed tasks
+     */
+    protected List<Node> getRemovedTaskEntries(TaskListDiff taskListDiff) {
+        List<Node> removedTaskEntries = new ArrayList<>();
 
-                    Timeline highlightTimeline = generateHighlightTimeline(newTaskEntry);
-                    highlightTimeline.play();
-                    break;
-                }
-            }
+        if (taskListDiff.isInitial() || taskListDiff.getRemovedTaskIds().isEmpty()) {
+            return removedTaskEntries;
         }
-    }
-
-    //@@author A0121597B-reused
-    private Timeline generateHighlightTimeline(GridPane newTaskEntry) {
-        Timeline highlightTimeline = new Timeline();
 
-        for (int i = STYLE_BACKGROUND_HIGHLIGHT_FULL_OPACITY; i >= 0; i--) {
-            float backgroundColorOpacity = (float) i / STYLE_BACKGROUND_HIGHLIGHT_FULL_OPACITY;
-            String styleBackgroundColor = String.format(STYLE_BACKGROUND_HIGHLIGHT_FORMAT, backgroundColorOpacity);
-
-            Duration duration = highlightTimeline.getTotalDuration().add(Duration.millis(STYLE_BACKGROUND_HIGHLIGHT_FRAME_TIME));
-            KeyValue keyValue = new KeyValue(newTaskEntry.styleProperty(), styleBackgroundColor, Interpolator.EASE_IN);
-            KeyFrame keyFrame = new KeyFrame(duration, keyValue);
-
-            highlightTimeline.getKeyFrames().add(keyFrame);
+        for (VirtualizedTaskList rows : getVirtualizedTaskLists()) {
+            removedTaskEntries.addAll(rows.getEntryDisplays(taskListDiff.getRemovedTaskIds()));
         }
 
-        highlightTimeline.setRate(STYLE_BACKGROUND_HIGHLIGHT_RATE);
-        return highlightTimeline;
-    }
-
-    //@@author A0121597B
-    private int findIndexOfDeletedTask(List<Task> taskList) {
-        Task prevTaskListTask;
-        Task currTaskListTask;
-
-        for (int i = 0; i < taskList.size(); i++) {
-            currTaskListTask = taskList.get(i);
-            prevTaskListTask = prevTaskList.get(i);
-
-            // Check for the task at an index that differs between the
-            // two task lists
-            if (currTaskListTask.equals(prevTaskListTask) &&
-                currTaskListTask.getId().equals(prevTaskListTask.getId())) {
-                    continue;
-
-            } else {
-                return i;
-            }
-        }
-        return taskList.size();
+        return removedTaskEntries;
     }
 
-    private int findIndexOfAddedOrEditedTask(List<Task> taskList) {
-        List<Task> filteredTaskList = new ArrayList<>(taskList);
+    protected void highlightChangedTaskEntries(TaskListDiff taskListDiff) {
+        Set<UUID> changedTaskIds = taskListDiff.getChangedTaskIds();
 
-        // To retrieve the newly added/edited task, filter
-        // the new task list to get the new task that has changed.
-        for (Task task : prevTaskList) {
-            filteredTaskList = filteredTaskList.stream()
-                               .filter(filterTask -> (!filterTask.getId().equals(task.getId())))
-                               .collect(Collectors.toList());
+        // Larger changes, e.g. an import or another 'show' command, are not highlighted
+        if (taskListDiff.isInitial() || changedTaskIds.isEmpty() || changedTaskIds.size() > MAX_HIGHLIGHTED_TASK_ENTRIES) {
+            return;
         }
 
-        // To catch an edit that does not do any changes
-        if (filteredTaskList.isEmpty()) {
-            return -1;
-        }
+        // Tasks in the 'Done' category are not highlighted
+        List<VirtualizedTaskList> taskListsBeforeDone = getVirtualizedTaskLists();
+        taskListsBeforeDone.remove(doneRows);
 
-        Task newTask = filteredTaskList.get(0);
-        for (int i = 0; i < taskList.size(); i++) {
-            Task currTask = taskList.get(i);
-            if (currTask.equals(newTask) && currTask.getId().equals(newTask.getId())) {
-                return i;
+        for (VirtualizedTaskList rows : taskListsBeforeDone) {
+            for (Node changedTaskEntry : rows.getEntryDisplays(changedTaskIds)) {
+                getAnimationScheduler().highlight(changedTaskEntry, isAnimated());
             }
         }
-
-        // Should be another 'show' command
-        return -1;
     }
 
-    private int findNumberOfTasksInUpcomingSubcategories() {
-        int numTasks = 0;
-
-        for (VBox vBox : upcomingSubcategories) {
-            numTasks += vBox.getChildren().size();
-        }
-
-        return numTasks;
-    }
-
-    private boolean initialisePrevTaskList(List<Task> taskList) {
-        if (prevTaskList == null) {
-            prevTaskList = (ArrayList<Task>) taskList;
-            return false;
-        }
-        return true;
-    }
-
-    private boolean isTaskChangeDelete(List<Task> taskList) {
-        if (taskList.size() < prevTaskList.size()) {
-            return true;
-        } else {
-            return false;
-        }
+    // Animations are left out for very large task lists, where they would only slow down each update
+    protected boolean isAnimated() {
+        return taskCount.get() <= ANIMATION_THRESHOLD;
     }
 
     // ================================================================================
@@ -861,30 +625,15 @@ public abstract class MultiCategoryScreen extends CenterScreen {
      */
     private void generateUpcomingSubcategories() {
         ArrayList<Node> thisWeekDateBoxes = new ArrayList<>();
-        int count = 1;
-
-        LocalDateTime startingDateTime = getDateTimeStartOfToday();
-        while (!(getInstantFromLocalDateTime(startingDateTime)).equals(endOfWeek.toInstant())) {
-            SubcategoryBox newDateBox;
-            String shortDate = ", " + startingDateTime.format(DateTimeFormatter.ofPattern(dateFormatter.toPattern()));
-
-            if        (count == 1) {
-                newDateBox = new SubcategoryBox(SUBCATEGORY_TODAY + shortDate);
-            } else if (count == 2) {
-                newDateBox = new SubcategoryBox(SUBCATEGORY_TOMORROW + shortDate);
-            } else {
-                newDateBox = new SubcategoryBox(startingDateTime.getDayOfWeek()
-                                                .getDisplayName(TextStyle.FULL, Locale.getDefault()) +
-                                                shortDate);
-            }
 
+        // Headers are only worked out once a day, and are as many as the subcategories of TaskListViewModel
+        for (String subcategoryHeader : DayBoundaries.getForToday().getUpcomingSubcategoryHeaders()) {
+            SubcategoryBox newDateBox = new SubcategoryBox(subcategoryHeader);
             VBox newDateVBox = newDateBox.getTaskListVBox();
 
             upcomingSubcategories.add(newDateVBox);
+            upcomingSubcategoryRows.add(new VirtualizedTaskList(newDateVBox));
             thisWeekDateBoxes.add(newDateBox.getSubcategoryBox());
-
-            startingDateTime = startingDateTime.plusDays(1);
-            count++;
         }
 
         if (subcategoryVisibilityTracker == null || (subcategoryVisibilityTracker.length != thisWeekDateBoxes.size())) {
@@ -892,6 +641,7 @@ public abstract class MultiCategoryScreen extends CenterScreen {
         }
 
         upcomingTaskList.getChildren().addAll(thisWeekDateBoxes);
+        upcomingSubcategoriesDate = today;
     }
 
     private void resetTaskCount() {
@@ -899,13 +649,14 @@ public abstract class MultiCategoryScreen extends CenterScreen {
     }
 
     private void resetTaskList() {
-        overdueTaskList.getChildren().clear();
+        overdueRows.clear();
         upcomingTaskList.getChildren().clear();
-        futureTaskList.getChildren().clear();
-        dreamsTaskList.getChildren().clear();
-        doneTaskList.getChildren().clear();
+        futureRows.clear();
+        dreamsRows.clear();
+        doneRows.clear();
 
         upcomingSubcategories.clear();
+        upcomingSubcategoryRows.clear();
     }
 
     // ================================================================================
@@ -939,6 +690,11 @@ public abstract class MultiCategoryScreen extends CenterScreen {
         this.doneNode = doneBox.getCategoryBox();
         this.doneTaskList = doneBox.getTaskListVBox();
         nodeList.add(doneNode);
+
+        this.overdueRows = new VirtualizedTaskList(overdueTaskList);
+        this.futureRows = new VirtualizedTaskList(futureTaskList);
+        this.dreamsRows = new VirtualizedTaskList(dreamsTaskList);
+        this.doneRows = new VirtualizedTaskList(doneTaskList);
     }
 
     private void retrieveFxmlElements() {
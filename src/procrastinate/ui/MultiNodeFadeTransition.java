@@ -0,0 +1,74 @@
+//@@author A0121597B
+package procrastinate.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.animation.Interpolator;
+import javafx.animation.Transition;
+import javafx.scene.Node;
+import javafx.util.Duration;
+
+/**
+ * <h1>MultiNodeFadeTransition fades a group of nodes together, e.g. the TaskEntry of
+ * the tasks removed by an update.</h1>
+ *
+ * Unlike a ParallelTransition of FadeTransition, it can be played again for another
+ * group of nodes without creating a transition for each node.
+ */
+public class MultiNodeFadeTransition extends Transition {
+
+    // ================================================================================
+    // Class Variables
+    // ================================================================================
+
+    private List<Node> nodes_ = new ArrayList<>();
+
+    private double fromValue_;
+    private double toValue_;
+
+    // ================================================================================
+    // MultiNodeFadeTransition Constructor
+    // ================================================================================
+
+    /**
+     * @param timeInMs     duration of the fade
+     * @param fromValue    opacity to start from
+     * @param toValue      opacity to end at
+     */
+    protected MultiNodeFadeTransition(double timeInMs, double fromValue, double toValue) {
+        this.fromValue_ = fromValue;
+        this.toValue_ = toValue;
+
+        setCycleDuration(Duration.millis(timeInMs));
+        setInterpolator(Interpolator.EASE_IN);
+    }
+
+    // ================================================================================
+    // Transition Methods
+    // ================================================================================
+
+    @Override
+    protected void interpolate(double fraction) {
+        double opacity = fromValue_ + ((toValue_ - fromValue_) * fraction);
+        for (Node node : nodes_) {
+            node.setOpacity(opacity);
+        }
+    }
+
+    // ================================================================================
+    // Getter/Setter Methods
+    // ================================================================================
+
+    /**
+     * @param nodes    to be faded the next time this is played
+     */
+    protected void setNodes(List<Node> nodes) {
+        this.nodes_ = nodes;
+    }
+
+    //@@author generated
+    protected List<Node> getNodes() {
+        return nodes_;
+    }
+}
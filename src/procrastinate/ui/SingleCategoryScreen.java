@@ -1,7 +1,9 @@
 //@@author A0121597B
 package procrastinate.ui;
 
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
 import javafx.animation.ParallelTransition;
 import javafx.animation.SequentialTransition;
@@ -24,6 +26,8 @@ public abstract class SingleCategoryScreen extends CenterScreen {
 
     protected VBox thisCategoryTaskList;
 
+    protected VirtualizedTaskList thisCategoryRows;
+
     protected Date today;
 
     protected VBox mainVBox;
@@ -74,6 +78,7 @@ public abstract class SingleCategoryScreen extends CenterScreen {
 
         this.thisCategoryNode = categoryBox.getCategoryBox();
         this.thisCategoryTaskList = categoryBox.getTaskListVBox();
+        this.thisCategoryRows = new VirtualizedTaskList(thisCategoryTaskList);
     }
 
     private void createCategories(String headerName) {
@@ -91,13 +96,32 @@ public abstract class SingleCategoryScreen extends CenterScreen {
     // ================================================================================
 
     /**
-     * Used when updating the task list, removes all tasks and resets the task counter
+     * Used when updating the task list, removes all tasks and resets the task counter.
+     * The TaskEntry are kept so that only the tasks that changed need to be re-rendered.
      */
     protected void clearTaskList() {
         taskCount.set(0);
 
         mainVBox.getChildren().clear();
-        thisCategoryTaskList.getChildren().clear();
+        thisCategoryRows.clearRows();
+    }
+
+    /**
+     * Places the rows added into the task list, realizing only the visible rows
+     * as TaskEntry if there are too many tasks to show on the screen at once.
+     */
+    protected void renderTaskList() {
+        boolean isVirtualized = isVirtualized(thisCategoryRows.size());
+        thisCategoryRows.render(isVirtualized);
+
+        if (isVirtualized) {
+            updateVisibleTaskEntries();
+        }
+    }
+
+    @Override
+    protected List<VirtualizedTaskList> getVirtualizedTaskLists() {
+        return Collections.singletonList(thisCategoryRows);
     }
 
     protected void getUpdatedDates() {
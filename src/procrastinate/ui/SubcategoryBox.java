@@ -1,12 +1,11 @@
 //@@author A0121597B
 package procrastinate.ui;
 
-import java.io.IOException;
-
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 
 /**
@@ -26,7 +25,10 @@ public class SubcategoryBox extends VBox {
     // Message strings
     // ================================================================================
 
-    private static final String LOCATION_DATEBOX_FXML = "views/SubcategoryBox.fxml";
+    private static final String STYLE_CLASS_SUBCATEGORY_BOX = "subcategoryBox";
+
+    private static final String ID_SUBCATEGORY_LABEL = "subcategoryLabel";
+    private static final String ID_SUBCATEGORY_VBOX = "subcategoryVBox";
 
     // ================================================================================
     // Class variables
@@ -34,14 +36,8 @@ public class SubcategoryBox extends VBox {
 
     private Node subcategoryBox_;
 
-    // ================================================================================
-    // FXML field variables
-    // ================================================================================
-
-    @FXML
-    private Label subcategoryLabel;
-    @FXML
-    private VBox subcategoryVBox;
+    private Label subcategoryLabel = new Label();
+    private VBox subcategoryVBox = new VBox();
 
     // ================================================================================
     // CategoryBox methods
@@ -62,15 +58,23 @@ public class SubcategoryBox extends VBox {
     // Init Methods
     // ================================================================================
 
+    // Built in code instead of being loaded from FXML, with the ids used for CSS styling
     private void loadLayout() {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource(LOCATION_DATEBOX_FXML));
-        loader.setController(this); // Required due to different package
-                                    // declaration from Main
-        try {
-            this.subcategoryBox_ = loader.load();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        subcategoryLabel.setId(ID_SUBCATEGORY_LABEL);
+        VBox.setVgrow(subcategoryLabel, Priority.ALWAYS);
+
+        subcategoryVBox.setId(ID_SUBCATEGORY_VBOX);
+        subcategoryVBox.setMaxHeight(Double.MAX_VALUE);
+        subcategoryVBox.setMinHeight(Region.USE_PREF_SIZE);
+        VBox.setVgrow(subcategoryVBox, Priority.ALWAYS);
+
+        VBox subcategoryBox = new VBox(subcategoryLabel, subcategoryVBox);
+        subcategoryBox.getStyleClass().add(STYLE_CLASS_SUBCATEGORY_BOX);
+        subcategoryBox.setAlignment(Pos.CENTER);
+        subcategoryBox.setMaxHeight(Double.MAX_VALUE);
+        subcategoryBox.setMinHeight(Region.USE_PREF_SIZE);
+
+        this.subcategoryBox_ = subcategoryBox;
     }
 
     private void setLabelText(String subcategoryHeader) {
@@ -0,0 +1,307 @@
+//@@author A0121597B
+package procrastinate.ui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * <h1>SummaryPlan works out how many tasks of each category of the SummaryScreen can
+ * be shown without scrolling, before any TaskEntry is created.</h1>
+ *
+ * The screen is partitioned according to the categories present, and the height of
+ * each category is calculated from the number of rows in it and the heights of a
+ * single row, header and ellipsis. Like before, the categories are fitted from the
+ * shortest to the tallest, with the height left unused by one category rolled over
+ * to the next. 'Upcoming' tasks are hidden starting from its last subcategory.
+ *
+ * <p><b>Note:</b>
+ * <br>Every row is assumed to take a single line, which holds for the shortened
+ * task descriptions used when summarising.
+ */
+public class SummaryPlan {
+
+    // ================================================================================
+    // Constants
+    // ================================================================================
+
+    private static final double SCROLLPANE_TOTAL_TOP_BOTTOM_PADDING = 20.0;
+
+    private static final double MAINVBOX_CHILDREN_SPACING = 5.0;
+
+    private static final int PARTITION_COUNT_OVERDUE = 2;
+    private static final int PARTITION_COUNT_UPCOMING = 3;
+    private static final int PARTITION_COUNT_FUTURE = 1;
+    private static final int PARTITION_COUNT_DREAMS = 1;
+
+    private static final int INDEX_OVERDUE = 0;
+    private static final int INDEX_UPCOMING = 1;
+    private static final int INDEX_FUTURE = 2;
+    private static final int INDEX_DREAMS = 3;
+
+    private static final int[] PARTITION_COUNTS = { PARTITION_COUNT_OVERDUE, PARTITION_COUNT_UPCOMING,
+                                                    PARTITION_COUNT_FUTURE, PARTITION_COUNT_DREAMS };
+
+    // ================================================================================
+    // Class Variables
+    // ================================================================================
+
+    private double rowHeight_;
+    private double categoryHeaderHeight_;
+    private double subcategoryHeaderHeight_;
+    private double ellipsisHeight_;
+
+    private int numOverdueShown_;
+    private List<Integer> numUpcomingShown_ = new ArrayList<>();
+    private int numFutureShown_;
+    private int numDreamsShown_;
+
+    private int numOverdueHidden_ = 0;
+    private int numUpcomingHidden_ = 0;
+    private int numFutureHidden_ = 0;
+    private int numDreamsHidden_ = 0;
+
+    private double estimatedHeight_;
+
+    // ================================================================================
+    // SummaryPlan Constructor
+    // ================================================================================
+
+    /**
+     * @param viewModel                  with the rows to be summarised, done rows are not shown
+     * @param maxHeight                  height of the screen that the summary has to fit into
+     * @param rowHeight                  height of a TaskEntry taking a single line
+     * @param categoryHeaderHeight       height of a CategoryBox on top of the rows within it
+     * @param subcategoryHeaderHeight    height of a SubcategoryBox on top of the rows within it
+     * @param ellipsisHeight             height of the ellipsis added to a category with hidden tasks
+     */
+    protected SummaryPlan(TaskListViewModel viewModel, double maxHeight, double rowHeight,
+                          double categoryHeaderHeight, double subcategoryHeaderHeight, double ellipsisHeight) {
+        this.rowHeight_ = rowHeight;
+        this.categoryHeaderHeight_ = categoryHeaderHeight;
+        this.subcategoryHeaderHeight_ = subcategoryHeaderHeight;
+        this.ellipsisHeight_ = ellipsisHeight;
+
+        numOverdueShown_ = viewModel.getOverdueRows().size();
+        for (List<TaskRow> subcategoryRows : viewModel.getUpcomingSubcategoryRows()) {
+            numUpcomingShown_.add(subcategoryRows.size());
+        }
+        numFutureShown_ = viewModel.getFutureRows().size();
+        numDreamsShown_ = viewModel.getDreamsRows().size();
+
+        double[] categoryHeights = { getOtherCategoryHeight(numOverdueShown_), getUpcomingCategoryHeight(),
+                                     getOtherCategoryHeight(numFutureShown_), getOtherCategoryHeight(numDreamsShown_) };
+
+        estimatedHeight_ = getMainVBoxHeight(categoryHeights);
+
+        if (rowHeight_ > 0 && estimatedHeight_ >= maxHeight) {
+            fitCategories(categoryHeights, maxHeight);
+        }
+    }
+
+    // ================================================================================
+    // SummaryPlan Methods
+    // ================================================================================
+
+    /**
+     * Partitions the screen between the categories present and hides the tasks of
+     * each category that do not fit into its partitions.
+     */
+    private void fitCategories(double[] categoryHeights, double maxHeight) {
+        int numCategoriesPresent = 0;
+        int numPartitionsToSplit = 0;
+
+        for (int i = 0; i < categoryHeights.length; i++) {
+            if (categoryHeights[i] != 0) {
+                numCategoriesPresent++;
+                numPartitionsToSplit += PARTITION_COUNTS[i];
+            }
+        }
+
+        double remainingHeightForTaskDisplay = maxHeight -
+                                               SCROLLPANE_TOTAL_TOP_BOTTOM_PADDING -
+                                               ((numCategoriesPresent - 1) * MAINVBOX_CHILDREN_SPACING);
+        double singlePartitionHeight = remainingHeightForTaskDisplay / numPartitionsToSplit;
+        double rollOverHeight = 0;
+
+        // Shortest category first, so that the height it does not need goes to the taller ones
+        Integer[] categoryOrder = { INDEX_OVERDUE, INDEX_UPCOMING, INDEX_FUTURE, INDEX_DREAMS };
+        Arrays.sort(categoryOrder, Comparator.comparingDouble(index -> categoryHeights[index]));
+
+        for (int index : categoryOrder) {
+            double currCategoryHeight = categoryHeights[index];
+            if (currCategoryHeight == 0) {
+                continue;
+            }
+
+            double maxCategoryHeight = (singlePartitionHeight * PARTITION_COUNTS[index]) + rollOverHeight;
+            if (currCategoryHeight > maxCategoryHeight) {
+                currCategoryHeight = fitCategory(index, maxCategoryHeight);
+            }
+
+            rollOverHeight = maxCategoryHeight - currCategoryHeight;
+        }
+    }
+
+    /**
+     * @param index                of the category to hide tasks from
+     * @param maxCategoryHeight    that the category, with its ellipsis, has to fit into
+     * @return                     height of the category after hiding tasks
+     */
+    private double fitCategory(int index, double maxCategoryHeight) {
+        switch (index) {
+            case INDEX_OVERDUE : {
+                int numFitting = getNumRowsFitting(maxCategoryHeight, numOverdueShown_);
+                numOverdueHidden_ = numOverdueShown_ - numFitting;
+                numOverdueShown_ = numFitting;
+                return getOtherCategoryHeight(numOverdueShown_) + ellipsisHeight_;
+            }
+
+            case INDEX_UPCOMING : {
+                fitUpcomingCategory(maxCategoryHeight);
+                return getUpcomingCategoryHeight() + ellipsisHeight_;
+            }
+
+            case INDEX_FUTURE : {
+                int numFitting = getNumRowsFitting(maxCategoryHeight, numFutureShown_);
+                numFutureHidden_ = numFutureShown_ - numFitting;
+                numFutureShown_ = numFitting;
+                return getOtherCategoryHeight(numFutureShown_) + ellipsisHeight_;
+            }
+
+            default : {
+                int numFitting = getNumRowsFitting(maxCategoryHeight, numDreamsShown_);
+                numDreamsHidden_ = numDreamsShown_ - numFitting;
+                numDreamsShown_ = numFitting;
+                return getOtherCategoryHeight(numDreamsShown_) + ellipsisHeight_;
+            }
+        }
+    }
+
+    // Hides tasks starting from the last subcategory, which is removed from view
+    // along with its header once there are no more tasks left in it.
+    private void fitUpcomingCategory(double maxCategoryHeight) {
+        double heightToFit = maxCategoryHeight - ellipsisHeight_;
+        double currCategoryHeight = getUpcomingCategoryHeight();
+
+        for (int i = numUpcomingShown_.size() - 1; i >= 0; i--) {
+            int numShown = numUpcomingShown_.get(i);
+            if (numShown == 0) {
+                continue;
+            }
+
+            while (numShown > 0 && currCategoryHeight > heightToFit) {
+                numShown--;
+                numUpcomingHidden_++;
+                currCategoryHeight -= rowHeight_;
+            }
+
+            if (numShown == 0) {
+                currCategoryHeight -= subcategoryHeaderHeight_;
+            }
+            numUpcomingShown_.set(i, numShown);
+
+            if (currCategoryHeight < heightToFit) {
+                break;
+            }
+        }
+    }
+
+    private int getNumRowsFitting(double maxCategoryHeight, int numRows) {
+        double heightForRows = maxCategoryHeight - ellipsisHeight_ - categoryHeaderHeight_;
+        int numFitting = (int) Math.floor(heightForRows / rowHeight_);
+
+        return Math.max(0, Math.min(numRows, numFitting));
+    }
+
+    private double getOtherCategoryHeight(int numRows) {
+        if (numRows == 0) {
+            return 0;
+        }
+        return categoryHeaderHeight_ + (numRows * rowHeight_);
+    }
+
+    private double getUpcomingCategoryHeight() {
+        double height = 0;
+
+        for (int numRows : numUpcomingShown_) {
+            if (numRows != 0) {
+                height += subcategoryHeaderHeight_ + (numRows * rowHeight_);
+            }
+        }
+
+        if (height == 0) {
+            return 0;
+        }
+        return categoryHeaderHeight_ + height;
+    }
+
+    private double getMainVBoxHeight(double[] categoryHeights) {
+        double height = SCROLLPANE_TOTAL_TOP_BOTTOM_PADDING;
+        int numCategoriesPresent = 0;
+
+        for (double categoryHeight : categoryHeights) {
+            if (categoryHeight != 0) {
+                height += categoryHeight;
+                numCategoriesPresent++;
+            }
+        }
+
+        if (numCategoriesPresent > 1) {
+            height += (numCategoriesPresent - 1) * MAINVBOX_CHILDREN_SPACING;
+        }
+        return height;
+    }
+
+    // ================================================================================
+    // Getter Methods
+    // ================================================================================
+
+    /**
+     * @return    true if some tasks have to be hidden for the summary to fit
+     */
+    protected boolean hasHiddenTasks() {
+        return (numOverdueHidden_ + numUpcomingHidden_ + numFutureHidden_ + numDreamsHidden_) != 0;
+    }
+
+    /**
+     * @return    the height of the screen with every task shown in a single line
+     */
+    protected double getEstimatedHeight() {
+        return estimatedHeight_;
+    }
+
+    //@@author generated
+    protected int getNumOverdueShown() {
+        return numOverdueShown_;
+    }
+
+    protected int getNumUpcomingShown(int subcategoryIndex) {
+        return numUpcomingShown_.get(subcategoryIndex);
+    }
+
+    protected int getNumFutureShown() {
+        return numFutureShown_;
+    }
+
+    protected int getNumDreamsShown() {
+        return numDreamsShown_;
+    }
+
+    protected int getNumOverdueHidden() {
+        return numOverdueHidden_;
+    }
+
+    protected int getNumUpcomingHidden() {
+        return numUpcomingHidden_;
+    }
+
+    protected int getNumFutureHidden() {
+        return numFutureHidden_;
+    }
+
+    protected int getNumDreamsHidden() {
+        return numDreamsHidden_;
+    }
+}
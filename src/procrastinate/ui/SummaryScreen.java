@@ -1,8 +1,9 @@
 //@@author A0121597B
 package procrastinate.ui;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import javafx.geometry.Pos;
 import javafx.scene.Node;
@@ -17,7 +18,8 @@ import procrastinate.task.Task;
  * the pending tasks.</h1>
  *
  * It resizes all the pending tasks to fit into the screen without scrolling by removing
- * tasks from view and replacing them with ellipses.
+ * tasks from view and replacing them with ellipses. The tasks to be removed are worked
+ * out by a SummaryPlan before the screen is built.
  */
 public class SummaryScreen extends MultiCategoryScreen {
 
@@ -35,29 +37,31 @@ public class SummaryScreen extends MultiCategoryScreen {
 
     private static final String SELECTOR_SCROLLPANE = "#scrollPane";
 
+    private static final String SAMPLE_LINE_NUM = "1. ";
+    private static final String SAMPLE_DESCRIPTION = "Sample";
+    private static final String SAMPLE_TIME = "12:00PM";
+    private static final String SAMPLE_HEADER = "Sample";
+
     // ================================================================================
     // Constants
     // ================================================================================
 
-    private static final double SCROLLPANE_TOTAL_TOP_BOTTOM_PADDING = 20.0;
-
-    private static final double MAINVBOX_CHILDREN_SPACING = 5.0;
-
     private static final int DESCRIPTION_MAX_LENGTH = 50;
     private static final int DESCRIPTION_ELLIPSIS_LENGTH = 3;
 
-    private static final int PARTITION_COUNT_OVERDUE = 2;
-    private static final int PARTITION_COUNT_UPCOMING = 3;
-    private static final int PARTITION_COUNT_FUTURE = 1;
-    private static final int PARTITION_COUNT_DREAMS = 1;
-
     private static final int TEST_ELLIPSIS_COUNT = 666;
 
     // ================================================================================
     // Class variables
     // ================================================================================
 
-    private static double ellipsisBoxHeight_ = -1;
+    // Heights used to plan the summary, measured once the screen is shown
+    private static double rowHeight_ = 0;
+    private static double categoryHeaderHeight_ = 0;
+    private static double subcategoryHeaderHeight_ = 0;
+    private static double ellipsisBoxHeight_ = 0;
+
+    private List<HBox> ellipses_ = new ArrayList<>();
 
     private boolean isSummarising_ = false;
 
@@ -77,16 +81,11 @@ public class SummaryScreen extends MultiCategoryScreen {
     // Override to remove highlight/fade out animation and call summarising method
     protected void updateTaskList(List<Task> taskList) {
         getUpdatedDates();
+        removeEllipses();
         clearTaskList();
 
-        for (Task task : taskList) {
-            taskCount.set(taskCount.get() + 1);
-
-            addTaskByType(task);
-        }
-
-        updateDisplay();
-        setupSummaryView(taskList);
+        // Summarising measures the screen right after, so this is not done in the background
+        setupSummaryView(taskList, createViewModel(taskList, today, currentDate, endOfWeek));
     }
 
     //@@author A0080485B
@@ -95,6 +94,12 @@ public class SummaryScreen extends MultiCategoryScreen {
     }
 
     //@@author A0121597B
+    // Summarising requires all TaskEntry to be realized in order to measure them
+    @Override
+    protected boolean isVirtualized(int numTasks) {
+        return false;
+    }
+
     @Override
     protected void setBackgroundImageIfMainVBoxIsEmpty(VBox mainVBox) {
         if (mainVBox.getChildren().isEmpty()) {
@@ -103,273 +108,139 @@ public class SummaryScreen extends MultiCategoryScreen {
     }
 
     /**
-     * Resizes the current displayed task list to fit into screen without
-     * scrolling by removing tasks from view and replacing them with ellipses.
-     * The entire screen is partitioned depending on the number of categories
-     * present and the ellipses shows the number of tasks hidden in each
-     * category.
+     * Shows the task list as it is if it fits into the screen without scrolling.
+     * Otherwise the task descriptions are shortened and a SummaryPlan is used to
+     * work out the tasks to be hidden from each category, so that the summary is
+     * built only once with just the tasks that fit, followed by the ellipses.
      */
     //@@author A0080485B
-    private void setupSummaryView(List<Task> taskList) {
-        double currMainVBoxHeight = getCurrentMainVBoxHeight();
-        double maxMainVBoxHeight = ((ScrollPane) getNode().lookup(SELECTOR_SCROLLPANE)).getHeight();
-
+    private void setupSummaryView(List<Task> taskList, TaskListViewModel viewModel) {
         if (taskList.isEmpty()) {
+            applyViewModel(viewModel);
+            updateDisplay();
             isSummarising_ = true;
             return;
         }
 
-        if (currMainVBoxHeight < maxMainVBoxHeight) {
-            isSummarising_ = false;
-            return;
-        }
-
-        isSummarising_ = true;
-
-        // shortenTaskDescription is the first step
-        clearTaskList();
-        for (Task task : taskList) {
-            taskCount.set(taskCount.get() + 1);
-            addTaskByType(shortenTaskDescription(task));
-        }
-        updateDisplay();
-
-        if (getCurrentMainVBoxHeight() < maxMainVBoxHeight) {
-            return;
-        }
-
-        resizeScreenToFit(maxMainVBoxHeight);
-    }
-
-    /**
-     * Calculates the number of partitions to split the screen in order to fit
-     * the maxMainVBoxHeight and resizes each category to a given size depending
-     * on their PartitionCount declared above.
-     *
-     * @param maxMainVBoxHeight    the height to resize the screen to fit into
-     */
-    //@@author A0121597B
-    private void resizeScreenToFit(double maxMainVBoxHeight) {
-        int numCategoriesPresent = calculateNumberOfCategoriesPresent();
-        int numPartitionsToSplit = calculateNumberOfPartitionsToSplit();
-
-        double remainingHeightForTaskDisplay = maxMainVBoxHeight -
-                                               SCROLLPANE_TOTAL_TOP_BOTTOM_PADDING -
-                                               ((numCategoriesPresent - 1) * MAINVBOX_CHILDREN_SPACING);
-        double rollOverHeight = 0;
-        double singlePartitionHeight = remainingHeightForTaskDisplay / numPartitionsToSplit;
-
-        DoubleNodePair[] allCategoryHeightNodePair = getHeightNodePairings();
+        double maxMainVBoxHeight = ((ScrollPane) getNode().lookup(SELECTOR_SCROLLPANE)).getHeight();
 
-        Arrays.sort(allCategoryHeightNodePair);
+        measureHeightsIfUnknown();
 
-        for (DoubleNodePair currHeightNodePair : allCategoryHeightNodePair) {
-            double currCategoryHeight = currHeightNodePair.getHeight();
-            Node currCategoryNode = currHeightNodePair.getNode();
+        // Rows are assumed to take a single line, so the task list can only be taller than estimated
+        if (createSummaryPlan(viewModel, maxMainVBoxHeight).getEstimatedHeight() < maxMainVBoxHeight) {
+            applyViewModel(viewModel);
+            updateDisplay();
 
-            if (currCategoryHeight == 0) {
-                continue;
+            if (getCurrentMainVBoxHeight() < maxMainVBoxHeight) {
+                isSummarising_ = false;
+                return;
             }
 
-            if        (currCategoryNode == overdueNode) {
-                double maxOverdueCategoryHeight = (singlePartitionHeight * PARTITION_COUNT_OVERDUE) + rollOverHeight;
-
-                rollOverHeight = getLeftoverHeightAfterResize(rollOverHeight, currCategoryHeight,
-                                                              maxOverdueCategoryHeight, overdueNode);
-
-            } else if (currCategoryNode == upcomingNode) {
-                double maxUpcomingCategoryHeight = (singlePartitionHeight * PARTITION_COUNT_UPCOMING) + rollOverHeight;
-
-                rollOverHeight = getLeftoverHeightAfterResize(rollOverHeight, currCategoryHeight,
-                                                              maxUpcomingCategoryHeight, upcomingNode);
+            clearTaskList();
+        }
 
-            } else if (currCategoryNode == futureNode) {
-                double maxFutureCategoryHeight = (singlePartitionHeight * PARTITION_COUNT_FUTURE) + rollOverHeight;
+        isSummarising_ = true;
 
-                rollOverHeight = getLeftoverHeightAfterResize(rollOverHeight, currCategoryHeight,
-                                                              maxFutureCategoryHeight, futureNode);
+        // shortenTaskDescription is the first step
+        List<Task> shortenedTaskList = taskList.stream()
+                                               .map(this::shortenTaskDescription)
+                                               .collect(Collectors.toList());
+        TaskListViewModel shortenedViewModel = createViewModel(shortenedTaskList, today, currentDate, endOfWeek);
 
-            } else if (currCategoryNode == dreamsNode) {
-                double maxDreamsCategoryHeight = (singlePartitionHeight * PARTITION_COUNT_DREAMS) + rollOverHeight;
+        SummaryPlan summaryPlan = createSummaryPlan(shortenedViewModel, maxMainVBoxHeight);
+        hideTasks(shortenedViewModel, summaryPlan);
 
-                rollOverHeight = getLeftoverHeightAfterResize(rollOverHeight, currCategoryHeight,
-                                                              maxDreamsCategoryHeight, dreamsNode);
+        applyViewModel(shortenedViewModel);
+        updateDisplay();
 
-            } else {
-                continue;
-            }
-        }
+        addEllipsis(getCategoryTaskList(overdueNode), summaryPlan.getNumOverdueHidden());
+        addEllipsis(upcomingTaskList, summaryPlan.getNumUpcomingHidden());
+        addEllipsis(getCategoryTaskList(futureNode), summaryPlan.getNumFutureHidden());
+        addEllipsis(getCategoryTaskList(dreamsNode), summaryPlan.getNumDreamsHidden());
     }
 
-    private DoubleNodePair[] getHeightNodePairings() {
-        DoubleNodePair overdueCategoryHeightNodePair = new DoubleNodePair(getHeightOfCategoryNode(overdueNode), overdueNode);
-        DoubleNodePair upcomingCategoryHeightNodePair = new DoubleNodePair(getHeightOfCategoryNode(upcomingNode), upcomingNode);
-        DoubleNodePair futureCategoryHeightNodePair = new DoubleNodePair(getHeightOfCategoryNode(futureNode), futureNode);
-        DoubleNodePair dreamsCategoryHeightNodePair = new DoubleNodePair(getHeightOfCategoryNode(dreamsNode), dreamsNode);
-        DoubleNodePair[] allCategoryHeightNodePair = { overdueCategoryHeightNodePair, upcomingCategoryHeightNodePair,
-                                                       futureCategoryHeightNodePair, dreamsCategoryHeightNodePair };
-        return allCategoryHeightNodePair;
+    //@@author A0121597B
+    private SummaryPlan createSummaryPlan(TaskListViewModel viewModel, double maxMainVBoxHeight) {
+        return new SummaryPlan(viewModel, maxMainVBoxHeight, rowHeight_, categoryHeaderHeight_,
+                               subcategoryHeaderHeight_, ellipsisBoxHeight_);
     }
 
-    /**
-     * Checks if the current category height exceeds the allocated maximum height and resizes it to fit.
-     * It also retrieves the remaining height of each category and returns it as rollOverHeight for other
-     * categories to use.
-     *
-     * @param rollOverHeight        to be updated after each category is resized
-     * @param currCategoryHeight    height of the currCategoryNode
-     * @param maxCategoryHeight     max height of the currCategoryNode
-     * @param currCategoryNode      node to be checked against upcomingNode which is resized differently.
-     * @return                      updated rollOverHeight
-     */
-    private double getLeftoverHeightAfterResize(double rollOverHeight, double currCategoryHeight,
-                                                double maxCategoryHeight, Node currCategoryNode) {
+    // Removes the rows that the SummaryPlan could not fit from the end of each category
+    private void hideTasks(TaskListViewModel viewModel, SummaryPlan summaryPlan) {
+        hideRows(viewModel.getOverdueRows(), summaryPlan.getNumOverdueShown());
 
-        rollOverHeight = 0;
-        if        ((currCategoryHeight > maxCategoryHeight) && (currCategoryNode != upcomingNode)) {
-            resizeTaskListOfOtherCategoriesToFit(currCategoryNode, maxCategoryHeight);
-            rollOverHeight += (maxCategoryHeight - getHeightOfCategoryNode(currCategoryNode));
-
-        } else if ((currCategoryHeight > maxCategoryHeight) && (currCategoryNode == upcomingNode)) {
-            resizeTaskListOfUpcomingCategoryToFit(currCategoryNode, maxCategoryHeight);
-            rollOverHeight += (maxCategoryHeight - getHeightOfCategoryNode(currCategoryNode));
-
-        } else {
-            rollOverHeight += maxCategoryHeight - currCategoryHeight;
+        List<List<TaskRow>> upcomingSubcategoryRows = viewModel.getUpcomingSubcategoryRows();
+        for (int i = 0; i < upcomingSubcategoryRows.size(); i++) {
+            hideRows(upcomingSubcategoryRows.get(i), summaryPlan.getNumUpcomingShown(i));
         }
 
-        return rollOverHeight;
+        hideRows(viewModel.getFutureRows(), summaryPlan.getNumFutureShown());
+        hideRows(viewModel.getDreamsRows(), summaryPlan.getNumDreamsShown());
     }
 
+    private void hideRows(List<TaskRow> rows, int numRowsShown) {
+        rows.subList(numRowsShown, rows.size()).clear();
+    }
 
-    // Resizes the upcomingNode if it exceeds the given heightToFit by removing tasks from its
-    // subcategories, starting from the last subcategory and removing the SubcategoryBox from
-    // view when there are no more tasks contained within.
-    private void resizeTaskListOfUpcomingCategoryToFit(Node upcomingNode, double heightToFit) {
-        if (ellipsisBoxHeight_ == -1) {
-            updateEllipsisBoxHeight(upcomingNode);
+    private void addEllipsis(VBox taskList, int numTasksHidden) {
+        if (numTasksHidden == 0) {
+            return;
         }
-        assert(ellipsisBoxHeight_ != -1);
-
-        int numTasksRemoved = 0;
-        int totalSubcategoryCount = upcomingSubcategories.size() - 1;
 
-        for (int i = totalSubcategoryCount; i >= 0; i--) {
-            VBox currSubcategory = upcomingSubcategories.get(i);
-            if (currSubcategory.getChildren().isEmpty()) {
-                continue;
-            }
-
-            while (!currSubcategory.getChildren().isEmpty() &&
-                   (getHeightOfCategoryNode(upcomingNode) > (heightToFit - ellipsisBoxHeight_))) {
-                currSubcategory.getChildren().remove(currSubcategory.getChildren().size() - 1);
-                numTasksRemoved++;
-                mainVBox.getParent().layout();
-            }
-
-            if (currSubcategory.getChildren().isEmpty()) {
-                upcomingTaskList.getChildren().remove(upcomingTaskList.getChildren().size() - 1);
-            }
+        HBox ellipsis = getEllipsis(numTasksHidden);
+        taskList.getChildren().add(ellipsis);
+        ellipses_.add(ellipsis);
+    }
 
-            if (getHeightOfCategoryNode(upcomingNode) < (heightToFit - ellipsisBoxHeight_)) {
-                break;
+    // Ellipses are not part of any task list, so they have to be removed before the next update
+    private void removeEllipses() {
+        for (HBox ellipsis : ellipses_) {
+            if (ellipsis.getParent() != null) {
+                ((VBox) ellipsis.getParent()).getChildren().remove(ellipsis);
             }
         }
-
-        if (numTasksRemoved != 0) {
-            upcomingTaskList.getChildren().add(getEllipsis(numTasksRemoved));
-            upcomingTaskList.applyCss();
-            upcomingTaskList.layout();
-
-            mainVBox.getParent().layout();
-        }
+        ellipses_.clear();
     }
 
-    // Resizes the given categoryNode by removing tasks from the category if it exceeds the given heightToFit.
-    private void resizeTaskListOfOtherCategoriesToFit(Node categoryNode, double heightToFit) {
-        int numTasksRemoved = 0;
-        if (ellipsisBoxHeight_ == -1) {
-            updateEllipsisBoxHeight(categoryNode);
-        }
-        assert(ellipsisBoxHeight_ != -1);
-
-        VBox currCategoryTaskList = getCategoryTaskList(categoryNode);
-        while (getHeightOfCategoryNode(categoryNode) > (heightToFit - ellipsisBoxHeight_)) {
-            currCategoryTaskList.getChildren().remove(currCategoryTaskList.getChildren().size() - 1);
-            numTasksRemoved++;
-            mainVBox.getParent().layout();
+    /**
+     * Measures the heights used by the SummaryPlan with a sample category, which
+     * may differ from user to user depending on hardware specifications. It is
+     * only done once, and only when the screen has been added to the window.
+     */
+    private void measureHeightsIfUnknown() {
+        if (rowHeight_ > 0 || getNode().getScene() == null) {
+            return;
         }
 
-        if (numTasksRemoved != 0) {
-            currCategoryTaskList.getChildren().add(getEllipsis(numTasksRemoved));
-            currCategoryTaskList.applyCss();
-            currCategoryTaskList.layout();
+        Node sampleTaskEntry = new TaskEntry(SAMPLE_LINE_NUM, SAMPLE_DESCRIPTION, SAMPLE_TIME, false).getEntryDisplay();
+        SubcategoryBox sampleSubcategoryBox = new SubcategoryBox(SAMPLE_HEADER);
+        CategoryBox sampleCategoryBox = new CategoryBox(SAMPLE_HEADER);
+        HBox sampleEllipsis = getEllipsis(TEST_ELLIPSIS_COUNT);
 
-            mainVBox.getParent().layout();
-        }
-    }
+        Node sampleSubcategory = sampleSubcategoryBox.getSubcategoryBox();
+        Node sampleCategory = sampleCategoryBox.getCategoryBox();
 
-    /**
-     * Used to check the height of the ellipsis added which may differ from user
-     * to user depending on hardware specifications.
-     *
-     * @param categoryNode    any Node of a category that is not empty in order to calculate
-     *                        the height difference when an ellipsis is added.
-     */
-    private void updateEllipsisBoxHeight(Node categoryNode) {
-        double currHeight = getHeightOfCategoryNode(categoryNode);
+        sampleSubcategoryBox.getTaskListVBox().getChildren().add(sampleTaskEntry);
+        sampleCategoryBox.getTaskListVBox().getChildren().addAll(sampleSubcategory, sampleEllipsis);
 
-        VBox currCategoryTaskList = getCategoryTaskList(categoryNode);
-        currCategoryTaskList.getChildren().add(getEllipsis(TEST_ELLIPSIS_COUNT));
-        currCategoryTaskList.applyCss();
-        currCategoryTaskList.layout();
+        mainVBox.getChildren().add(sampleCategory);
+        getCurrentMainVBoxHeight();
 
-        mainVBox.getParent().layout();
+        double rowHeight = getHeight(sampleTaskEntry);
+        double subcategoryHeight = getHeight(sampleSubcategory);
 
-        currCategoryTaskList.getChildren().remove(currCategoryTaskList.getChildren().size() - 1);
+        ellipsisBoxHeight_ = getHeight(sampleEllipsis);
+        subcategoryHeaderHeight_ = subcategoryHeight - rowHeight;
+        categoryHeaderHeight_ = getHeight(sampleCategory) - subcategoryHeight - ellipsisBoxHeight_;
+        rowHeight_ = rowHeight;
 
-        double newHeight = getHeightOfCategoryNode(categoryNode);
-        ellipsisBoxHeight_ = newHeight - currHeight;
+        mainVBox.getChildren().remove(sampleCategory);
     }
 
     private VBox getCategoryTaskList(Node categoryNode) {
         return ((VBox) categoryNode.lookup(SELECTOR_CATEGORY_VBOX));
     }
 
-    private int calculateNumberOfPartitionsToSplit() {
-        int numPartitions = 0;
-
-        if (getHeightOfCategoryNode(overdueNode) != 0) {
-            numPartitions += PARTITION_COUNT_OVERDUE;
-        }
-
-        if (getHeightOfCategoryNode(upcomingNode) != 0) {
-            numPartitions += PARTITION_COUNT_UPCOMING;
-        }
-
-        if (getHeightOfCategoryNode(futureNode) != 0) {
-            numPartitions += PARTITION_COUNT_FUTURE;
-        }
-
-        if (getHeightOfCategoryNode(dreamsNode) != 0) {
-            numPartitions += PARTITION_COUNT_DREAMS;
-        }
-
-        return numPartitions;
-    }
-
-    private int calculateNumberOfCategoriesPresent() {
-        int numCategories = 0;
-
-        for (Node node : nodeList) {
-            if (((VBox) node).getHeight() != 0) {
-                numCategories++;
-            }
-        }
-
-        return numCategories;
-    }
-
     /**
      * Update the mainVBox and allows calculation of it's height after applying
      * the CSS styling and layout.
@@ -382,8 +253,8 @@ public class SummaryScreen extends MultiCategoryScreen {
         return mainVBox.getHeight();
     }
 
-    private double getHeightOfCategoryNode(Node categoryNode) {
-        return ((VBox) categoryNode).getHeight();
+    private double getHeight(Node node) {
+        return node.getLayoutBounds().getHeight();
     }
 
     private HBox getEllipsis(int numTaskLeft) {
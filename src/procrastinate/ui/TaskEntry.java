@@ -1,16 +1,19 @@
 //@@author A0121597B
 package procrastinate.ui;
 
-import java.io.IOException;
-
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.HPos;
+import javafx.geometry.VPos;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.layout.ColumnConstraints;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.RowConstraints;
+import javafx.scene.text.TextAlignment;
 
 /**
  * <h1>A GridPane wrapper structure used to display the different Tasks.</h1>
@@ -27,6 +30,9 @@ import javafx.scene.layout.HBox;
  * <p><b>Note:</b>
  * A tick will be displayed for Tasks that are marked as done and will be placed beside
  * the line number of the Task displayed.
+ *
+ * <br>The layout is built in code rather than loaded from FXML since a TaskEntry is
+ * created for every task shown. The ids of the Labels are kept for the CSS styling.
  */
 public class TaskEntry extends GridPane {
 
@@ -36,9 +42,14 @@ public class TaskEntry extends GridPane {
 
     private static final String EMPTY_STRING = "";
 
-    private static final String LOCATION_TASK_ENTRY_FXML = "views/TaskEntry.fxml";
     private static final String LOCATION_TICK_IMAGE = "images/tick.png";
 
+    private static final String STYLE_CLASS_TASK_ENTRY = "taskEntry";
+
+    private static final String ID_LINE_NUMBER = "lineNum";
+    private static final String ID_DESCRIPTION = "description";
+    private static final String ID_TIME = "time";
+
     private static final String STYLE_TICK_CENTERING_PADDING = "-fx-padding: 4 5 0 0;";
     private static final String STYLE_REMOVE_PADDING = "-fx-padding: 0;";
 
@@ -46,9 +57,12 @@ public class TaskEntry extends GridPane {
     // Constants
     // ================================================================================
 
-    private static final int GRIDPANE_LINE_NUMBER_ROW_INDEX = 0;
+    private static final int GRIDPANE_ROW_INDEX = 0;
     private static final int GRIDPANE_LINE_NUMBER_COLUMN_INDEX = 0;
-    private static final int GRIDPANE_LINE_NUMBER_POSITION = 0;
+    private static final int GRIDPANE_DESCRIPTION_COLUMN_INDEX = 1;
+    private static final int GRIDPANE_TIME_COLUMN_INDEX = 2;
+
+    private static final int STYLE_LINE_NUMBER_MIN_WIDTH = 50;
 
     private static final int STYLE_TICK_WIDTH = 10;
     private static final int STYLE_TICK_HEIGHT = 10;
@@ -58,18 +72,16 @@ public class TaskEntry extends GridPane {
     // Class Variables
     // ================================================================================
 
+    // Loaded once and shared by the ticks of all TaskEntry
+    private static Image tickImage_;
+
     private Node taskEntry_;
 
-    // ================================================================================
-    // FXML Field Variables
-    // ================================================================================
+    private HBox tickAndLineNumberWrapper_;
 
-    @FXML
-    private Label lineNum;
-    @FXML
-    private Label description;
-    @FXML
-    private Label time;
+    private Label lineNum = new Label();
+    private Label description = new Label();
+    private Label time = new Label();
 
     // ================================================================================
     // TaskEntry Constructor
@@ -106,19 +118,82 @@ public class TaskEntry extends GridPane {
         setLabels(lineNum, description, time);
     }
 
+    // ================================================================================
+    // TaskEntry Methods
+    // ================================================================================
+
+    /**
+     * Rebinds this TaskEntry to show another task, so that it can be reused
+     * instead of loading a new TaskEntry when a list is scrolled.
+     *
+     * @param lineNum        formatted line numbering of the corresponding task
+     * @param description    the entire task description
+     * @param time           formatted string to be displayed in the 'time' Label,
+     *                       or an empty string for dreams
+     * @param isDone         if true, a tick will be displayed beside the line number
+     */
+    protected void update(String lineNum, String description, String time, boolean isDone) {
+        if (isDone && tickAndLineNumberWrapper_ == null) {
+            addTickBeforeLineNumber();
+        } else if (!isDone && tickAndLineNumberWrapper_ != null) {
+            removeTickBeforeLineNumber();
+        }
+        setLabels(lineNum, description, time);
+    }
+
     // ================================================================================
     // Init Methods
     // ================================================================================
 
+    /**
+     * Builds the GridPane with the line number, description and time Labels in
+     * its 3 columns respectively.
+     */
     private void loadLayout() {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource(LOCATION_TASK_ENTRY_FXML));
-        loader.setController(this); // Required due to different package
-                                    // declaration from Main
-        try {
-            this.taskEntry_ = loader.load();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        GridPane gridPane = new GridPane();
+        gridPane.getStyleClass().add(STYLE_CLASS_TASK_ENTRY);
+        gridPane.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+
+        ColumnConstraints lineNumberColumn = new ColumnConstraints();
+        lineNumberColumn.setHalignment(HPos.LEFT);
+        lineNumberColumn.setHgrow(Priority.SOMETIMES);
+        lineNumberColumn.setMaxWidth(Double.MAX_VALUE);
+        lineNumberColumn.setMinWidth(STYLE_LINE_NUMBER_MIN_WIDTH);
+
+        ColumnConstraints descriptionColumn = new ColumnConstraints();
+        descriptionColumn.setHalignment(HPos.LEFT);
+        descriptionColumn.setHgrow(Priority.ALWAYS);
+
+        ColumnConstraints timeColumn = new ColumnConstraints();
+        timeColumn.setHalignment(HPos.RIGHT);
+        timeColumn.setHgrow(Priority.SOMETIMES);
+        timeColumn.setMaxWidth(Double.MAX_VALUE);
+        timeColumn.setMinWidth(Region.USE_PREF_SIZE);
+
+        RowConstraints row = new RowConstraints();
+        row.setVgrow(Priority.ALWAYS);
+
+        gridPane.getColumnConstraints().addAll(lineNumberColumn, descriptionColumn, timeColumn);
+        gridPane.getRowConstraints().add(row);
+
+        lineNum.setId(ID_LINE_NUMBER);
+        description.setId(ID_DESCRIPTION);
+        description.setWrapText(true);
+        time.setId(ID_TIME);
+        time.setTextAlignment(TextAlignment.RIGHT);
+
+        gridPane.add(lineNum, GRIDPANE_LINE_NUMBER_COLUMN_INDEX, GRIDPANE_ROW_INDEX);
+        gridPane.add(description, GRIDPANE_DESCRIPTION_COLUMN_INDEX, GRIDPANE_ROW_INDEX);
+        gridPane.add(time, GRIDPANE_TIME_COLUMN_INDEX, GRIDPANE_ROW_INDEX);
+
+        GridPane.setHalignment(lineNum, HPos.LEFT);
+        GridPane.setValignment(lineNum, VPos.TOP);
+        GridPane.setHalignment(description, HPos.LEFT);
+        GridPane.setValignment(description, VPos.TOP);
+        GridPane.setHalignment(time, HPos.RIGHT);
+        GridPane.setValignment(time, VPos.TOP);
+
+        this.taskEntry_ = gridPane;
     }
 
     private void setLabels(String lineNum, String description, String time) {
@@ -129,6 +204,9 @@ public class TaskEntry extends GridPane {
         if (time.equals(EMPTY_STRING)) {
             this.time.setMinWidth(0);
             this.time.setStyle(STYLE_REMOVE_PADDING);
+        } else {
+            this.time.setMinWidth(Region.USE_COMPUTED_SIZE);
+            this.time.setStyle(EMPTY_STRING);
         }
     }
 
@@ -144,6 +222,18 @@ public class TaskEntry extends GridPane {
         addTickAndLabelToTaskEntry(lineNumberWrapper, tickWrapper);
     }
 
+    // Reverses addTickBeforeLineNumber by placing the line number Label back into the taskEntry.
+    private void removeTickBeforeLineNumber() {
+        ((GridPane) taskEntry_).getChildren().remove(tickAndLineNumberWrapper_);
+        tickAndLineNumberWrapper_ = null;
+
+        HBox lineNumberWrapper = (HBox) lineNum.getParent();
+        lineNumberWrapper.getChildren().remove(lineNum);
+        lineNum.setStyle(EMPTY_STRING);
+
+        ((GridPane) taskEntry_).add(lineNum, GRIDPANE_LINE_NUMBER_COLUMN_INDEX, GRIDPANE_ROW_INDEX);
+    }
+
     private HBox getLabelWrapper() {
         Label lineNumberLabel = getLabelAndRemovePadding();
         return wrapLabel(lineNumberLabel);
@@ -155,7 +245,7 @@ public class TaskEntry extends GridPane {
     }
 
     private Label getLabelAndRemovePadding() {
-        Label lineNumberLabel = (Label) ((GridPane) taskEntry_).getChildren().get(GRIDPANE_LINE_NUMBER_POSITION);
+        Label lineNumberLabel = lineNum;
         lineNumberLabel.setStyle(STYLE_REMOVE_PADDING);
 
         return lineNumberLabel;
@@ -163,7 +253,8 @@ public class TaskEntry extends GridPane {
 
     private void addTickAndLabelToTaskEntry(HBox lineNumberWrapper, HBox checkBoxWrapper) {
         HBox combinedWrapper = new HBox(checkBoxWrapper, lineNumberWrapper);
-        ((GridPane) taskEntry_).add(combinedWrapper, GRIDPANE_LINE_NUMBER_COLUMN_INDEX, GRIDPANE_LINE_NUMBER_ROW_INDEX);
+        tickAndLineNumberWrapper_ = combinedWrapper;
+        ((GridPane) taskEntry_).add(combinedWrapper, GRIDPANE_LINE_NUMBER_COLUMN_INDEX, GRIDPANE_ROW_INDEX);
     }
 
     private HBox wrapTick(ImageView tick) {
@@ -184,7 +275,11 @@ public class TaskEntry extends GridPane {
     }
 
     private void setTickImage(ImageView tickImage) {
-        tickImage.setImage(new Image(TaskEntry.class.getResource(LOCATION_TICK_IMAGE).toExternalForm()));
+        if (tickImage_ == null) {
+            tickImage_ = new Image(TaskEntry.class.getResource(LOCATION_TICK_IMAGE).toExternalForm());
+        }
+
+        tickImage.setImage(tickImage_);
         tickImage.setFocusTraversable(false);
         tickImage.setSmooth(true);
         tickImage.setFitHeight(STYLE_TICK_HEIGHT);
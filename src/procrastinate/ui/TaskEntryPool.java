@@ -0,0 +1,99 @@
+//@@author A0121597B
+package procrastinate.ui;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import javafx.scene.Node;
+
+/**
+ * <h1>TaskEntryPool keeps the TaskEntry that are no longer displayed so that they
+ * can be rebound to other tasks instead of building new ones.</h1>
+ *
+ * <p><b>Note:</b>
+ * <br>It is only to be used from the JavaFX Application Thread, and a TaskEntry must be
+ * removed from its task list before it is released.
+ */
+public class TaskEntryPool {
+
+    // ================================================================================
+    // Message Strings
+    // ================================================================================
+
+    private static final String STYLE_NO_HIGHLIGHT = "";
+
+    // ================================================================================
+    // Constants
+    // ================================================================================
+
+    // Enough to fill a few screens, anything beyond that is left to be garbage collected
+    private static final int MAX_POOL_SIZE = 200;
+
+    private static final double STYLE_FULL_OPACITY = 1;
+
+    // ================================================================================
+    // Class Variables
+    // ================================================================================
+
+    private Deque<TaskEntry> pool_ = new ArrayDeque<>();
+
+    private int numCreated_ = 0;
+    private int numReused_ = 0;
+
+    // ================================================================================
+    // TaskEntryPool Methods
+    // ================================================================================
+
+    /**
+     * Reuses a released TaskEntry if there is any, otherwise builds a new one.
+     *
+     * @param row    to be shown in the TaskEntry
+     * @return       a TaskEntry showing the given row
+     */
+    protected TaskEntry acquire(TaskRow row) {
+        TaskEntry taskEntry = pool_.pollFirst();
+
+        if (taskEntry == null) {
+            numCreated_++;
+            return new TaskEntry(row.getLineNum(), row.getDescription(), row.getTime(), row.isDone());
+        }
+
+        numReused_++;
+        taskEntry.update(row.getLineNum(), row.getDescription(), row.getTime(), row.isDone());
+        return taskEntry;
+    }
+
+    /**
+     * @param taskEntry    that has been removed from its task list
+     */
+    protected void release(TaskEntry taskEntry) {
+        if (pool_.size() >= MAX_POOL_SIZE) {
+            return;
+        }
+
+        // Undo whatever a fade out or highlight left behind
+        Node entryDisplay = taskEntry.getEntryDisplay();
+        CenterScreen.getAnimationScheduler().finish(entryDisplay);
+        entryDisplay.setOpacity(STYLE_FULL_OPACITY);
+        entryDisplay.setStyle(STYLE_NO_HIGHLIGHT);
+
+        pool_.addFirst(taskEntry);
+    }
+
+    // ================================================================================
+    // Getter Methods
+    // ================================================================================
+
+    //@@author generated
+    protected int size() {
+        return pool_.size();
+    }
+
+    protected int getNumCreated() {
+        return numCreated_;
+    }
+
+    protected int getNumReused() {
+        return numReused_;
+    }
+}
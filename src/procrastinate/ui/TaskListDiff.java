@@ -0,0 +1,80 @@
+//@@author A0121597B
+package procrastinate.ui;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import procrastinate.task.Task;
+
+/**
+ * <h1>TaskListDiff finds the tasks that were removed, added or edited between two
+ * task lists.</h1>
+ *
+ * Tasks are matched by their id, so the comparison takes a single pass over each list
+ * regardless of how many tasks were moved or renumbered in between.
+ */
+public class TaskListDiff {
+
+    // ================================================================================
+    // Class Variables
+    // ================================================================================
+
+    private Set<UUID> removedTaskIds_ = new LinkedHashSet<>();
+    private Set<UUID> changedTaskIds_ = new LinkedHashSet<>();
+
+    private boolean isInitial_;
+
+    // ================================================================================
+    // TaskListDiff Constructor
+    // ================================================================================
+
+    /**
+     * @param prevTaskList    the task list previously shown, or null if nothing was shown yet
+     * @param taskList        the task list to be shown
+     */
+    protected TaskListDiff(List<Task> prevTaskList, List<Task> taskList) {
+        this.isInitial_ = (prevTaskList == null);
+
+        if (isInitial_) {
+            return;
+        }
+
+        Map<UUID, Task> prevTasks = new HashMap<>();
+        for (Task task : prevTaskList) {
+            prevTasks.put(task.getId(), task);
+        }
+
+        for (Task task : taskList) {
+            Task prevTask = prevTasks.remove(task.getId());
+
+            if (prevTask == null || !prevTask.equals(task)) {
+                changedTaskIds_.add(task.getId());
+            }
+        }
+
+        // Whatever was not matched with a task in the new list has been removed
+        removedTaskIds_.addAll(prevTasks.keySet());
+    }
+
+    // ================================================================================
+    // Getter Methods
+    // ================================================================================
+
+    //@@author generated
+    protected Set<UUID> getRemovedTaskIds() {
+        return Collections.unmodifiableSet(removedTaskIds_);
+    }
+
+    protected Set<UUID> getChangedTaskIds() {
+        return Collections.unmodifiableSet(changedTaskIds_);
+    }
+
+    protected boolean isInitial() {
+        return isInitial_;
+    }
+}
@@ -0,0 +1,381 @@
+//@@author A0121597B
+package procrastinate.ui;
+
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import procrastinate.task.Deadline;
+import procrastinate.task.Event;
+import procrastinate.task.Task;
+
+/**
+ * <h1>TaskListViewModel sorts a task list into the categories of a MultiCategoryScreen
+ * and formats the strings to be displayed for each task.</h1>
+ *
+ * The tasks are placed into the 'Overdue', 'Upcoming' (one list per day), 'Future',
+ * 'Dreams' and 'Done' categories as TaskRow, in the order they are displayed and
+ * numbered in the order of the given task list.
+ *
+ * <p><b>Note:</b>
+ * <br>It does not touch any JavaFX node, so it can be built on a background thread and
+ * then handed to the FX thread to be applied to the screen.
+ */
+public class TaskListViewModel {
+
+    // ================================================================================
+    // Message Strings
+    // ================================================================================
+
+    private static final String SEPARATOR_UI_NUMBER = ". ";
+
+    // ================================================================================
+    // Class Variables
+    // ================================================================================
+
+    private Date today_;
+    private Date currentDate_;
+    private Date endOfWeek_;
+
+    private List<TaskRow> overdueRows_ = new ArrayList<>();
+    private List<List<TaskRow>> upcomingSubcategoryRows_ = new ArrayList<>();
+    private List<TaskRow> futureRows_ = new ArrayList<>();
+    private List<TaskRow> dreamsRows_ = new ArrayList<>();
+    private List<TaskRow> doneRows_ = new ArrayList<>();
+
+    // Same formatting as the task counter of CenterScreen, e.g. '1,000. '
+    private NumberFormat taskCountFormatter_ = NumberFormat.getNumberInstance();
+    private int taskCount_ = 0;
+
+    // ================================================================================
+    // TaskListViewModel Constructor
+    // ================================================================================
+
+    /**
+     * @param taskList       to be sorted into categories, in the order they are numbered
+     * @param today          start of today, to compare the year of tasks with
+     * @param currentDate    tasks before this are overdue
+     * @param endOfWeek      tasks from today up to this are upcoming, with one subcategory per day
+     */
+    protected TaskListViewModel(List<Task> taskList, Date today, Date currentDate, Date endOfWeek) {
+        this.today_ = today;
+        this.currentDate_ = currentDate;
+        this.endOfWeek_ = endOfWeek;
+
+        createUpcomingSubcategories();
+
+        for (Task task : taskList) {
+            taskCount_++;
+            addTaskByType(task);
+        }
+    }
+
+    // ================================================================================
+    // Task Adding Methods
+    // ================================================================================
+
+    private void addTaskByType(Task task) {
+        Date taskDate;
+        switch (task.getType()) {
+
+            case DEADLINE : {
+                taskDate = ((Deadline) task).getDate();
+                addDeadlineOrEvent(task, taskDate);
+                break;
+            }
+
+            case EVENT : {
+                taskDate = ((Event) task).getStartDate();
+                addDeadlineOrEvent(task, taskDate);
+                break;
+            }
+
+            case DREAM : {
+                TaskRow taskRow = new TaskRow(task.getId(), getTaskCountFormatted(), task.getDescription(), null, task.isDone());
+                addDream(task, taskRow);
+                break;
+            }
+
+            default: {
+                System.out.println(CenterScreen.MESSAGE_UNABLE_TO_DETERMINE_TYPE);
+                break;
+            }
+        }
+    }
+
+    // After tasks are filtered by type, it is filtered by the year of the (start) date
+    private void addDeadlineOrEvent(Task task, Date taskDate) {
+        boolean isSameStartYear = CenterScreen.isSameYear(today_, taskDate);
+
+        if (isSameStartYear) {
+            addSameStartYearTask(task, taskDate);
+        } else {
+            addDifferentStartYearTask(task, taskDate);
+        }
+    }
+
+    private void addDream(Task task, TaskRow taskRow) {
+        if (task.isDone()) {
+            doneRows_.add(taskRow);
+        } else {
+            dreamsRows_.add(taskRow);
+        }
+    }
+
+    private void addSameStartYearTask(Task task, Date date) {
+        String dateString;
+
+        switch (task.getType()) {
+
+            case DEADLINE : {
+                dateString = CenterScreen.getDateFormatForDeadlineWithSameYear(date);
+
+                String taskCount = getTaskCountFormatted();
+                TaskRow taskRow = new TaskRow(task.getId(), taskCount, task.getDescription(), dateString, task.isDone());
+
+                addSameStartYearTaskToTaskList(task, date, taskCount, taskRow);
+                break;
+            }
+
+            case EVENT : {
+                Date endDate = ((Event) task).getEndDate();
+                boolean isSameEndYear = CenterScreen.isSameYear(today_, endDate);
+                dateString = getDateFormatForEventWithSameStartYear(date, endDate, isSameEndYear);
+
+                String taskCount = getTaskCountFormatted();
+                TaskRow taskRow = new TaskRow(task.getId(), taskCount, task.getDescription(), dateString, task.isDone());
+
+                addSameStartYearTaskToTaskList(task, date, taskCount, taskRow);
+                break;
+            }
+
+            default: {
+                System.out.println(CenterScreen.MESSAGE_UNABLE_TO_DETERMINE_TYPE);
+                break;
+            }
+        }
+    }
+
+    private void addSameStartYearTaskToTaskList(Task task, Date date, String taskCount, TaskRow taskRow) {
+        if        (task.isDone()) {
+            doneRows_.add(taskRow);
+
+        } else if (date.before(currentDate_)) {
+            overdueRows_.add(taskRow);
+
+        } else if (date.before(endOfWeek_)) {
+            addUpcomingTask(task, date, taskCount);
+
+        } else {
+            futureRows_.add(taskRow);
+        }
+    }
+
+    private void addDifferentStartYearTask(Task task, Date date) {
+        String dateString;
+
+        switch (task.getType()) {
+
+            case DEADLINE : {
+                dateString = CenterScreen.getDateFormatForDeadlineWithDifferentYear(date);
+
+                TaskRow taskRow = new TaskRow(task.getId(), getTaskCountFormatted(), task.getDescription(), dateString, task.isDone());
+
+                addDifferentStartYearTaskToTaskList(task, date, taskRow);
+                break;
+            }
+
+            case EVENT : {
+                Date endDate = ((Event) task).getEndDate();
+                boolean isSameEndYear = CenterScreen.isSameYear(date, endDate);
+
+                dateString = getDateFormatForEventWithDifferentStartYear(date, endDate, isSameEndYear);
+                TaskRow taskRow = new TaskRow(task.getId(), getTaskCountFormatted(), task.getDescription(), dateString, task.isDone());
+
+                addDifferentStartYearTaskToTaskList(task, date, taskRow);
+                break;
+            }
+
+            default: {
+                System.out.println(CenterScreen.MESSAGE_UNABLE_TO_DETERMINE_TYPE);
+                break;
+            }
+        }
+    }
+
+    private void addDifferentStartYearTaskToTaskList(Task task, Date date, TaskRow taskRow) {
+        if        (task.isDone()) {
+            doneRows_.add(taskRow);
+
+        } else if (date.before(today_)) {
+            overdueRows_.add(taskRow);
+
+        } else {
+            futureRows_.add(taskRow);
+        }
+    }
+
+    // Iterates through the list of subcategories and find the corresponding
+    // date of the task to go into. If it is unable to find one, it will add the
+    // task into the 'Future' category instead.
+    private void addUpcomingTask(Task task, Date startDate, String taskCount) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(today_);
+        calendar.add(Calendar.DATE, 1);
+
+        Date deadline = calendar.getTime();
+
+        switch (task.getType()) {
+
+            case DEADLINE : {
+                String timeString = CenterScreen.format(CenterScreen.timeFormatter, startDate);
+                TaskRow taskRow = new TaskRow(task.getId(), taskCount, task.getDescription(), timeString, task.isDone());
+
+                addThisUpcomingTaskToTaskList(startDate, calendar, deadline, taskRow);
+                break;
+            }
+
+            case EVENT : {
+                Date endDate = ((Event) task).getEndDate();
+                boolean isSameEndYear = CenterScreen.isSameYear(endDate, today_);
+
+                String dateString = getDateFormatForEventThisWeek(startDate, endDate, isSameEndYear);
+                TaskRow taskRow = new TaskRow(task.getId(), taskCount, task.getDescription(), dateString, task.isDone());
+
+                addThisUpcomingTaskToTaskList(startDate, calendar, deadline, taskRow);
+                break;
+            }
+
+            default:
+                System.out.println(CenterScreen.MESSAGE_UNABLE_TO_DETERMINE_TYPE);
+                break;
+        }
+    }
+
+    private void addThisUpcomingTaskToTaskList(Date startDate, Calendar calendar, Date deadline, TaskRow taskRow) {
+        boolean isAdded = false;
+
+        for (List<TaskRow> subcategoryRows : upcomingSubcategoryRows_) {
+            if (startDate.before(deadline)) {
+                subcategoryRows.add(taskRow);
+                isAdded = true;
+                break;
+
+            } else {
+                calendar.add(Calendar.DATE, 1);
+                deadline = calendar.getTime();
+            }
+        }
+
+        if (!isAdded) {
+            futureRows_.add(taskRow);
+        }
+    }
+
+    // ================================================================================
+    // Date Format Methods
+    // ================================================================================
+
+    private String getDateFormatForEventWithSameStartYear(Date date, Date endDate, boolean isSameEndYear) {
+        String dateString;
+
+        if (isSameEndYear) {
+
+            if (CenterScreen.isSameDay(date, endDate)) {
+                dateString = CenterScreen.getDateFormatForEventWithSameYearAndInOneDay(date, endDate);
+            } else {
+                dateString = CenterScreen.getDateFormatForEventWithSameYearAndDifferentDays(date, endDate);
+            }
+
+        } else {
+            dateString = CenterScreen.getDateFormatForEventWithDifferentYearAndDifferentDays(date, endDate);
+        }
+
+        return dateString;
+    }
+
+    private String getDateFormatForEventWithDifferentStartYear(Date date, Date endDate, boolean isSameEndYear) {
+        String dateString;
+
+        if (isSameEndYear && CenterScreen.isSameDay(date, endDate)) {
+            dateString = CenterScreen.getDateFormatForEventWithDifferentYearButInOneDay(date, endDate);
+        } else {
+            dateString = CenterScreen.getDateFormatForEventWithDifferentYearAndDifferentDays(date, endDate);
+        }
+
+        return dateString;
+    }
+
+    private String getDateFormatForEventThisWeek(Date startDate, Date endDate, boolean isSameEndYear) {
+        String dateString;
+
+        if (isSameEndYear) {
+
+            if        (CenterScreen.isSameDay(startDate, endDate)) {
+                dateString = CenterScreen.getDateFormatForUpcomingEventAndInOneDay(startDate, endDate);
+
+            } else if (endDate.before(endOfWeek_)) {
+                dateString = CenterScreen.getDateFormatForUpcomingEventButDifferentDays(startDate, endDate);
+
+            } else {
+                dateString = CenterScreen.getDateFormatForUpcomingEventButDifferentWeek(startDate, endDate);
+            }
+
+        } else {
+            dateString = CenterScreen.getDateFormatForUpcomingEventButDifferentYear(startDate, endDate);
+        }
+
+        return dateString;
+    }
+
+    // ================================================================================
+    // Utility Methods
+    // ================================================================================
+
+    // One subcategory for each day from today up to the end of the week,
+    // the same as the SubcategoryBox generated by MultiCategoryScreen
+    private void createUpcomingSubcategories() {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(today_);
+
+        while (calendar.getTime().before(endOfWeek_)) {
+            upcomingSubcategoryRows_.add(new ArrayList<>());
+            calendar.add(Calendar.DATE, 1);
+        }
+    }
+
+    private String getTaskCountFormatted() {
+        return taskCountFormatter_.format(taskCount_) + SEPARATOR_UI_NUMBER;
+    }
+
+    // ================================================================================
+    // Getter Methods
+    // ================================================================================
+
+    //@@author generated
+    protected List<TaskRow> getOverdueRows() {
+        return overdueRows_;
+    }
+
+    protected List<List<TaskRow>> getUpcomingSubcategoryRows() {
+        return upcomingSubcategoryRows_;
+    }
+
+    protected List<TaskRow> getFutureRows() {
+        return futureRows_;
+    }
+
+    protected List<TaskRow> getDreamsRows() {
+        return dreamsRows_;
+    }
+
+    protected List<TaskRow> getDoneRows() {
+        return doneRows_;
+    }
+
+    protected int getTaskCount() {
+        return taskCount_;
+    }
+}
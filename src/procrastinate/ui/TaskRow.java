@@ -0,0 +1,91 @@
+//@@author A0121597B
+package procrastinate.ui;
+
+import java.util.UUID;
+
+/**
+ * <h1>TaskRow holds the formatted strings needed to display a single Task.</h1>
+ *
+ * It is what a VirtualizedTaskList stores for each of its rows, so that TaskEntry
+ * nodes only need to be created for the rows that are actually shown and can be
+ * rebound to another row when scrolled out of view.
+ */
+public class TaskRow {
+
+    // ================================================================================
+    // Message Strings
+    // ================================================================================
+
+    private static final String EMPTY_STRING = "";
+
+    // ================================================================================
+    // Class Variables
+    // ================================================================================
+
+    private UUID taskId_;
+
+    private String lineNum_;
+    private String description_;
+    private String time_;
+
+    private boolean isDone_;
+
+    // ================================================================================
+    // TaskRow Constructor
+    // ================================================================================
+
+    /**
+     * @param taskId         id of the task shown, used to match rows across updates
+     * @param lineNum        formatted line numbering of the corresponding task
+     * @param description    the entire task description
+     * @param time           formatted date/time string, or null for dreams
+     * @param isDone         if true, a tick will be displayed beside the line number
+     */
+    protected TaskRow(UUID taskId, String lineNum, String description, String time, boolean isDone) {
+        this.taskId_ = taskId;
+        this.lineNum_ = lineNum;
+        this.description_ = description;
+        this.time_ = (time == null) ? EMPTY_STRING : time;
+        this.isDone_ = isDone;
+    }
+
+    // ================================================================================
+    // TaskRow Methods
+    // ================================================================================
+
+    /**
+     * @param other    the row to compare to
+     * @return         true if a TaskEntry showing the other row would look exactly the same
+     */
+    protected boolean hasSameDisplay(TaskRow other) {
+        return lineNum_.equals(other.lineNum_) &&
+               description_.equals(other.description_) &&
+               time_.equals(other.time_) &&
+               isDone_ == other.isDone_;
+    }
+
+    // ================================================================================
+    // Getter Methods
+    // ================================================================================
+
+    //@@author generated
+    protected UUID getTaskId() {
+        return taskId_;
+    }
+
+    protected String getLineNum() {
+        return lineNum_;
+    }
+
+    protected String getDescription() {
+        return description_;
+    }
+
+    protected String getTime() {
+        return time_;
+    }
+
+    protected boolean isDone() {
+        return isDone_;
+    }
+}
@@ -20,14 +20,17 @@ import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
 import javafx.scene.input.KeyEvent;
 import javafx.stage.Stage;
+import procrastinate.StartupTrace;
+import procrastinate.UserInterface;
 import procrastinate.task.Task;
 
 /**
  * <h1>The main class of the UI component.</h1>
  * It instantiates all the other UI components required and provides
- * handle methods for the Logic component to call upon.
+ * handle methods for the Logic component to call upon, through the
+ * UserInterface it implements.
  */
-public class UI {
+public class UI implements UserInterface {
 
     public static enum ScreenView {
         SCREEN_DONE, SCREEN_MAIN, SCREEN_MAIN_ALL, SCREEN_SEARCH, SCREEN_SUMMARY
@@ -74,11 +77,13 @@ public class UI {
         assert(stage != null);
         primaryStage_ = stage;
 
-        initWindow();
-        initDialogPopupHandler();
-        initTaskDisplay();
-        setupBinding();
-        setupAndShowStage();
+        StartupTrace.time(StartupTrace.UI_WINDOW, this::initWindow);
+        StartupTrace.time(StartupTrace.UI_SCREENS, () -> {
+            initDialogPopupHandler();
+            initTaskDisplay();
+            setupBinding();
+        });
+        StartupTrace.time(StartupTrace.UI_STAGE_AND_SPLASH, this::setupAndShowStage);
 
         logger.log(Level.INFO, DEBUG_UI_INIT);
     }
@@ -190,6 +195,10 @@ public class UI {
         centerPaneController_.scrollDownCurrentScreen();
     }
 
+    public void toggleMetricsOverlay() {
+        centerPaneController_.toggleMetricsOverlay();
+    }
+
     // ================================================================================
     // DialogPopupHandler Methods
     // ================================================================================
@@ -1,8 +1,15 @@
 //@@author A0121597B
 package procrastinate.ui;
 
+import java.time.LocalDate;
+import java.util.Date;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
 
+import javafx.animation.Animation;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.ImageView;
@@ -99,6 +106,13 @@ public class UITestHelper {
 
     public void updateScreenTaskList(CenterScreen centerScreen, List<Task> taskList) {
         centerScreen.updateTaskList(taskList);
+
+        // Large task lists are shown only after being sorted in the background
+        try {
+            MultiCategoryScreen.waitForBackgroundUpdates();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     // ================================================================================
@@ -260,4 +274,130 @@ public class UITestHelper {
     public Node getTaskEntryNode(TaskEntry taskEntry) {
         return taskEntry.getEntryDisplay();
     }
+
+    public void updateTaskEntry(TaskEntry taskEntry, String lineNum, String des, String time, boolean isDone) {
+        taskEntry.update(lineNum, des, time, isDone);
+    }
+
+    // ================================================================================
+    // TaskEntryPool methods
+    // ================================================================================
+
+    public TaskEntryPool getNewTaskEntryPool() {
+        return new TaskEntryPool();
+    }
+
+    public TaskEntry acquireTaskEntry(TaskEntryPool taskEntryPool, String lineNum, String des, String time, boolean isDone) {
+        return taskEntryPool.acquire(new TaskRow(UUID.randomUUID(), lineNum, des, time, isDone));
+    }
+
+    public void releaseTaskEntry(TaskEntryPool taskEntryPool, TaskEntry taskEntry) {
+        taskEntryPool.release(taskEntry);
+    }
+
+    public int getTaskEntryPoolSize(TaskEntryPool taskEntryPool) {
+        return taskEntryPool.size();
+    }
+
+    // ================================================================================
+    // AnimationScheduler methods
+    // ================================================================================
+
+    public AnimationScheduler getNewAnimationScheduler() {
+        return new AnimationScheduler();
+    }
+
+    public void playAnimation(AnimationScheduler animationScheduler, Object key, Animation animation,
+                              Runnable onFinished, boolean isAnimated) {
+        animationScheduler.play(key, animation, onFinished, isAnimated);
+    }
+
+    public void finishAnimation(AnimationScheduler animationScheduler, Object key) {
+        animationScheduler.finish(key);
+    }
+
+    public int getNumRunningAnimations(AnimationScheduler animationScheduler) {
+        return animationScheduler.getNumRunningAnimations();
+    }
+
+    // ================================================================================
+    // DayBoundaries methods
+    // ================================================================================
+
+    public List<String> getUpcomingSubcategoryHeaders(LocalDate day) {
+        return new DayBoundaries(day).getUpcomingSubcategoryHeaders();
+    }
+
+    public Date getEndOfWeek(LocalDate day) {
+        return new DayBoundaries(day).getEndOfWeek();
+    }
+
+    // ================================================================================
+    // TaskListDiff methods
+    // ================================================================================
+
+    public Set<UUID> getRemovedTaskIds(List<Task> prevTaskList, List<Task> taskList) {
+        return new TaskListDiff(prevTaskList, taskList).getRemovedTaskIds();
+    }
+
+    public Set<UUID> getChangedTaskIds(List<Task> prevTaskList, List<Task> taskList) {
+        return new TaskListDiff(prevTaskList, taskList).getChangedTaskIds();
+    }
+
+    // ================================================================================
+    // TaskListViewModel methods
+    // ================================================================================
+
+    // Rows are returned as their line number followed by their description, e.g. '1. task'
+    public List<String> getViewModelOverdueRows(List<Task> taskList, Date today, Date currentDate, Date endOfWeek) {
+        return getRowStrings(new TaskListViewModel(taskList, today, currentDate, endOfWeek).getOverdueRows());
+    }
+
+    public List<String> getViewModelUpcomingRows(List<Task> taskList, Date today, Date currentDate, Date endOfWeek, int day) {
+        return getRowStrings(new TaskListViewModel(taskList, today, currentDate, endOfWeek).getUpcomingSubcategoryRows().get(day));
+    }
+
+    public List<String> getViewModelDreamsRows(List<Task> taskList, Date today, Date currentDate, Date endOfWeek) {
+        return getRowStrings(new TaskListViewModel(taskList, today, currentDate, endOfWeek).getDreamsRows());
+    }
+
+    public List<String> getViewModelDoneRows(List<Task> taskList, Date today, Date currentDate, Date endOfWeek) {
+        return getRowStrings(new TaskListViewModel(taskList, today, currentDate, endOfWeek).getDoneRows());
+    }
+
+    private List<String> getRowStrings(List<TaskRow> rows) {
+        return rows.stream().map(row -> row.getLineNum() + row.getDescription()).collect(Collectors.toList());
+    }
+
+    // ================================================================================
+    // SummaryPlan methods
+    // ================================================================================
+
+    // Sample heights used for planning, in place of those measured on screen
+    private static final double SAMPLE_ROW_HEIGHT = 20;
+    private static final double SAMPLE_CATEGORY_HEADER_HEIGHT = 30;
+    private static final double SAMPLE_SUBCATEGORY_HEADER_HEIGHT = 25;
+    private static final double SAMPLE_ELLIPSIS_HEIGHT = 20;
+
+    public int getSummaryPlanNumDreamsShown(List<Task> taskList, Date today, Date currentDate, Date endOfWeek,
+                                            double maxHeight) {
+        return getNewSummaryPlan(taskList, today, currentDate, endOfWeek, maxHeight).getNumDreamsShown();
+    }
+
+    public int getSummaryPlanNumDreamsHidden(List<Task> taskList, Date today, Date currentDate, Date endOfWeek,
+                                             double maxHeight) {
+        return getNewSummaryPlan(taskList, today, currentDate, endOfWeek, maxHeight).getNumDreamsHidden();
+    }
+
+    public int getSummaryPlanNumUpcomingHidden(List<Task> taskList, Date today, Date currentDate, Date endOfWeek,
+                                               double maxHeight) {
+        return getNewSummaryPlan(taskList, today, currentDate, endOfWeek, maxHeight).getNumUpcomingHidden();
+    }
+
+    private SummaryPlan getNewSummaryPlan(List<Task> taskList, Date today, Date currentDate, Date endOfWeek,
+                                          double maxHeight) {
+        TaskListViewModel viewModel = new TaskListViewModel(taskList, today, currentDate, endOfWeek);
+        return new SummaryPlan(viewModel, maxHeight, SAMPLE_ROW_HEIGHT, SAMPLE_CATEGORY_HEADER_HEIGHT,
+                               SAMPLE_SUBCATEGORY_HEADER_HEIGHT, SAMPLE_ELLIPSIS_HEIGHT);
+    }
 }
@@ -0,0 +1,414 @@
+//@@author A0121597B
+package procrastinate.ui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+
+/**
+ * <h1>VirtualizedTaskList manages the TaskEntry shown in the task list VBox of a
+ * CategoryBox or SubcategoryBox.</h1>
+ *
+ * Rows are added as TaskRow and are only turned into TaskEntry when rendered. Rows are
+ * matched to the previously rendered rows by their task id, so that only the TaskEntry of
+ * tasks that were added, removed, moved or renumbered need to be changed. In
+ * virtualized mode, only the rows within the visible part of the screen are realized,
+ * with spacers standing in for the rows above and below them, and the TaskEntry used
+ * are rebound to other rows as the screen is scrolled instead of being recreated.
+ *
+ * <p><b>Note:</b>
+ * <br>When not virtualized, every row is realized so that the VBox can be measured,
+ * e.g. by the SummaryScreen.
+ */
+public class VirtualizedTaskList {
+
+    // ================================================================================
+    // Constants
+    // ================================================================================
+
+    // Height of a TaskEntry with a single line of text, used until one of this list is measured
+    private static final double DEFAULT_ROW_HEIGHT = 27;
+
+    // Used before the screen has been laid out and the viewport height is unknown
+    private static final double DEFAULT_VIEWPORT_HEIGHT = 600;
+
+    // Extra rows realized above and below the viewport to avoid gaps while scrolling
+    private static final int OVERSCAN_ROW_COUNT = 5;
+
+    // ================================================================================
+    // Class Variables
+    // ================================================================================
+
+    // Shared by all task lists so that TaskEntry removed from one can be used by another
+    private static TaskEntryPool taskEntryPool_ = new TaskEntryPool();
+
+    private VBox taskListVBox_;
+
+    private List<TaskRow> rows_ = new ArrayList<>();
+
+    // Rows at the time of the last render, which the TaskEntry below are showing
+    private List<TaskRow> renderedRows_ = new ArrayList<>();
+
+    // TaskEntry currently shown, corresponding to rendered rows firstRealizedRow_ to lastRealizedRow_ - 1
+    private List<TaskEntry> realizedEntries_ = new ArrayList<>();
+    private int firstRealizedRow_ = 0;
+    private int lastRealizedRow_ = 0;
+
+    private Region topSpacer_ = new Region();
+    private Region bottomSpacer_ = new Region();
+
+    private boolean isVirtualized_ = false;
+
+    // Heights of the rows of this list measured so far, by task id, as descriptions may wrap
+    private Map<UUID, Double> measuredRowHeights_ = new HashMap<>();
+
+    // Mean of the measured heights, used for the rows not measured yet
+    private double rowHeight_ = DEFAULT_ROW_HEIGHT;
+
+    // ================================================================================
+    // VirtualizedTaskList Constructor
+    // ================================================================================
+
+    /**
+     * @param taskListVBox    the VBox of a CategoryBox or SubcategoryBox to place the TaskEntry in
+     */
+    protected VirtualizedTaskList(VBox taskListVBox) {
+        this.taskListVBox_ = taskListVBox;
+    }
+
+    // ================================================================================
+    // VirtualizedTaskList Methods
+    // ================================================================================
+
+    protected void addRow(TaskRow row) {
+        rows_.add(row);
+    }
+
+    /**
+     * Removes all rows so that the new rows can be added. The TaskEntry of the
+     * previous rows are kept to be matched with the new rows on the next render.
+     */
+    protected void clearRows() {
+        rows_ = new ArrayList<>();
+    }
+
+    /**
+     * Removes all rows and their TaskEntry from the task list VBox.
+     */
+    protected void clear() {
+        rows_ = new ArrayList<>();
+        renderedRows_ = new ArrayList<>();
+        firstRealizedRow_ = 0;
+        lastRealizedRow_ = 0;
+
+        taskListVBox_.getChildren().clear();
+
+        realizedEntries_.forEach(taskEntryPool_::release);
+        realizedEntries_.clear();
+    }
+
+    /**
+     * Places the added rows into the task list VBox. In virtualized mode, only the
+     * rows that would fit into a screen are realized until updateVisibleRows is called.
+     *
+     * @param isVirtualized    if false, a TaskEntry is created for every row
+     */
+    protected void render(boolean isVirtualized) {
+        this.isVirtualized_ = isVirtualized;
+
+        if (!isVirtualized) {
+            renderAllRows();
+        } else {
+            int numRowsToRealize = Math.max(lastRealizedRow_ - firstRealizedRow_, getRowCountToFill(DEFAULT_VIEWPORT_HEIGHT));
+            int firstRow = Math.min(firstRealizedRow_, rows_.size());
+            realizeRows(firstRow, Math.min(rows_.size(), firstRow + numRowsToRealize));
+        }
+
+        renderedRows_ = rows_;
+        forgetRemovedRowHeights();
+    }
+
+    /**
+     * Realizes only the rows that fall within the given range, reusing the TaskEntry
+     * of rows that are no longer visible. Does nothing if not in virtualized mode.
+     *
+     * @param visibleTop       top of the viewport, relative to the task list VBox
+     * @param visibleBottom    bottom of the viewport, relative to the task list VBox
+     */
+    protected void updateVisibleRows(double visibleTop, double visibleBottom) {
+        if (!isVirtualized_ || rows_.isEmpty()) {
+            return;
+        }
+
+        measureRowHeights();
+
+        int firstVisibleRow = getRowIndexAt(visibleTop) - OVERSCAN_ROW_COUNT;
+        int lastVisibleRow = getRowIndexAt(visibleBottom) + 1 + OVERSCAN_ROW_COUNT;
+
+        firstVisibleRow = Math.max(0, Math.min(firstVisibleRow, rows_.size()));
+        lastVisibleRow = Math.max(firstVisibleRow, Math.min(lastVisibleRow, rows_.size()));
+
+        if (firstVisibleRow == firstRealizedRow_ && lastVisibleRow == lastRealizedRow_) {
+            return;
+        }
+
+        realizeRows(firstVisibleRow, lastVisibleRow);
+    }
+
+    /**
+     * Looks for the realized TaskEntry of the given tasks, e.g. to animate them.
+     *
+     * @param taskIds    ids of the tasks to look for
+     * @return           the displayed TaskEntry nodes of the tasks that are realized
+     */
+    protected List<Node> getEntryDisplays(Set<UUID> taskIds) {
+        List<Node> entryDisplays = new ArrayList<>();
+
+        for (int i = 0; i < realizedEntries_.size(); i++) {
+            if (taskIds.contains(renderedRows_.get(firstRealizedRow_ + i).getTaskId())) {
+                entryDisplays.add(realizedEntries_.get(i).getEntryDisplay());
+            }
+        }
+        return entryDisplays;
+    }
+
+    /**
+     * @param rowIndex    index of the row within this task list
+     * @return            the displayed TaskEntry node of the row, or null if it is not realized
+     */
+    protected Node getEntryDisplay(int rowIndex) {
+        if (rowIndex < firstRealizedRow_ || rowIndex >= lastRealizedRow_) {
+            return null;
+        }
+        return realizedEntries_.get(rowIndex - firstRealizedRow_).getEntryDisplay();
+    }
+
+    protected int size() {
+        return rows_.size();
+    }
+
+    protected boolean isEmpty() {
+        return rows_.isEmpty();
+    }
+
+    // ================================================================================
+    // Utility Methods
+    // ================================================================================
+
+    /**
+     * Realizes every row, reusing the TaskEntry of rows with the same task id as before
+     * and only updating those that are displayed differently. The children of the task
+     * list VBox are then changed only where TaskEntry were added, removed or moved.
+     */
+    private void renderAllRows() {
+        Map<UUID, TaskEntry> prevEntries = new HashMap<>();
+        Map<UUID, TaskRow> prevRows = new HashMap<>();
+
+        for (int i = 0; i < realizedEntries_.size(); i++) {
+            TaskRow prevRow = renderedRows_.get(firstRealizedRow_ + i);
+            prevEntries.put(prevRow.getTaskId(), realizedEntries_.get(i));
+            prevRows.put(prevRow.getTaskId(), prevRow);
+        }
+
+        List<TaskEntry> entries = new ArrayList<>();
+        List<Node> entryDisplays = new ArrayList<>();
+
+        for (TaskRow row : rows_) {
+            TaskEntry taskEntry = prevEntries.remove(row.getTaskId());
+
+            if (taskEntry == null) {
+                taskEntry = createTaskEntry(row);
+            } else if (!row.hasSameDisplay(prevRows.get(row.getTaskId()))) {
+                taskEntry.update(row.getLineNum(), row.getDescription(), row.getTime(), row.isDone());
+            }
+
+            entries.add(taskEntry);
+            entryDisplays.add(taskEntry.getEntryDisplay());
+        }
+
+        realizedEntries_ = entries;
+        firstRealizedRow_ = 0;
+        lastRealizedRow_ = rows_.size();
+
+        updateChildren(entryDisplays);
+
+        // TaskEntry of tasks that are gone have been removed from the VBox by now
+        prevEntries.values().forEach(taskEntryPool_::release);
+    }
+
+    /**
+     * Changes the children of the task list VBox to the given nodes, by removing the
+     * nodes not present, then adding or moving only the nodes that are out of place.
+     *
+     * @param nodes    in the order they should be displayed
+     */
+    private void updateChildren(List<Node> nodes) {
+        ObservableList<Node> children = taskListVBox_.getChildren();
+
+        Set<Node> nodesToKeep = Collections.newSetFromMap(new IdentityHashMap<>());
+        nodesToKeep.addAll(nodes);
+        children.removeIf(child -> !nodesToKeep.contains(child));
+
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            if (i < children.size() && children.get(i) == node) {
+                continue;
+            }
+
+            children.remove(node);
+            children.add(i, node);
+        }
+    }
+
+    private void realizeRows(int firstRow, int lastRow) {
+        int numRowsToRealize = lastRow - firstRow;
+
+        List<TaskEntry> unusedEntries = new ArrayList<>();
+        while (realizedEntries_.size() > numRowsToRealize) {
+            unusedEntries.add(realizedEntries_.remove(realizedEntries_.size() - 1));
+        }
+
+        firstRealizedRow_ = firstRow;
+        lastRealizedRow_ = lastRow;
+
+        // An empty task list is left without spacers so that its category can be hidden
+        if (rows_.isEmpty()) {
+            taskListVBox_.getChildren().clear();
+            unusedEntries.forEach(taskEntryPool_::release);
+            return;
+        }
+
+        List<Node> children = new ArrayList<>();
+        children.add(topSpacer_);
+
+        for (int i = 0; i < numRowsToRealize; i++) {
+            TaskRow row = rows_.get(firstRow + i);
+
+            if (i < realizedEntries_.size()) {
+                realizedEntries_.get(i).update(row.getLineNum(), row.getDescription(), row.getTime(), row.isDone());
+            } else {
+                realizedEntries_.add(createTaskEntry(row));
+            }
+            children.add(realizedEntries_.get(i).getEntryDisplay());
+        }
+
+        children.add(bottomSpacer_);
+
+        setSpacerHeight(topSpacer_, getHeightOfRows(0, firstRow));
+        setSpacerHeight(bottomSpacer_, getHeightOfRows(lastRow, rows_.size()));
+
+        taskListVBox_.getChildren().setAll(children);
+        unusedEntries.forEach(taskEntryPool_::release);
+    }
+
+    // Measures the realized TaskEntry once they are laid out, so that the spacers
+    // match the actual height of the rows they stand in for.
+    private void measureRowHeights() {
+        for (int i = 0; i < realizedEntries_.size(); i++) {
+            double height = realizedEntries_.get(i).getEntryDisplay().getLayoutBounds().getHeight();
+            if (height > 0) {
+                measuredRowHeights_.put(renderedRows_.get(firstRealizedRow_ + i).getTaskId(), height);
+            }
+        }
+        updateRowHeight();
+    }
+
+    private void forgetRemovedRowHeights() {
+        if (measuredRowHeights_.isEmpty()) {
+            return;
+        }
+
+        Set<UUID> taskIds = new HashSet<>();
+        rows_.forEach(row -> taskIds.add(row.getTaskId()));
+        measuredRowHeights_.keySet().retainAll(taskIds);
+        updateRowHeight();
+    }
+
+    private void updateRowHeight() {
+        if (measuredRowHeights_.isEmpty()) {
+            rowHeight_ = DEFAULT_ROW_HEIGHT;
+            return;
+        }
+
+        double totalHeight = 0;
+        for (double height : measuredRowHeights_.values()) {
+            totalHeight += height;
+        }
+        rowHeight_ = totalHeight / measuredRowHeights_.size();
+    }
+
+    private double getRowHeight(TaskRow row) {
+        Double height = measuredRowHeights_.get(row.getTaskId());
+        return (height == null) ? rowHeight_ : height;
+    }
+
+    /**
+     * @param firstRow    index of the first row, inclusive
+     * @param lastRow     index of the last row, exclusive
+     * @return            the total height of the rows, measured or not
+     */
+    private double getHeightOfRows(int firstRow, int lastRow) {
+        double height = 0;
+        for (int i = firstRow; i < lastRow; i++) {
+            height += getRowHeight(rows_.get(i));
+        }
+        return height;
+    }
+
+    /**
+     * @param offset    distance from the top of the task list VBox
+     * @return          index of the row at the offset, or the number of rows if it is below them
+     */
+    private int getRowIndexAt(double offset) {
+        double rowBottom = 0;
+        for (int i = 0; i < rows_.size(); i++) {
+            rowBottom += getRowHeight(rows_.get(i));
+            if (rowBottom > offset) {
+                return i;
+            }
+        }
+        return rows_.size();
+    }
+
+    private int getRowCountToFill(double height) {
+        return (int) Math.ceil(height / rowHeight_) + OVERSCAN_ROW_COUNT;
+    }
+
+    private void setSpacerHeight(Region spacer, double height) {
+        spacer.setMinHeight(height);
+        spacer.setPrefHeight(height);
+        spacer.setMaxHeight(height);
+    }
+
+    private TaskEntry createTaskEntry(TaskRow row) {
+        return taskEntryPool_.acquire(row);
+    }
+
+    // ================================================================================
+    // Getter Methods
+    // ================================================================================
+
+    //@@author generated
+    protected VBox getTaskListVBox() {
+        return taskListVBox_;
+    }
+
+    protected boolean isVirtualized() {
+        return isVirtualized_;
+    }
+
+    protected static TaskEntryPool getTaskEntryPool() {
+        return taskEntryPool_;
+    }
+}
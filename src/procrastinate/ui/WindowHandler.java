@@ -2,21 +2,25 @@
 package procrastinate.ui;
 
 import java.awt.SystemTray;
-import java.io.IOException;
 
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Cursor;
+import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
@@ -32,10 +36,19 @@ public class WindowHandler {
     // ================================================================================
 
     private static final String LOCATION_CSS_STYLESHEET = "views/procrastinate.css";
-    private static final String LOCATION_MAIN_WINDOW_LAYOUT = "views/MainWindowLayout.fxml";
-    private static final String LOCATION_TITLE_BAR_FXML = "views/TitleBar.fxml";
     private static final String LOCATION_WINDOW_ICON = "images/icon.png";
 
+    private static final String ID_MAIN_BORDER_PANE = "mainBorderPane";
+    private static final String ID_BOTTOM = "bottom";
+    private static final String ID_USER_INPUT_FIELD = "userInputField";
+    private static final String ID_STATUS_LABEL = "statusLabel";
+    private static final String ID_CENTER_SCREEN = "centerScreen";
+    private static final String ID_TITLE = "title";
+    private static final String ID_MINIMISE = "minimise";
+    private static final String ID_CLOSE = "close";
+
+    private static final String STYLE_CLASS_TITLE_BAR = "titleBar";
+
     private static final String WINDOW_TITLE = "Procrastinate";
     private static final double WINDOW_WIDTH = 500;
     private static final double WINDOW_MIN_WIDTH = 500;
@@ -48,6 +61,9 @@ public class WindowHandler {
     private static final int WRAPPER_PREF_WIDTH = 800;
     private static final int WRAPPER_PREF_HEIGHT = 800;
 
+    private static final double TITLE_BAR_ICON_SIZE = 20;
+    private static final double TITLE_BAR_TITLE_LEFT_MARGIN = 25;
+
     // ================================================================================
     // Class Variables
     // ================================================================================
@@ -64,21 +80,11 @@ public class WindowHandler {
 
     private static double xOffset_, yOffset_;
 
-    // ================================================================================
-    // FXML Field Variables
-    // ================================================================================
-
-    @FXML
     private BorderPane mainBorderPane;
-    @FXML
     private Label close;
-    @FXML
     private Label minimise;
-    @FXML
     private Label statusLabel;
-    @FXML
     private StackPane centerScreen;
-    @FXML
     private TextField userInputField;
 
     // ================================================================================
@@ -107,15 +113,28 @@ public class WindowHandler {
         systemTrayHandler_.bindExitIndicator(isExit);
     }
 
+    // Built in code instead of being loaded from FXML, with the ids used for CSS styling
     private void loadMainWindowLayout() {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource(LOCATION_MAIN_WINDOW_LAYOUT));
-        loader.setController(this); // Required due to different package
-                                    // declaration from Main
-        try {
-            root_ = loader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        userInputField = new TextField();
+        userInputField.setId(ID_USER_INPUT_FIELD);
+
+        statusLabel = new Label();
+        statusLabel.setId(ID_STATUS_LABEL);
+
+        VBox bottom = new VBox(userInputField, statusLabel);
+        bottom.setId(ID_BOTTOM);
+        BorderPane.setAlignment(bottom, Pos.CENTER);
+
+        centerScreen = new StackPane();
+        centerScreen.setId(ID_CENTER_SCREEN);
+
+        mainBorderPane = new BorderPane(centerScreen);
+        mainBorderPane.setId(ID_MAIN_BORDER_PANE);
+        mainBorderPane.setBottom(bottom);
+        mainBorderPane.setPrefSize(WINDOW_WIDTH, WINDOW_HEIGHT);
+        mainBorderPane.getStyleClass().add(STYLE_CLASS_MAIN_WINDOW);
+
+        root_ = mainBorderPane;
     }
 
     private void windowSetUp() {
@@ -215,28 +234,65 @@ public class WindowHandler {
      * Creates a title bar for minimising and closing of Procrastinate.
      */
     private void createTitleBar() {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource(LOCATION_TITLE_BAR_FXML));
-        try {
-            loader.setController(this);
-            HBox titleBar = loader.load();
-
-            close.setText(ICON_CLOSE);
-            close.setOnMouseClicked(mouseEvent -> {
-                                    exitIndicator_.set(false);
-                                    exitIndicator_.set(true);
-            });
-
-            minimise.setText(ICON_MINIMISE);
-            if (systemTrayHandler_ != null) {
-                minimise.setOnMouseClicked(mouseEvent -> systemTrayHandler_.windowHideOrShow());
-            } else {
-                minimise.setOnMouseClicked(mouseEvent -> primaryStage_.setIconified(true));
-            }
-
-            ((BorderPane) root_).setTop(titleBar);
-        } catch (IOException e) {
-            e.printStackTrace();
+        HBox titleBar = buildTitleBar();
+
+        close.setText(ICON_CLOSE);
+        close.setOnMouseClicked(mouseEvent -> {
+                                exitIndicator_.set(false);
+                                exitIndicator_.set(true);
+        });
+
+        minimise.setText(ICON_MINIMISE);
+        if (systemTrayHandler_ != null) {
+            minimise.setOnMouseClicked(mouseEvent -> systemTrayHandler_.windowHideOrShow());
+        } else {
+            minimise.setOnMouseClicked(mouseEvent -> primaryStage_.setIconified(true));
         }
+
+        ((BorderPane) root_).setTop(titleBar);
+    }
+
+    // The icon on the left, the title in the center and the window buttons on the right
+    private HBox buildTitleBar() {
+        ImageView icon = new ImageView(new Image(WindowHandler.class.getResource(LOCATION_WINDOW_ICON).toExternalForm()));
+        icon.setFitHeight(TITLE_BAR_ICON_SIZE);
+        icon.setFitWidth(TITLE_BAR_ICON_SIZE);
+        icon.setPickOnBounds(true);
+        icon.setPreserveRatio(true);
+
+        HBox iconWrapper = new HBox(icon);
+
+        Label title = new Label(WINDOW_TITLE);
+        title.setId(ID_TITLE);
+        title.setAlignment(Pos.TOP_CENTER);
+        title.setFocusTraversable(false);
+
+        HBox titleWrapper = new HBox(title);
+        titleWrapper.setAlignment(Pos.TOP_CENTER);
+        HBox.setMargin(titleWrapper, new Insets(0, 0, 0, TITLE_BAR_TITLE_LEFT_MARGIN));
+
+        minimise = createTitleBarButton(ID_MINIMISE);
+        close = createTitleBarButton(ID_CLOSE);
+
+        HBox buttonWrapper = new HBox(minimise, close);
+        buttonWrapper.setAlignment(Pos.TOP_RIGHT);
+
+        HBox titleBar = new HBox(iconWrapper, titleWrapper, buttonWrapper);
+        titleBar.getStyleClass().add(STYLE_CLASS_TITLE_BAR);
+        for (Node wrapper : titleBar.getChildren()) {
+            HBox.setHgrow(wrapper, Priority.ALWAYS);
+        }
+
+        return titleBar;
+    }
+
+    private Label createTitleBarButton(String id) {
+        Label button = new Label();
+        button.setId(id);
+        button.setFocusTraversable(false);
+        button.setCursor(Cursor.HAND);
+
+        return button;
     }
 
     private boolean isSysTraySupported() {